@@ -0,0 +1,212 @@
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 请求线程模式压测客户端
+ * 以学生和管理员身份登录后，对申请页、申请提交、评审列表分别施加固定并发的闭环负载，输出吞吐量和延迟分位数。
+ * 分别在平台线程模式和虚拟线程模式（--spring.profiles.active=virtual）下启动应用后运行，比较两次结果，
+ * 见同目录的 thread-mode.sh。无第三方依赖，以 JDK 的单文件方式直接运行：
+ *
+ *   java benchmark/ThreadModeBenchmark.java --url http://localhost:8080 --concurrency 200 --duration 30
+ *
+ * 申请提交重复提交同一奖学金类型，首次之后都走完整的校验查询再被拒绝，不会持续插入数据。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class ThreadModeBenchmark {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        String[] student = options.getOrDefault("student", "lixm:123456").split(":", 2);
+        String[] admin = options.getOrDefault("admin", "admin:admin123").split(":", 2);
+        String typeId = options.getOrDefault("type-id", "1");
+
+        Session studentSession = Session.login(baseUrl, student[0], student[1]);
+        Session adminSession = Session.login(baseUrl, admin[0], admin[1]);
+        String applyForm = "scholarshipTypeId=" + typeId + "&_csrf="
+                + URLEncoder.encode(studentSession.csrfToken("/student/apply"), StandardCharsets.UTF_8);
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("GET  /student/apply", () -> studentSession.get("/student/apply")),
+                new Scenario("POST /student/apply", () -> studentSession.post("/student/apply", applyForm)),
+                new Scenario("GET  /admin/reviews", () -> adminSession.get("/admin/reviews")));
+
+        System.out.printf("目标 %s，并发 %d，每项预热 %ds、测量 %ds%n", baseUrl, concurrency, warmup, duration);
+        System.out.printf("%-22s %10s %10s %10s %10s %10s %8s%n", "场景", "请求/秒", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "错误");
+        for (Scenario scenario : scenarios) {
+            run(scenario, concurrency, warmup);
+            Result result = run(scenario, concurrency, duration);
+            System.out.printf("%-22s %10.1f %10.1f %10.1f %10.1f %10.1f %8d%n", scenario.name,
+                    result.throughput(), result.percentile(0.50), result.percentile(0.95),
+                    result.percentile(0.99), result.percentile(1.0), result.errors);
+        }
+    }
+
+    /**
+     * 固定并发的闭环压测：每个工作线程收到响应后立即发出下一个请求
+     */
+    private static Result run(Scenario scenario, int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> samples = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    try {
+                        int status = scenario.request.call();
+                        if (status >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - begin;
+                }
+                long[] measured = Arrays.copyOf(latencies, count);
+                synchronized (samples) {
+                    samples.add(measured);
+                }
+                done.countDown();
+            }, "bench-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        long[] all = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, elapsed, errors.get());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        int call() throws Exception;
+    }
+
+    private record Scenario(String name, Request request) {
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, long errors) {
+
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    /**
+     * 一个登录会话，Cookie 由 CookieManager 保存，所有工作线程共享
+     */
+    private static class Session {
+
+        private final String baseUrl;
+        private final HttpClient client;
+
+        private Session(String baseUrl) {
+            this.baseUrl = baseUrl;
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+        }
+
+        static Session login(String baseUrl, String username, String password) throws Exception {
+            Session session = new Session(baseUrl);
+            String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                    + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8)
+                    + "&_csrf=" + URLEncoder.encode(session.csrfToken("/login"), StandardCharsets.UTF_8);
+            HttpResponse<String> response = session.send(session.request("/login")
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form)).build());
+            String location = response.headers().firstValue("Location").orElse("");
+            if (response.statusCode() != 302 || location.contains("error")) {
+                throw new IllegalStateException("登录失败: " + username + " -> " + response.statusCode() + " " + location);
+            }
+            return session;
+        }
+
+        String csrfToken(String path) throws Exception {
+            String body = send(request(path).GET().build()).body();
+            Matcher matcher = CSRF.matcher(body);
+            if (!matcher.find()) {
+                throw new IllegalStateException("页面中没有CSRF令牌: " + path);
+            }
+            return matcher.group(1);
+        }
+
+        int get(String path) throws Exception {
+            return discard(request(path).GET().build());
+        }
+
+        int post(String path, String form) throws Exception {
+            return discard(request(path)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form)).build());
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+        }
+
+        private HttpResponse<String> send(HttpRequest request) throws Exception {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+
+        /**
+         * 被重定向到登录页说明会话已失效，按401计为错误
+         */
+        private int discard(HttpRequest request) throws Exception {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.headers().firstValue("Location").filter(location -> location.contains("/login")).isPresent()) {
+                return 401;
+            }
+            return response.statusCode();
+        }
+    }
+}
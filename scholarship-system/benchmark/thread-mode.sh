@@ -0,0 +1,35 @@
+#!/bin/bash
+# 分别以平台线程和虚拟线程模式启动应用，对同一数据库运行 ThreadModeBenchmark 并输出两组结果。
+# 虚拟线程模式需要 JDK 21 及以上；其余参数原样传给压测客户端，例如：
+#   benchmark/thread-mode.sh --concurrency 400 --duration 60
+# 通过 APP_ARGS 传入额外的应用启动参数（如数据源地址）。
+set -e
+cd "$(dirname "$0")/.."
+
+JAR=$(ls target/scholarship-system-*.jar 2>/dev/null | head -1)
+if [ -z "$JAR" ]; then
+    mvn -B -q package -DskipTests
+    JAR=$(ls target/scholarship-system-*.jar | head -1)
+fi
+
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_MAJOR%%.*}" -lt 21 ]; then
+    echo "警告: 当前 JDK $JAVA_MAJOR 不支持虚拟线程，virtual 模式将退化为平台线程"
+fi
+
+for MODE in platform virtual; do
+    PROFILE_ARG=""
+    [ "$MODE" = "virtual" ] && PROFILE_ARG="--spring.profiles.active=virtual"
+    java -jar "$JAR" $PROFILE_ARG $APP_ARGS > "target/bench-$MODE.log" 2>&1 &
+    APP_PID=$!
+    trap 'kill $APP_PID 2>/dev/null' EXIT
+    until grep -q "Started ScholarshipSystemApplication" "target/bench-$MODE.log"; do
+        if ! kill -0 $APP_PID 2>/dev/null; then
+            echo "应用启动失败，见 target/bench-$MODE.log"; exit 1
+        fi
+        sleep 1
+    done
+    echo "== $MODE =="
+    java benchmark/ThreadModeBenchmark.java "$@"
+    kill $APP_PID; wait $APP_PID 2>/dev/null || true
+done
@@ -0,0 +1,96 @@
+package com.example.scholarship.benchmark;
+
+import com.example.scholarship.ScholarshipSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 需要完整应用上下文的基准的公共部分
+ * 每个基准在自己的 fork 中以内存 H2 启动应用（含 DataInitializer 初始数据），结束时关闭；
+ * 关闭日志、SQL输出、慢调用警告和请求语句预算，避免干扰计时。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public abstract class ApplicationBenchmarkSupport {
+
+    protected ConfigurableApplicationContext context;
+
+    protected JdbcTemplate jdbcTemplate;
+
+    protected TransactionTemplate transactionTemplate;
+
+    protected void startApplication() {
+        startApplication(Map.of());
+    }
+
+    /**
+     * 以给定配置覆盖默认的内存 H2 和日志设置后启动，例如改用 PostgreSQL 或启用 datagen 配置
+     */
+    protected void startApplication(Map<String, String> overrides) {
+        // 每次启动使用独立的库名，同一 JVM 内多次启动互不影响
+        String database = "bench_" + UUID.randomUUID().toString().replace("-", "");
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        // application.yml 固定为 PostgreSQL 方言，内存库需显式改回，否则悲观锁等语句语法不兼容
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("scholarship.sql.statement-budget", "0");
+        properties.put("scholarship.repository.slow-threshold", "PT1M");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("logging.level.com.example.scholarship", "WARN");
+        properties.putAll(overrides);
+
+        // devtools 只从系统属性读取该开关；开启时会在新线程里以 Spring 参数重新调用 main，丢失调用方自己的参数
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(ScholarshipSystemApplication.class)
+                .logStartupInfo(false)
+                .run(properties.entrySet().stream()
+                        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                        .toArray(String[]::new));
+        jdbcTemplate = bean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(bean(PlatformTransactionManager.class));
+    }
+
+    protected void stopApplication() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 按用户名查找初始数据中的学生ID
+     */
+    protected Long studentIdOf(String username) {
+        return jdbcTemplate.queryForObject(
+                "SELECT s.id FROM tbl_student s JOIN tbl_user u ON s.user_id = u.id WHERE u.username = ?",
+                Long.class, username);
+    }
+
+    /**
+     * 按用户名查找用户ID
+     */
+    protected Long userIdOf(String username) {
+        return jdbcTemplate.queryForObject("SELECT id FROM tbl_user WHERE username = ?", Long.class, username);
+    }
+}
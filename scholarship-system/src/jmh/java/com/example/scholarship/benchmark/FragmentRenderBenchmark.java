@@ -0,0 +1,148 @@
+package com.example.scholarship.benchmark;
+
+import com.example.scholarship.dto.AnnouncementFeed;
+import com.example.scholarship.dto.AnnouncementSummary;
+import com.example.scholarship.dto.CurrentStudent;
+import com.example.scholarship.entity.ScholarshipType;
+import com.example.scholarship.service.impl.FragmentCache;
+import com.example.scholarship.service.impl.ScholarshipTypeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 学生仪表板（公告列表）和申请页（奖学金类型选项）每次请求的渲染开销
+ * uncached 为开发配置：不缓存模板、每次渲染片段；cached 为 fast 配置：缓存模板并按数据版本缓存片段。
+ * 模型与 AuthController.studentDashboard、StudentScholarshipController.showApplyPage 相同，片段经 FragmentCache 渲染
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class FragmentRenderBenchmark extends ApplicationBenchmarkSupport {
+
+    @Param({"uncached", "cached"})
+    public String mode;
+
+    @Param({"20", "200"})
+    public int announcements;
+
+    private FragmentCache fragmentCache;
+
+    private ThymeleafViewResolver viewResolver;
+
+    private AnnouncementFeed feed;
+
+    private List<ScholarshipType> scholarshipTypes;
+
+    private String catalogKey;
+
+    private CurrentStudent currentStudent;
+
+    private CsrfToken csrfToken;
+
+    @Setup
+    public void setUp() {
+        boolean cached = "cached".equals(mode);
+        startApplication(Map.of(
+                "spring.thymeleaf.cache", String.valueOf(cached),
+                "scholarship.render.fragment-cache.enabled", String.valueOf(cached)));
+        fragmentCache = bean(FragmentCache.class);
+        viewResolver = bean(ThymeleafViewResolver.class);
+        csrfToken = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "benchmark-token");
+
+        List<AnnouncementSummary> items = new ArrayList<>(announcements);
+        LocalDateTime publishedAt = LocalDateTime.now();
+        for (int i = 0; i < announcements; i++) {
+            long id = announcements - i;
+            items.add(new AnnouncementSummary(id, "关于开展" + id + "学年奖学金评定工作的通知",
+                    "各学院：根据学校奖学金管理办法，现将本学年奖学金评定工作有关事项通知如下，请各学院认真组织、按时提交材料。".repeat(3),
+                    publishedAt.minusHours(i), 1L, 0));
+        }
+        feed = new AnnouncementFeed(items);
+
+        ScholarshipTypeService scholarshipTypeService = bean(ScholarshipTypeService.class);
+        scholarshipTypes = scholarshipTypeService.findAll();
+        catalogKey = scholarshipTypeService.getCatalogVersion() + ":" + scholarshipTypes.stream()
+                .map(type -> String.valueOf(type.getId())).collect(Collectors.joining(","));
+        currentStudent = new CurrentStudent(1L, 1L, "benchmark", "学生", "20210001", "计算机学院", "软件工程", "2021");
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopApplication();
+    }
+
+    @Benchmark
+    public int dashboard() throws Exception {
+        MockHttpServletRequest request = request("/student/dashboard");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, Object> model = new HashMap<>();
+        model.put("studentName", "学生");
+        model.put("pageTitle", "学生仪表板");
+        model.put("announcementsHtml", fragmentCache.render("student/dashboard", "announcementList",
+                feed.getEtag(), Map.of("announcements", feed.getItems()), request, response));
+        return render("student/dashboard", model, request, response);
+    }
+
+    @Benchmark
+    public int apply() throws Exception {
+        MockHttpServletRequest request = request("/student/apply");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, Object> model = new HashMap<>();
+        model.put("studentName", currentStudent.getName());
+        model.put("currentStudent", currentStudent);
+        model.put("scholarshipOptionsHtml", fragmentCache.render("student/apply", "scholarshipOptions",
+                catalogKey, Map.of("scholarshipTypes", scholarshipTypes), request, response));
+        return render("student/apply", model, request, response);
+    }
+
+    private MockHttpServletRequest request(String uri) {
+        WebApplicationContext webContext = (WebApplicationContext) context;
+        MockHttpServletRequest request = new MockHttpServletRequest(webContext.getServletContext(), "GET", uri);
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, webContext);
+        request.setAttribute(CsrfToken.class.getName(), csrfToken);
+        return request;
+    }
+
+    /**
+     * 视图每次重新解析，模板缓存关闭时与开发环境一样每次读取、解析模板
+     */
+    private int render(String viewName, Map<String, Object> model, MockHttpServletRequest request,
+                       MockHttpServletResponse response) throws Exception {
+        View view = viewResolver.resolveViewName(viewName, Locale.SIMPLIFIED_CHINESE);
+        view.render(model, request, response);
+        return response.getContentAsByteArray().length;
+    }
+}
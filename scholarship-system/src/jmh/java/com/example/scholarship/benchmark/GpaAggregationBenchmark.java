@@ -0,0 +1,111 @@
+package com.example.scholarship.benchmark;
+
+import com.example.scholarship.dto.AcademicStats;
+import com.example.scholarship.entity.AcademicRecord;
+import com.example.scholarship.repository.AcademicRecordRepository;
+import com.example.scholarship.service.AcademicSummaryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 个人资料页的GPA统计
+ * summaryStats 为 StudentController.studentProfile 现在的做法（按学期汇总表聚合），
+ * recordScan 为改造前的做法（加载全部学业记录在内存中累加），两者随课程数的变化对比
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class GpaAggregationBenchmark extends ApplicationBenchmarkSupport {
+
+    private static final BigDecimal EXCELLENT_GPA = new BigDecimal("3.5");
+
+    private static final int SEMESTERS = 8;
+
+    @Param({"40", "400"})
+    public int courses;
+
+    private AcademicSummaryService academicSummaryService;
+
+    private AcademicRecordRepository academicRecordRepository;
+
+    private Long studentId;
+
+    @Setup
+    public void setUp() {
+        startApplication();
+        academicSummaryService = bean(AcademicSummaryService.class);
+        academicRecordRepository = bean(AcademicRecordRepository.class);
+        studentId = studentIdOf("lixm");
+
+        // 直接写入课程明细后全量重建汇总，与导入历史成绩的情形一致
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(courses);
+        for (int i = 0; i < courses; i++) {
+            rows.add(new Object[]{studentId, "基准课程" + i,
+                    BigDecimal.valueOf(1 + random.nextInt(8), 1).add(BigDecimal.ONE),
+                    BigDecimal.valueOf(200 + random.nextInt(201), 2),
+                    "2020-2021-" + (i % SEMESTERS), now, now, 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tbl_academic_record (student_id, course_name, credit, gpa, semester, "
+                + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        academicSummaryService.rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopApplication();
+    }
+
+    @Benchmark
+    public AcademicStats summaryStats() {
+        return academicSummaryService.getStudentStats(studentId);
+    }
+
+    @Benchmark
+    public double[] recordScan() {
+        return transactionTemplate.execute(status -> {
+            List<AcademicRecord> records = academicRecordRepository.findByStudentId(studentId);
+            double totalGpa = 0.0;
+            double totalCredits = 0.0;
+            int excellent = 0;
+            for (AcademicRecord record : records) {
+                if (record.getGpa() != null) {
+                    totalGpa += record.getGpa().doubleValue();
+                    if (record.getGpa().compareTo(EXCELLENT_GPA) >= 0) {
+                        excellent++;
+                    }
+                }
+                if (record.getCredit() != null) {
+                    totalCredits += record.getCredit().doubleValue();
+                }
+            }
+            double averageGpa = records.isEmpty() ? 0.0 : Math.round(totalGpa / records.size() * 100.0) / 100.0;
+            return new double[]{averageGpa, totalCredits, excellent};
+        });
+    }
+}
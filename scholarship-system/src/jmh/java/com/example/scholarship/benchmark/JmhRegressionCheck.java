@@ -0,0 +1,132 @@
+package com.example.scholarship.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基准结果回归检查
+ * 对比本次 JMH 的JSON结果与基线文件，按"基准方法+参数"逐项比较主指标；
+ * 吞吐量模式越高越好，其余模式（平均时间、采样、单次）越低越好。
+ * 只有变差同时超过容差和两次结果的误差（JMH 给出的 99.9% 置信区间半宽之和）时才算回归，即置信区间不重叠，
+ * 避免迭代次数少、误差大时因噪声误报；回归项打印出来并以非零状态退出。基线误差超过容差的项另行提示，应重新录制基线。
+ * 基线随代码提交（benchmark/jmh-baseline.json），文件不存在时检查失败，避免回归检查在不知不觉中失效；
+ * 基线与机器相关，换用其他机器或确认性能变化后，以 update 参数用本次结果覆盖基线。
+ *
+ * 用法: JmhRegressionCheck &lt;结果文件&gt; &lt;基线文件&gt; [容差，默认0.20] [update，默认false]
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class JmhRegressionCheck {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: JmhRegressionCheck <结果文件> <基线文件> [容差] [update]");
+            System.exit(2);
+        }
+        File resultFile = new File(args[0]);
+        File baselineFile = new File(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.20;
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (!resultFile.isFile()) {
+            System.err.println("基准结果不存在: " + resultFile);
+            System.exit(2);
+        }
+        if (update) {
+            Files.createDirectories(baselineFile.getAbsoluteFile().getParentFile().toPath());
+            Files.copy(resultFile.toPath(), baselineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("已用本次结果更新基线: " + baselineFile);
+            return;
+        }
+        if (!baselineFile.isFile()) {
+            System.err.println("========================================================================");
+            System.err.println("未找到基线文件 " + baselineFile + "，无法进行回归检查。");
+            System.err.println("确认本次结果可作为基线后执行: mvn -Pjmh verify -DskipTests -Djmh.baseline.update=true");
+            System.err.println("========================================================================");
+            System.exit(1);
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Score> current = read(mapper.readTree(resultFile));
+        Map<String, Score> baseline = read(mapper.readTree(baselineFile));
+
+        int regressions = 0;
+        int noisyBaselines = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("  新增   %s = %.3f %s%n", entry.getKey(), now.value, now.unit);
+                continue;
+            }
+            if (!before.unit.equals(now.unit) || !before.mode.equals(now.mode)) {
+                System.out.printf("  跳过   %s：模式或单位与基线不同（%s %s / %s %s）%n",
+                        entry.getKey(), before.mode, before.unit, now.mode, now.unit);
+                continue;
+            }
+            // 变差的比例，正数表示变差；两次误差之和折算为基线的比例，变差不超过它时置信区间重叠
+            double change = now.higherIsBetter()
+                    ? (before.value - now.value) / before.value
+                    : (now.value - before.value) / before.value;
+            double noise = (before.error + now.error) / before.value;
+            boolean regressed = change > Math.max(tolerance, noise);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("  %s %s = %.3f ± %.3f %s（基线 %.3f ± %.3f，%s%.1f%%，判定阈值 %.1f%%）%n",
+                    regressed ? "回归" : "正常", entry.getKey(), now.value, now.error, now.unit,
+                    before.value, before.error, change > 0 ? "变差 " : "改善 ", Math.abs(change) * 100,
+                    Math.max(tolerance, noise) * 100);
+            if (before.error / before.value > tolerance) {
+                noisyBaselines++;
+            }
+        }
+
+        if (noisyBaselines > 0) {
+            System.out.printf("注意：%d 项基线的误差超过容差 %.0f%%，这些项只能发现更大的变化，应增加 fork 或迭代次数后重新录制基线%n",
+                    noisyBaselines, tolerance * 100);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("共 %d 项基准变差超过容差 %.0f%% 且超出误差范围%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+        System.out.printf("全部 %d 项基准未发现超出容差 %.0f%% 和误差范围的回归%n", current.size(), tolerance * 100);
+    }
+
+    private static Map<String, Score> read(JsonNode results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                // 参数按名称排序，保证键与JSON中的字段顺序无关
+                Map<String, String> sorted = new TreeMap<>();
+                params.fields().forEachRemaining(field -> sorted.put(field.getKey(), field.getValue().asText()));
+                sorted.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            }
+            JsonNode metric = result.path("primaryMetric");
+            // 只有一次迭代时 JMH 的误差为 NaN，按 0 处理
+            double error = metric.path("scoreError").asDouble(0.0);
+            scores.put(key.toString(), new Score(result.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0.0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private record Score(String mode, double value, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
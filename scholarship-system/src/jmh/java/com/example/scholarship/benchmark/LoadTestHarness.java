@@ -0,0 +1,432 @@
+package com.example.scholarship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.File;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 端到端负载测试
+ * 默认在本进程内以 datagen 配置启动应用（内存 H2 或 --jdbc-url 指定的 PostgreSQL），生成指定规模的数据后，
+ * 由固定数量的学生用户各自执行若干轮"登录 → 打开申请页 → 提交申请"，同时由管理员用户持续"打开审核列表 →
+ * 查看详情 → 审核"（使用 datagen 生成的审核员账号），学生全部完成即结束。按步骤输出吞吐量和延迟分位数，并写出JSON结果。
+ * 学生账号、奖学金类型和审核对象都由随机种子决定，同样的参数和数据得到同样的请求序列。
+ *
+ *   mvn -Pjmh test-compile exec:exec@load-test -Dload.args="--students 100000 --users 200 --flows 20"
+ *
+ * 指定 --url 时不启动应用，直接压测已运行的实例（其数据需事先以 datagen 配置生成）。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class LoadTestHarness extends ApplicationBenchmarkSupport {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+
+    private static final Pattern TYPE_OPTION = Pattern.compile("<option value=\"(\\d+)\"");
+
+    private static final Pattern PENDING_ITEM = Pattern.compile("name=\"items\" value=\"(\\d+):\\d+\"");
+
+    private static final String[] STEPS = {"登录", "打开申请页", "提交申请", "审核列表", "审核详情", "提交审核"};
+
+    private final Map<String, String> options;
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+
+    private LoadTestHarness(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        LoadTestHarness harness = new LoadTestHarness(options);
+        try {
+            harness.execute();
+        } finally {
+            harness.stopApplication();
+        }
+        System.exit(0);
+    }
+
+    private void execute() throws Exception {
+        int students = intOption("students", 10000);
+        int users = intOption("users", 50);
+        int admins = intOption("admins", 4);
+        int flows = intOption("flows", 10);
+        int warmupFlows = intOption("warmup-flows", 2);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String prefix = options.getOrDefault("username-prefix", "gen");
+        String password = options.getOrDefault("password", "123456");
+
+        String baseUrl = options.get("url");
+        if (baseUrl == null) {
+            baseUrl = startInProcess(students, prefix, password);
+        }
+
+        System.out.printf("目标 %s，学生 %d 名，并发学生 %d、管理员 %d，每名学生预热 %d 轮、测量 %d 轮%n",
+                baseUrl, students, users, admins, warmupFlows, flows);
+        run(baseUrl, students, users, admins, warmupFlows, seed - 1, prefix, password);
+        recorders.clear();
+        outcomes.clear();
+        long start = System.nanoTime();
+        run(baseUrl, students, users, admins, flows, seed, prefix, password);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        report(elapsedSeconds);
+        write(new File(options.getOrDefault("out", "target/jmh/load-result.json")), elapsedSeconds, students, users, admins, flows);
+    }
+
+    /**
+     * 在本进程内启动应用并生成数据，返回服务地址
+     */
+    private String startInProcess(int students, String prefix, String password) {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("spring.profiles.active", "datagen");
+        overrides.put("scholarship.datagen.students", String.valueOf(students));
+        overrides.put("scholarship.datagen.records-per-student", options.getOrDefault("records-per-student", "20"));
+        overrides.put("scholarship.datagen.reviews", options.getOrDefault("reviews", String.valueOf(students * 2)));
+        overrides.put("scholarship.datagen.username-prefix", prefix);
+        overrides.put("scholarship.datagen.password", password);
+        overrides.put("scholarship.datagen.admins", options.getOrDefault("admins", "4"));
+        overrides.put("logging.level.com.example.scholarship.config.DataGenerator", "INFO");
+        if (options.containsKey("jdbc-url")) {
+            overrides.put("spring.datasource.url", options.get("jdbc-url"));
+            overrides.put("spring.datasource.username", options.getOrDefault("db-user", "postgres"));
+            overrides.put("spring.datasource.password", options.getOrDefault("db-password", ""));
+            overrides.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+            overrides.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+            overrides.put("spring.jpa.hibernate.ddl-auto", "update");
+        }
+        long begin = System.currentTimeMillis();
+        startApplication(overrides);
+        System.out.printf("应用启动及数据生成耗时 %d s%n", (System.currentTimeMillis() - begin) / 1000);
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * 一轮负载：学生各执行 flows 轮后结束，管理员在此期间持续审核
+     */
+    private void run(String baseUrl, int students, int users, int admins, int flows, long seed,
+                     String prefix, String password) throws InterruptedException {
+        if (flows <= 0) {
+            return;
+        }
+        AtomicBoolean studentsDone = new AtomicBoolean();
+        CountDownLatch studentLatch = new CountDownLatch(users);
+        CountDownLatch adminLatch = new CountDownLatch(admins);
+
+        for (int a = 0; a < admins; a++) {
+            Random random = new Random(seed * 7919 + 100_000 + a);
+            String adminName = prefix + "admin" + (a + 1);
+            start("load-admin-" + a, adminLatch, () -> {
+                Session session = new Session(baseUrl);
+                session.login(adminName, password);
+                while (!studentsDone.get()) {
+                    try {
+                        review(session, random);
+                    } catch (Exception e) {
+                        outcome("审核流程失败");
+                    }
+                }
+            });
+        }
+        for (int u = 0; u < users; u++) {
+            Random random = new Random(seed * 7919 + u);
+            int partition = u;
+            start("load-student-" + u, studentLatch, () -> {
+                Session session = new Session(baseUrl);
+                for (int flow = 0; flow < flows; flow++) {
+                    // 每个用户只使用序号与自己同余的学生，并发用户不会登录同一账号而挤掉对方的会话
+                    int index = partition + users * random.nextInt(Math.max(1, students / users));
+                    String username = String.format("%s%06d", prefix, 1 + index);
+                    try {
+                        apply(session, username, password, random);
+                    } catch (Exception e) {
+                        outcome("申请流程失败");
+                    }
+                }
+            });
+        }
+        studentLatch.await();
+        studentsDone.set(true);
+        adminLatch.await();
+    }
+
+    /**
+     * 学生流程：新会话登录，打开申请页，随机选择一种奖学金提交
+     */
+    private void apply(Session session, String username, String password, Random random) throws Exception {
+        session.reset();
+        timed("登录", () -> session.login(username, password));
+        String page = timed("打开申请页", () -> session.page("/student/apply"));
+        List<String> types = matches(TYPE_OPTION, page);
+        if (types.isEmpty()) {
+            outcome("申请页无可选类型");
+            return;
+        }
+        String form = "scholarshipTypeId=" + types.get(random.nextInt(types.size())) + "&_csrf=" + session.csrf(page);
+        String location = timed("提交申请", () -> session.post("/student/apply", form));
+        // 成功跳转到我的申请，不符合条件、重复或超过上限时回到申请页并提示
+        outcome(location.contains("/student/my-applications") ? "申请成功" : "申请被规则拒绝");
+    }
+
+    /**
+     * 管理员流程：打开审核列表，随机选择一条待审核申请查看详情并给出审核结果
+     */
+    private void review(Session session, Random random) throws Exception {
+        String page = timed("审核列表", () -> session.page("/admin/reviews"));
+        List<String> pending = matches(PENDING_ITEM, page);
+        if (pending.isEmpty()) {
+            outcome("无待审核申请");
+            Thread.sleep(100);
+            return;
+        }
+        String id = pending.get(random.nextInt(pending.size()));
+        timed("审核详情", () -> session.page("/admin/review/" + id + "/detail"));
+        String form = "action=" + (random.nextInt(4) == 0 ? "reject" : "approve")
+                + "&comments=" + URLEncoder.encode("负载测试", StandardCharsets.UTF_8) + "&_csrf=" + session.csrf(page);
+        timed("提交审核", () -> session.post("/admin/review/" + id + "/process", form));
+        outcome("审核提交");
+    }
+
+    private void start(String name, CountDownLatch latch, Task task) {
+        Thread worker = new Thread(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                outcome("中止: " + e);
+            } finally {
+                latch.countDown();
+            }
+        }, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 记录一个步骤的耗时；异常计为该步骤的错误后继续抛出，中止当前流程
+     */
+    private <T> T timed(String step, Call<T> call) throws Exception {
+        Recorder recorder = recorders.computeIfAbsent(step, key -> new Recorder());
+        long begin = System.nanoTime();
+        try {
+            T result = call.call();
+            recorder.record(System.nanoTime() - begin, false);
+            return result;
+        } catch (Exception e) {
+            recorder.record(System.nanoTime() - begin, true);
+            throw e;
+        }
+    }
+
+    private void outcome(String name) {
+        outcomes.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void report(double elapsedSeconds) {
+        System.out.printf("测量耗时 %.1f s%n", elapsedSeconds);
+        System.out.printf("%-12s %8s %10s %10s %10s %10s %10s %6s%n",
+                "步骤", "请求数", "请求/秒", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "错误");
+        for (String step : STEPS) {
+            Recorder recorder = recorders.get(step);
+            if (recorder == null) {
+                continue;
+            }
+            long[] latencies = recorder.sorted();
+            System.out.printf("%-12s %8d %10.1f %10.1f %10.1f %10.1f %10.1f %6d%n", step, latencies.length,
+                    latencies.length / elapsedSeconds, percentile(latencies, 0.50), percentile(latencies, 0.95),
+                    percentile(latencies, 0.99), percentile(latencies, 1.0), recorder.errors.get());
+        }
+        outcomes.forEach((name, count) -> System.out.printf("  %s: %d%n", name, count.get()));
+    }
+
+    private void write(File file, double elapsedSeconds, int students, int users, int admins, int flows) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("options", options);
+        result.put("students", students);
+        result.put("users", users);
+        result.put("admins", admins);
+        result.put("flows", flows);
+        result.put("elapsedSeconds", elapsedSeconds);
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (String step : STEPS) {
+            Recorder recorder = recorders.get(step);
+            if (recorder == null) {
+                continue;
+            }
+            long[] latencies = recorder.sorted();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("step", step);
+            entry.put("count", latencies.length);
+            entry.put("errors", recorder.errors.get());
+            entry.put("throughput", latencies.length / elapsedSeconds);
+            entry.put("p50Ms", percentile(latencies, 0.50));
+            entry.put("p95Ms", percentile(latencies, 0.95));
+            entry.put("p99Ms", percentile(latencies, 0.99));
+            entry.put("maxMs", percentile(latencies, 1.0));
+            steps.add(entry);
+        }
+        result.put("steps", steps);
+        Map<String, Long> outcomeCounts = new LinkedHashMap<>();
+        outcomes.forEach((name, count) -> outcomeCounts.put(name, count.get()));
+        result.put("outcomes", outcomeCounts);
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, result);
+        System.out.println("结果已写入 " + file);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static List<String> matches(Pattern pattern, String text) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            values.add(matcher.group(1));
+        }
+        return values;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * 一个步骤的耗时样本
+     */
+    private static class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long nanos, boolean failed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (failed) {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * 一个虚拟用户的HTTP会话；每个用户一个客户端，换账号时清空Cookie重新登录
+     */
+    private static class Session {
+
+        private final String baseUrl;
+        private final CookieManager cookies = new CookieManager();
+        private final HttpClient client;
+
+        private Session(String baseUrl) {
+            this.baseUrl = baseUrl;
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .cookieHandler(cookies)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+        }
+
+        void reset() {
+            cookies.getCookieStore().removeAll();
+        }
+
+        Void login(String username, String password) throws Exception {
+            String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                    + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8)
+                    + "&_csrf=" + csrf(page("/login"));
+            String location = post("/login", form);
+            if (location.isEmpty() || location.contains("error")) {
+                throw new IllegalStateException("登录失败: " + username);
+            }
+            return null;
+        }
+
+        String page(String path) throws Exception {
+            HttpResponse<String> response = client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(path + " 返回 " + response.statusCode());
+            }
+            return response.body();
+        }
+
+        /**
+         * 提交表单，返回重定向地址；未重定向或被重定向到登录页视为失败
+         */
+        String post(String path, String form) throws Exception {
+            HttpResponse<Void> response = client.send(request(path)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form)).build(), HttpResponse.BodyHandlers.discarding());
+            String location = response.headers().firstValue("Location").orElse("");
+            if (response.statusCode() != 302 || (!path.equals("/login") && location.contains("/login"))) {
+                throw new IllegalStateException(path + " 返回 " + response.statusCode() + " " + location);
+            }
+            return location;
+        }
+
+        String csrf(String page) {
+            Matcher matcher = CSRF.matcher(page);
+            if (!matcher.find()) {
+                throw new IllegalStateException("页面中没有CSRF令牌");
+            }
+            return URLEncoder.encode(matcher.group(1), StandardCharsets.UTF_8);
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.scholarship.benchmark;
+
+import com.example.scholarship.dto.ReviewDto;
+import com.example.scholarship.dto.ReviewQueuePage;
+import com.example.scholarship.service.ReviewService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 审核列表的状态统计（AdminController.viewAllApplications）
+ * 分别测量无关键字和按学生姓名搜索时的分组计数，以及包含计数在内的首页查询
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ReviewQueueBenchmark extends ApplicationBenchmarkSupport {
+
+    private static final String[] STATUSES = {"pending", "approved", "rejected"};
+
+    // 与 AdminController.REVIEW_PAGE_SIZE 一致
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    public int reviews;
+
+    private ReviewService reviewService;
+
+    private String keyword;
+
+    @Setup
+    public void setUp() {
+        startApplication();
+        reviewService = bean(ReviewService.class);
+
+        List<Long> studentIds = jdbcTemplate.queryForList("SELECT id FROM tbl_student ORDER BY id", Long.class);
+        List<Long> typeIds = jdbcTemplate.queryForList("SELECT id FROM tbl_scholarship_type ORDER BY id", Long.class);
+        keyword = jdbcTemplate.queryForObject("SELECT name FROM tbl_student WHERE id = ?", String.class, studentIds.get(0));
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> rows = new ArrayList<>(reviews);
+        for (int i = 0; i < reviews; i++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i * 60L));
+            rows.add(new Object[]{studentIds.get(random.nextInt(studentIds.size())),
+                    typeIds.get(random.nextInt(typeIds.size())), 1L, STATUSES[random.nextInt(STATUSES.length)],
+                    "2024-2025", createdAt, createdAt, 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tbl_review (student_id, scholarship_type_id, reviewer_id, review_status, "
+                + "academic_year, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopApplication();
+    }
+
+    @Benchmark
+    public Map<String, Long> statusCounts() {
+        return reviewService.countReviewsByStatus(null);
+    }
+
+    @Benchmark
+    public Map<String, Long> keywordStatusCounts() {
+        return reviewService.countReviewsByStatus(keyword);
+    }
+
+    @Benchmark
+    public ReviewQueuePage<ReviewDto> firstPage() {
+        return reviewService.getReviewQueue(null, null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.scholarship.benchmark;
+
+import com.example.scholarship.dto.ReviewDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * admin/reviews.html 的渲染开销
+ * 经应用实际使用的 ThymeleafViewResolver 解析视图，模型与 AdminController.viewAllApplications 相同，
+ * 请求中带有CSRF令牌，表单隐藏字段的生成也计入渲染时间
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ReviewsTemplateBenchmark extends ApplicationBenchmarkSupport {
+
+    private static final String[] STATUSES = {"pending", "approved", "rejected"};
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private View view;
+
+    private Map<String, Object> model;
+
+    private CsrfToken csrfToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        startApplication();
+        view = bean(ThymeleafViewResolver.class).resolveViewName("admin/reviews", Locale.SIMPLIFIED_CHINESE);
+        csrfToken = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "benchmark-token");
+
+        List<ReviewDto> applications = new ArrayList<>(rows);
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            long id = rows - i;
+            applications.add(new ReviewDto(id, id % 500, "学生" + (id % 500), String.format("2021%04d", id % 500),
+                    "计算机学院", id % 4 + 1, "奖学金类型" + (id % 4 + 1), new BigDecimal("5000.00"),
+                    STATUSES[(int) (id % STATUSES.length)], null, createdAt.minusMinutes(i), 1L, 0));
+        }
+        model = new HashMap<>();
+        model.put("applications", applications);
+        model.put("pendingCount", applications.stream().filter(r -> "pending".equals(r.getReviewStatus())).count());
+        model.put("approvedCount", applications.stream().filter(r -> "approved".equals(r.getReviewStatus())).count());
+        model.put("rejectedCount", applications.stream().filter(r -> "rejected".equals(r.getReviewStatus())).count());
+        model.put("totalCount", (long) rows);
+        model.put("hasMore", false);
+        model.put("nextCursorId", null);
+        model.put("isFirstPage", true);
+        model.put("pageTitle", "申请审核");
+        model.put("keyword", "");
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopApplication();
+    }
+
+    @Benchmark
+    public int render() throws Exception {
+        WebApplicationContext webContext = (WebApplicationContext) context;
+        MockHttpServletRequest request = new MockHttpServletRequest(webContext.getServletContext(), "GET", "/admin/reviews");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, webContext);
+        request.setAttribute(CsrfToken.class.getName(), csrfToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response.getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.scholarship.benchmark;
+
+import com.example.scholarship.service.EligibilityService;
+import com.example.scholarship.service.ReviewService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 提交申请的规则检查（ReviewServiceImpl.submitApplication）
+ * accepted 走完全部检查并插入申请，refusedDuplicate 在重复申请检查处被拒绝；
+ * 每次调用都在外层事务中执行并回滚，数据保持不变，行锁在回滚时释放
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SubmissionRulesBenchmark extends ApplicationBenchmarkSupport {
+
+    private ReviewService reviewService;
+
+    private Long userId;
+
+    private Long appliedTypeId;
+
+    private Long openTypeId;
+
+    @Setup
+    public void setUp() throws Exception {
+        startApplication();
+        reviewService = bean(ReviewService.class);
+        EligibilityService eligibilityService = bean(EligibilityService.class);
+
+        userId = userIdOf("lixm");
+        Long studentId = studentIdOf("lixm");
+        jdbcTemplate.update("DELETE FROM tbl_review WHERE student_id = ?", studentId);
+        eligibilityService.refresh();
+
+        List<Long> eligibleTypes = jdbcTemplate.queryForList("SELECT id FROM tbl_scholarship_type ORDER BY id", Long.class)
+                .stream()
+                .filter(typeId -> eligibilityService.isEligible(studentId, typeId))
+                .toList();
+        if (eligibleTypes.size() < 2) {
+            throw new IllegalStateException("初始数据中学生 lixm 符合条件的奖学金类型不足两种");
+        }
+        appliedTypeId = eligibleTypes.get(0);
+        openTypeId = eligibleTypes.get(1);
+
+        // 已提交（待审核）的申请，用于重复申请的拒绝路径
+        reviewService.submitApplication(userId, appliedTypeId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopApplication();
+    }
+
+    @Benchmark
+    public Object accepted() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                return reviewService.submitApplication(userId, openTypeId).getId();
+            } catch (Exception e) {
+                throw new IllegalStateException("申请应当通过全部检查: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Benchmark
+    public Object refusedDuplicate() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                reviewService.submitApplication(userId, appliedTypeId);
+                throw new IllegalStateException("重复申请应当被拒绝");
+            } catch (IllegalStateException e) {
+                throw e;
+            } catch (Exception e) {
+                return e.getMessage();
+            }
+        });
+    }
+}
@@ -2,18 +2,28 @@ package com.example.scholarship;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 /**
  * 高校奖学金管理系统主启动类
- * 
+ *
  * @author System
  * @version 1.0.0
  */
 @SpringBootApplication
+@EnableJpaAuditing
 public class ScholarshipSystemApplication {
 
+    /**
+     * 缓存的启动步骤数，足够容纳全部Bean的创建步骤（启动耗时报告和 /actuator/startup 使用）
+     */
+    private static final int STARTUP_STEP_CAPACITY = 8192;
+
     public static void main(String[] args) {
-        SpringApplication.run(ScholarshipSystemApplication.class, args);
+        SpringApplication application = new SpringApplication(ScholarshipSystemApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
         System.out.println("高校奖学金管理系统启动成功！");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.example.scholarship.config;
+
+import com.example.scholarship.dto.CurrentStudent;
+import com.example.scholarship.repository.StudentRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 当前学生参数解析器
+ * 控制器方法声明 {@link CurrentStudent} 参数即可获得当前登录学生。
+ * 首次解析时以一条投影查询加载并存入会话，之后同一会话内直接复用快照；未找到学生时解析为null。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Component
+public class CurrentStudentArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /**
+     * 会话中保存学生快照的属性名
+     */
+    public static final String SESSION_ATTRIBUTE = CurrentStudent.class.getName();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentStudent.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        String username = authentication.getName();
+
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpSession session = request != null ? request.getSession(false) : null;
+        if (session != null && session.getAttribute(SESSION_ATTRIBUTE) instanceof CurrentStudent cached
+                && username.equals(cached.getUsername())) {
+            return cached;
+        }
+
+        CurrentStudent student = studentRepository.findCurrentStudentByUsername(username).orElse(null);
+        if (student != null && session != null) {
+            session.setAttribute(SESSION_ATTRIBUTE, student);
+        }
+        return student;
+    }
+}
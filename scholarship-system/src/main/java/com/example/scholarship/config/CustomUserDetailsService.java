@@ -1,7 +1,9 @@
 package com.example.scholarship.config;
 
+import com.example.scholarship.dto.UserPrincipal;
 import com.example.scholarship.entity.User;
 import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.impl.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,18 +28,20 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Override
     public org.springframework.security.core.userdetails.UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        // 尝试通过用户名或邮箱查找用户
-        com.example.scholarship.entity.User user = userRepository.findByUsername(usernameOrEmail)
-                .orElseGet(() -> userRepository.findByEmail(usernameOrEmail)
-                        .orElseThrow(() -> new UsernameNotFoundException("用户未找到: " + usernameOrEmail)));
+        // 尝试通过用户名或邮箱查找用户（经缓存）
+        UserPrincipal user = userPrincipalCache.findByUsernameOrEmail(usernameOrEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("用户未找到: " + usernameOrEmail));
 
         // 检查用户是否被删除
-        if (user.getIsDeleted()) {
+        if (user.isDeleted()) {
             throw new UsernameNotFoundException("用户已被删除: " + usernameOrEmail);
         }
         
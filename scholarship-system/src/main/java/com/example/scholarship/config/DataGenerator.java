@@ -0,0 +1,399 @@
+package com.example.scholarship.config;
+
+import com.example.scholarship.repository.StudentRepository;
+import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.EligibilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * 大数据量测试数据生成器
+ * 以 datagen 配置启用，在 DataInitializer 之后按块写入学生用户、学业记录、学业汇总和申请。
+ * 与批量导入相同，每块一个事务、用JDBC批量插入，主键按用户名/学号一次查回；
+ * 汇总表在同一事务中由 INSERT ... SELECT 按学生学期聚合写入，不经过实体监听器逐条重算。
+ * 已生成的学生按学号前缀计数，重启时从中断处继续；每个学生的数据由随机种子和序号决定，可重复生成。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class DataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    // 与 ReviewServiceImpl 的有效申请上限一致
+    private static final int MAX_REVIEWS_PER_STUDENT = 2;
+
+    private static final int SEMESTERS = 8;
+
+    // 生成学生的学号前缀，据此统计已生成的数量
+    private static final String STUDENT_NO_PREFIX = "G";
+
+    private static final String INSERT_USER =
+            "INSERT INTO tbl_user (username, password, real_name, email, phone, status, user_type, login_count, " +
+            "is_deleted, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?, 0, FALSE, 0, ?, ?)";
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO tbl_student (student_no, name, gender, college, major, class, grade, contact, " +
+            "enrollment_date, is_graduated, study_years, id_card, status, user_id, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 4, ?, 'ACTIVE', ?, 0, ?, ?)";
+
+    private static final String INSERT_USER_ROLE = "INSERT INTO tbl_user_role (user_id, role_id) VALUES (?, ?)";
+
+    private static final String INSERT_RECORD =
+            "INSERT INTO tbl_academic_record (student_id, course_name, credit, gpa, semester, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String INSERT_SUMMARY =
+            "INSERT INTO tbl_academic_summary (student_id, semester, course_count, gpa_sum, credit_sum, excellent_count, " +
+            "version, created_at, updated_at) " +
+            "SELECT student_id, semester, COUNT(*), SUM(gpa), SUM(credit), SUM(CASE WHEN gpa >= 3.5 THEN 1 ELSE 0 END), " +
+            "0, :now, :now FROM tbl_academic_record WHERE student_id IN (:studentIds) GROUP BY student_id, semester";
+
+    private static final String INSERT_REVIEW =
+            "INSERT INTO tbl_review (student_id, scholarship_type_id, reviewer_id, review_status, comments, academic_year, " +
+            "version, created_at, updated_at, created_by, updated_by) VALUES (?, ?, ?, ?, ?, '2024-2025', 0, ?, ?, ?, ?)";
+
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "赵", "黄", "周", "吴", "徐", "孙", "胡", "朱", "高", "林"};
+
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "丽", "强", "磊", "军", "洋", "勇", "艳", "杰", "娟", "涛", "明", "超", "秀英", "华", "慧"};
+
+    private static final String[][] COLLEGES = {
+            {"计算机学院", "计算机科学与技术", "软件工程", "人工智能"},
+            {"经济管理学院", "会计学", "金融学", "工商管理"},
+            {"机械工程学院", "机械设计制造及其自动化", "车辆工程"},
+            {"外国语学院", "英语", "日语"},
+            {"理学院", "数学与应用数学", "应用物理学", "统计学"}
+    };
+
+    private static final String[] COURSES = {"高等数学", "线性代数", "概率论与数理统计", "大学英语", "大学物理", "程序设计基础",
+            "数据结构", "思想道德与法治", "体育", "专业导论", "专业核心课", "专业选修课", "实践课程", "毕业设计"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scholarship.datagen.students:100000}")
+    private int students;
+
+    @Value("${scholarship.datagen.records-per-student:20}")
+    private int recordsPerStudent;
+
+    @Value("${scholarship.datagen.reviews:200000}")
+    private int reviews;
+
+    @Value("${scholarship.datagen.admins:4}")
+    private int admins;
+
+    @Value("${scholarship.datagen.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${scholarship.datagen.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${scholarship.datagen.seed:42}")
+    private long seed;
+
+    @Value("${scholarship.datagen.username-prefix:gen}")
+    private String usernamePrefix;
+
+    @Value("${scholarship.datagen.password:123456}")
+    private String password;
+
+    @Autowired
+    public DataGenerator(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        // 全部账号共用一个密码哈希：BCrypt 每次约百毫秒，逐个加密十万用户需要数小时
+        String passwordHash = passwordEncoder.encode(password);
+        createAdmins(passwordHash);
+
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tbl_student WHERE student_no LIKE ?", Integer.class, STUDENT_NO_PREFIX + "%");
+        int start = existing != null ? existing : 0;
+        if (start >= students) {
+            log.info("测试数据已存在: {} 名学生，跳过生成", start);
+            return;
+        }
+
+        List<Long> typeIds = jdbcTemplate.queryForList("SELECT id FROM tbl_scholarship_type ORDER BY id", Long.class);
+        if (typeIds.isEmpty()) {
+            throw new IllegalStateException("没有奖学金类型，无法生成申请数据");
+        }
+        GenerationContext context = new GenerationContext(
+                passwordHash,
+                jdbcTemplate.queryForList("SELECT id FROM tbl_role WHERE name IN ('STUDENT', 'ROLE_STUDENT')", Long.class),
+                typeIds,
+                jdbcTemplate.queryForList("SELECT id FROM tbl_user WHERE username = 'admin'", Long.class)
+                        .stream().findFirst().orElse(null));
+
+        log.info("开始生成测试数据: 学生 {}（已有 {}），每人学业记录 {} 条，申请共 {} 条",
+                students, start, recordsPerStudent, reviews);
+        long begin = System.currentTimeMillis();
+        int reported = 0;
+        for (int from = start; from < students; from += chunkSize) {
+            int to = Math.min(students, from + chunkSize);
+            int chunkFrom = from;
+            transactionTemplate.executeWithoutResult(status -> generateChunk(chunkFrom, to, context));
+            // 每完成约10%记录一次进度
+            if ((to - start) * 10L / (students - start) > reported || to == students) {
+                reported = (int) ((to - start) * 10L / (students - start));
+                log.info("已生成学生 {}/{}，耗时 {} s", to, students, (System.currentTimeMillis() - begin) / 1000);
+            }
+        }
+
+        // 绕过了实体监听器，资格快照需重建；搜索索引在应用就绪时全量重建
+        eligibilityService.markStale();
+        log.info("测试数据生成完成: 学生 {} 名，耗时 {} s", students - start, (System.currentTimeMillis() - begin) / 1000);
+    }
+
+    /**
+     * 创建审核员账号（前缀+admin+序号），负载测试中每个并发的管理员各用一个，互不挤占会话
+     */
+    private void createAdmins(String passwordHash) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 1; i <= admins; i++) {
+            String username = usernamePrefix + "admin" + i;
+            if (!userRepository.existsByUsername(username)) {
+                jdbcTemplate.update(INSERT_USER, username, passwordHash, "审核员" + i, username + "@example.com",
+                        null, "ADMIN", now, now);
+            }
+        }
+    }
+
+    /**
+     * 生成序号 [from, to) 的学生及其学业记录、汇总和申请
+     */
+    private void generateChunk(int from, int to, GenerationContext context) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<GeneratedStudent> chunk = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            chunk.add(new GeneratedStudent(index, new Random(seed * 1_000_003L + index)));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_USER, chunk, batchSize, (ps, student) -> {
+            ps.setString(1, student.username);
+            ps.setString(2, context.passwordHash);
+            ps.setString(3, student.name);
+            ps.setString(4, student.username + "@example.com");
+            ps.setString(5, student.contact);
+            ps.setString(6, "STUDENT");
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] row : userRepository.findIdsByUsernames(
+                chunk.stream().map(s -> s.username).collect(Collectors.toList()))) {
+            userIds.put((String) row[1], (Long) row[0]);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_STUDENT, chunk, batchSize, (ps, student) -> {
+            ps.setString(1, student.studentNo);
+            ps.setString(2, student.name);
+            ps.setString(3, student.gender);
+            ps.setString(4, student.college);
+            ps.setString(5, student.major);
+            ps.setString(6, student.clazz);
+            ps.setString(7, String.valueOf(student.grade));
+            ps.setString(8, student.contact);
+            ps.setDate(9, Date.valueOf(LocalDate.of(student.grade, 9, 1)));
+            ps.setString(10, student.idCard);
+            ps.setLong(11, userIds.get(student.username));
+            ps.setTimestamp(12, now);
+            ps.setTimestamp(13, now);
+        });
+        Map<String, Long> studentIds = new HashMap<>();
+        for (Object[] row : studentRepository.findIdsByStudentNos(
+                chunk.stream().map(s -> s.studentNo).collect(Collectors.toList()))) {
+            studentIds.put((String) row[1], (Long) row[0]);
+        }
+        chunk.forEach(student -> {
+            student.id = studentIds.get(student.studentNo);
+            student.userId = userIds.get(student.username);
+        });
+
+        if (!context.roleIds.isEmpty()) {
+            List<long[]> userRoles = new ArrayList<>();
+            for (GeneratedStudent student : chunk) {
+                for (Long roleId : context.roleIds) {
+                    userRoles.add(new long[]{student.userId, roleId});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles, batchSize, (ps, pair) -> {
+                ps.setLong(1, pair[0]);
+                ps.setLong(2, pair[1]);
+            });
+        }
+
+        List<Object[]> records = new ArrayList<>(chunk.size() * recordsPerStudent);
+        for (GeneratedStudent student : chunk) {
+            student.addRecords(records, now);
+        }
+        jdbcTemplate.batchUpdate(INSERT_RECORD, records, batchSize, (ps, record) -> {
+            for (int i = 0; i < record.length; i++) {
+                ps.setObject(i + 1, record[i]);
+            }
+        });
+        new NamedParameterJdbcTemplate(jdbcTemplate).update(INSERT_SUMMARY, new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("studentIds", studentIds.values()));
+
+        List<GeneratedReview> reviewRows = new ArrayList<>();
+        for (GeneratedStudent student : chunk) {
+            student.addReviews(reviewRows, context);
+        }
+        jdbcTemplate.batchUpdate(INSERT_REVIEW, reviewRows, batchSize, (ps, review) -> {
+            ps.setLong(1, review.studentId);
+            ps.setLong(2, review.typeId);
+            setNullableLong(ps, 3, context.adminId);
+            ps.setString(4, review.status);
+            ps.setString(5, review.comments);
+            ps.setTimestamp(6, review.createdAt);
+            ps.setTimestamp(7, review.createdAt);
+            ps.setLong(8, review.createdBy);
+            setNullableLong(ps, 9, review.updatedBy);
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * 第 index 个学生分到的申请数：把申请总数均匀摊到各学生，受类型数和有效申请上限约束
+     */
+    private int reviewCount(int index, int typeCount) {
+        long share = (long) (index + 1) * reviews / students - (long) index * reviews / students;
+        return (int) Math.min(share, Math.min(typeCount, MAX_REVIEWS_PER_STUDENT));
+    }
+
+    private record GenerationContext(String passwordHash, List<Long> roleIds, List<Long> typeIds, Long adminId) {
+    }
+
+    private record GeneratedReview(Long studentId, Long typeId, String status, String comments,
+                                   Timestamp createdAt, Long createdBy, Long updatedBy) {
+    }
+
+    /**
+     * 一名生成的学生，所有字段由序号和该学生的随机数决定
+     */
+    private final class GeneratedStudent {
+        private final int index;
+        private final Random random;
+        private final String username;
+        private final String studentNo;
+        private final String name;
+        private final String gender;
+        private final String college;
+        private final String major;
+        private final String clazz;
+        private final int grade;
+        private final String contact;
+        private final String idCard;
+        // 学生整体水平，决定各门课程绩点的中心
+        private final double ability;
+        private Long id;
+        private Long userId;
+
+        private GeneratedStudent(int index, Random random) {
+            this.index = index;
+            this.random = random;
+            this.username = String.format("%s%06d", usernamePrefix, index + 1);
+            this.studentNo = String.format("%s%09d", STUDENT_NO_PREFIX, index + 1);
+            this.name = SURNAMES[random.nextInt(SURNAMES.length)] + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]
+                    + (random.nextBoolean() ? GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)] : "");
+            this.gender = random.nextBoolean() ? "MALE" : "FEMALE";
+            String[] college = COLLEGES[random.nextInt(COLLEGES.length)];
+            this.college = college[0];
+            this.major = college[1 + random.nextInt(college.length - 1)];
+            this.grade = 2021 + random.nextInt(4);
+            this.clazz = major + (1 + random.nextInt(4)) + "班";
+            this.contact = String.format("139%08d", index + 1);
+            this.idCard = String.format("110101%d%02d%02d%04d", grade - 18, 1 + random.nextInt(12),
+                    1 + random.nextInt(28), index % 10000);
+            this.ability = Math.max(1.5, Math.min(3.9, 3.0 + random.nextGaussian() * 0.45));
+        }
+
+        private void addRecords(List<Object[]> records, Timestamp now) {
+            for (int i = 0; i < recordsPerStudent; i++) {
+                int term = i % SEMESTERS;
+                String semester = (grade + term / 2) + "-" + (grade + term / 2 + 1) + "-" + (term % 2 + 1);
+                double gpa = Math.max(0.0, Math.min(4.0, ability + random.nextGaussian() * 0.4));
+                records.add(new Object[]{id, COURSES[i % COURSES.length] + (i / COURSES.length > 0 ? i / COURSES.length + 1 : ""),
+                        BigDecimal.valueOf(2 + random.nextInt(7)).divide(BigDecimal.valueOf(2), 1, RoundingMode.UNNECESSARY),
+                        BigDecimal.valueOf(gpa).setScale(2, RoundingMode.HALF_UP), semester, now, now});
+            }
+        }
+
+        private void addReviews(List<GeneratedReview> rows, GenerationContext context) {
+            int count = reviewCount(index, context.typeIds.size());
+            if (count == 0) {
+                return;
+            }
+            List<Long> types = new ArrayList<>(context.typeIds);
+            Collections.shuffle(types, random);
+            for (int i = 0; i < count; i++) {
+                // 约六成待审核，其余通过、拒绝各半；已审核的由管理员最后修改
+                int roll = random.nextInt(10);
+                String status = roll < 6 ? "pending" : roll < 8 ? "approved" : "rejected";
+                Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 60)));
+                boolean decided = !"pending".equals(status);
+                rows.add(new GeneratedReview(id, types.get(i), status,
+                        decided ? ("approved".equals(status) ? "符合条件，同意" : "综合排名未达要求") : null,
+                        createdAt, userId, decided ? context.adminId : userId));
+            }
+        }
+    }
+}
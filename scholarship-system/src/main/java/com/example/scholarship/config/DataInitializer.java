@@ -1,13 +1,21 @@
 package com.example.scholarship.config;
 
+import com.example.scholarship.entity.AcademicRecord;
 import com.example.scholarship.entity.User;
 import com.example.scholarship.entity.Student;
 import com.example.scholarship.entity.ScholarshipType;
+import com.example.scholarship.repository.AcademicRecordRepository;
 import com.example.scholarship.repository.UserRepository;
 import com.example.scholarship.repository.StudentRepository;
 import com.example.scholarship.repository.ScholarshipTypeRepository;
+import com.example.scholarship.service.AcademicSummaryService;
+import com.example.scholarship.service.impl.ScholarshipTypeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -19,12 +27,18 @@ import java.util.Optional;
 
 /**
  * 数据初始化配置
- * 应用启动时创建测试用户
+ * 创建管理员、测试学生、奖学金类型和学业记录，已存在的数据跳过，可重复执行。
+ * 执行方式由 scholarship.seed.mode 决定：
+ * startup - 启动时同步执行，完成后应用才就绪（默认）；
+ * background - 启动时提交到后台线程，不延迟就绪；
+ * once - 执行完即退出进程，用作部署时的一次性命令；
+ * none - 不执行。
  * 
  * @author System
  * @version 1.0.0
  */
 @Component
+@Order(0) // 先于 datagen 配置下的测试数据生成器执行
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
@@ -36,17 +50,49 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private ScholarshipTypeRepository scholarshipTypeRepository;
 
+    @Autowired
+    private AcademicRecordRepository academicRecordRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+
+    @Autowired
+    private ScholarshipTypeService scholarshipTypeService;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Value("${scholarship.seed.mode:startup}")
+    private String mode;
+
     @Override
-    public void run(String... args) throws Exception {
+    public void run(String... args) {
+        switch (mode) {
+            case "none" -> System.out.println("已关闭数据初始化（scholarship.seed.mode=none）");
+            case "background" -> {
+                Thread thread = new Thread(this::seed, "data-initializer");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            case "once" -> {
+                seed();
+                System.exit(SpringApplication.exit(applicationContext, () -> 0));
+            }
+            default -> seed();
+        }
+    }
+
+    /**
+     * 执行数据初始化
+     */
+    public void seed() {
+        long start = System.currentTimeMillis();
         try {
             System.out.println("开始初始化数据...");
             
-            // 短暂延迟以确保数据库初始化完成
-            Thread.sleep(2000);
-            
             // 创建管理员用户
             if (!userRepository.existsByUsername("admin")) {
                 User admin = new User();
@@ -75,9 +121,17 @@ public class DataInitializer implements CommandLineRunner {
             // 初始化奖学金类型数据
             initScholarshipTypes();
             
+            // 初始化学业记录，奖学金资格按学业记录评定
+            initAcademicRecords("20210001", "2022-2023-1",
+                new String[]{"高等数学", "数据结构", "计算机组成原理", "大学英语"},
+                new String[]{"5.0", "4.0", "3.5", "2.0"}, new String[]{"3.90", "3.80", "4.00", "3.70"});
+            initAcademicRecords("20210002", "2022-2023-1",
+                new String[]{"高等数学", "数据结构", "软件工程导论", "大学英语"},
+                new String[]{"5.0", "4.0", "3.0", "2.0"}, new String[]{"3.30", "3.50", "3.10", "3.40"});
+            
             // 验证创建结果
             System.out.println("数据初始化完成，当前用户总数: " + userRepository.count());
-            System.out.println("数据初始化完成！");
+            System.out.println("数据初始化完成！耗时 " + (System.currentTimeMillis() - start) + " ms");
             
         } catch (Exception e) {
             System.err.println("数据初始化失败: " + e.getMessage());
@@ -108,13 +162,41 @@ public class DataInitializer implements CommandLineRunner {
             type.setAmount(amount);
             type.setDescription(description);
             type.setEligibilityCriteria(eligibilityCriteria);
-            scholarshipTypeRepository.save(type);
+            // 经由服务保存，奖学金类型目录随之重建
+            scholarshipTypeService.save(type);
             System.out.println("已创建奖学金类型: " + name);
         } else {
             System.out.println("奖学金类型已存在: " + name);
         }
     }
     
+    /**
+     * 初始化学生的学业记录，学生已有学业记录时跳过
+     */
+    private void initAcademicRecords(String studentNo, String semester, String[] courses, String[] credits, String[] gpas) {
+        Optional<Student> student = studentRepository.findByStudentNo(studentNo);
+        if (student.isEmpty()) {
+            System.out.println("学号不存在: " + studentNo + "，跳过创建学业记录");
+            return;
+        }
+        Long studentId = student.get().getId();
+        if (!academicRecordRepository.findByStudentId(studentId).isEmpty()) {
+            System.out.println("学业记录已存在: " + studentNo);
+            return;
+        }
+        for (int i = 0; i < courses.length; i++) {
+            AcademicRecord record = new AcademicRecord();
+            record.setStudentId(studentId);
+            record.setCourseName(courses[i]);
+            record.setCredit(new BigDecimal(credits[i]));
+            record.setGpa(new BigDecimal(gpas[i]));
+            record.setSemester(semester);
+            academicRecordRepository.save(record);
+        }
+        academicSummaryService.onRecordChanged(studentId, semester);
+        System.out.println("已创建学业记录: " + studentNo + "，共 " + courses.length + " 门课程");
+    }
+    
     /**
      * 初始化学生用户及其对应的学生记录
      * @param username 用户名
@@ -0,0 +1,67 @@
+package com.example.scholarship.config;
+
+import com.example.scholarship.service.NotificationService;
+import com.example.scholarship.service.impl.FragmentCache;
+import com.example.scholarship.service.impl.UserPrincipalCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * 业务指标配置
+ * JVM、连接池、HTTP请求等指标由 Actuator 自动注册，这里只补充应用自有组件的指标
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 登录用户缓存的命中、未命中、驱逐和大小
+     */
+    @Bean
+    public MeterBinder userPrincipalCacheMetrics(UserPrincipalCache userPrincipalCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, userPrincipalCache.getNativeCache(), "userPrincipal");
+    }
+
+    /**
+     * 页面片段渲染缓存的命中、未命中和驱逐
+     */
+    @Bean
+    public MeterBinder fragmentCacheMetrics(FragmentCache fragmentCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, fragmentCache.getNativeCache(), "fragment");
+    }
+
+    /**
+     * 实时通知的在线连接数、已推送事件数、因积压断开数
+     */
+    @Bean
+    public MeterBinder notificationMetrics(NotificationService notificationService) {
+        return registry -> {
+            Gauge.builder("scholarship.notifications.connections", notificationService,
+                            service -> statistic(service, "connections"))
+                    .description("在线的SSE通知连接数")
+                    .register(registry);
+            FunctionCounter.builder("scholarship.notifications.delivered", notificationService,
+                            service -> statistic(service, "deliveredCount"))
+                    .description("已推送的通知事件数")
+                    .register(registry);
+            FunctionCounter.builder("scholarship.notifications.overflow.disconnects", notificationService,
+                            service -> statistic(service, "overflowDisconnects"))
+                    .description("因客户端读取跟不上被断开的连接数")
+                    .register(registry);
+        };
+    }
+
+    private static double statistic(NotificationService service, String key) {
+        Map<String, Object> statistics = service.getStatistics();
+        Object value = statistics.get(key);
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.scholarship.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.time.Duration;
+
+/**
+ * 数据访问指标配置
+ * 取代 show-sql 输出全部SQL的做法：仓库方法级的耗时/行数/语句数指标、慢调用日志，以及每请求SQL语句数预算
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Configuration
+public class PersistenceMetricsConfig {
+
+    /**
+     * 注册SQL语句计数器
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * 为每个仓库代理织入指标拦截器，放在最外层使耗时包含仓库自身事务的取连接和提交
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${scholarship.repository.slow-threshold:PT0.2S}") Duration slowThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, new RepositoryMetricsInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName(),
+                                    meterRegistry, slowThreshold))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 每请求SQL语句数统计，排在最前以覆盖安全过滤器中的用户查询
+     */
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${scholarship.sql.statement-budget:0}") int budget,
+            @Value("${scholarship.sql.fail-on-budget-exceeded:false}") boolean failOnExceed) {
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(meterRegistry, budget, failOnExceed));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
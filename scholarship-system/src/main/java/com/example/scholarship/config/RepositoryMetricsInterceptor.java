@@ -0,0 +1,134 @@
+package com.example.scholarship.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * 仓库方法指标拦截器
+ * 织入每个 Spring Data 仓库代理，按"仓库.方法"记录调用耗时、返回行数和发出的SQL语句数，
+ * 超过慢调用阈值时记录警告日志。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryMetricsInterceptor.class);
+
+    private final String repository;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowThresholdNanos;
+
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    RepositoryMetricsInterceptor(String repository, ObjectProvider<MeterRegistry> meterRegistry, Duration slowThreshold) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        long statementsBefore = SqlStatementCounter.total();
+        long start = System.nanoTime();
+        Object result = null;
+        boolean failed = false;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            failed = true;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long statements = SqlStatementCounter.total() - statementsBefore;
+            MethodMeters methodMeters = meters.computeIfAbsent(method, this::createMeters);
+            // 失败的调用较少，耗时单独计入 outcome=error，首次失败时才注册
+            (failed ? timer(meterRegistry.getObject(), method, "error") : methodMeters.success)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            methodMeters.statements.record(statements);
+            long rows = failed || method.getReturnType() == void.class ? -1 : rows(result);
+            if (rows >= 0) {
+                methodMeters.rows.record(rows);
+            }
+            if (elapsed > slowThresholdNanos) {
+                log.warn("慢仓库调用: {}.{} 耗时 {} ms，返回 {} 行，执行SQL {} 条", repository, method.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), rows >= 0 ? rows : "-", statements);
+            }
+        }
+    }
+
+    /**
+     * 首次调用时创建该方法的指标；仓库在启动早期创建，注册表在此时才获取
+     */
+    private MethodMeters createMeters(Method method) {
+        MeterRegistry registry = meterRegistry.getObject();
+        return new MethodMeters(
+                timer(registry, method, "success"),
+                DistributionSummary.builder("scholarship.repository.rows")
+                        .description("仓库方法返回的行数（实体或投影个数）")
+                        .tag("repository", repository)
+                        .tag("method", method.getName())
+                        .register(registry),
+                DistributionSummary.builder("scholarship.repository.statements")
+                        .description("一次仓库方法调用发出的SQL语句数")
+                        .tag("repository", repository)
+                        .tag("method", method.getName())
+                        .register(registry));
+    }
+
+    private Timer timer(MeterRegistry registry, Method method, String outcome) {
+        return Timer.builder("scholarship.repository.invocations")
+                .description("仓库方法调用耗时")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * 返回行数；计数、存在性判断、更新和流式结果不计，返回-1
+     */
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Iterable<?>
+                || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private record MethodMeters(Timer success, DistributionSummary rows, DistributionSummary statements) {
+    }
+}
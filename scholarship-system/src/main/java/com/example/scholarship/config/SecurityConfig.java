@@ -1,14 +1,19 @@
 package com.example.scholarship.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -107,6 +112,33 @@ public class SecurityConfig {
         }
     }
 
+    /**
+     * Actuator端点的安全配置，优先于页面的过滤链匹配
+     * 健康检查公开供负载均衡和容器探针使用（详情仅管理员可见），指标等其余端点要求管理员，
+     * 以HTTP Basic认证、不创建会话，便于Prometheus等抓取程序直接访问
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            // 直接写出401/403状态而不是sendError，避免错误页转发经过页面过滤链被重定向到登录页
+            .httpBasic(basic -> basic.authenticationEntryPoint((request, response, exception) -> {
+                response.setHeader("WWW-Authenticate", "Basic realm=\"actuator\"");
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            }))
+            .exceptionHandling(exceptions -> exceptions.accessDeniedHandler((request, response, exception) ->
+                response.setStatus(HttpServletResponse.SC_FORBIDDEN)))
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -131,6 +163,8 @@ public class SecurityConfig {
                     "/favicon.ico",
                     "/webjars/**"
                 ).permitAll()
+                // 公告详情与列表一样公开只读
+                .requestMatchers(HttpMethod.GET, "/api/announcements/*").permitAll()
                 
                 // 学生角色可访问的路径
                 .requestMatchers(
@@ -0,0 +1,126 @@
+package com.example.scholarship.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL语句计数器
+ * 注册为 Hibernate 的 StatementInspector，Hibernate 每准备一条SQL（实体加载、JPQL、原生查询、懒加载）即计数一次。
+ * 计数按线程累计，仓库调用前后相减即得该调用发出的语句数；请求范围内另行记录每条语句的次数，
+ * 用于发现同一语句被反复执行的 N+1 问题。直接经 JdbcTemplate 执行的语句（批量导入）不经过 Hibernate，不计入。
+ *
+ * 测试中可直接使用：
+ * <pre>
+ * try (SqlStatementCounter.Scope scope = SqlStatementCounter.open(10, true)) {
+ *     ...  // 超过10条语句时抛出异常
+ * }
+ * </pre>
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String inspect(String sql) {
+        State state = STATE.get();
+        state.total++;
+        if (state.scope != null) {
+            state.scope.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 当前线程累计执行的语句数
+     */
+    public static long total() {
+        return STATE.get().total;
+    }
+
+    /**
+     * 开始一个计数范围；范围嵌套时只有最内层计数，关闭后恢复外层范围
+     * @param budget 语句数预算，0表示不限
+     * @param failOnExceed 超出预算时是否在发出该语句前抛出异常
+     */
+    public static Scope open(int budget, boolean failOnExceed) {
+        State state = STATE.get();
+        Scope scope = new Scope(state, state.scope, budget, failOnExceed);
+        state.scope = scope;
+        return scope;
+    }
+
+    private static class State {
+        private long total;
+        private Scope scope;
+    }
+
+    /**
+     * 一个计数范围（通常是一个HTTP请求）
+     */
+    public static class Scope implements AutoCloseable {
+
+        // 按语句文本计数的上限，防止拼接了字面量的语句撑大映射
+        private static final int MAX_DISTINCT = 500;
+
+        private final State state;
+        private final Scope previous;
+        private final int budget;
+        private final boolean failOnExceed;
+        private final Map<String, Integer> counts = new HashMap<>();
+        private int count;
+
+        private Scope(State state, Scope previous, int budget, boolean failOnExceed) {
+            this.state = state;
+            this.previous = previous;
+            this.budget = budget;
+            this.failOnExceed = failOnExceed;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (counts.size() < MAX_DISTINCT || counts.containsKey(sql)) {
+                counts.merge(sql, 1, Integer::sum);
+            }
+            if (failOnExceed && isOverBudget()) {
+                Map.Entry<String, Integer> repeated = mostRepeated();
+                throw new IllegalStateException("SQL语句数超出预算 " + budget + " 条，重复最多的语句执行了 "
+                        + repeated.getValue() + " 次: " + repeated.getKey());
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isOverBudget() {
+            return budget > 0 && count > budget;
+        }
+
+        /**
+         * 执行次数最多的语句及其次数，N+1 问题表现为同一语句执行了几十上百次
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> top = Map.entry("", 0);
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                if (entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+
+        @Override
+        public void close() {
+            if (state.scope == this) {
+                state.scope = previous;
+            }
+        }
+    }
+}
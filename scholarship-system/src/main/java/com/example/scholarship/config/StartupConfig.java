@@ -0,0 +1,25 @@
+package com.example.scholarship.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 启动配置
+ * fast 配置开启懒加载后，多数Bean在第一次使用时才创建；指标相关的Bean仍在启动时创建，
+ * 否则相应的指标要等到组件第一次被调用才出现，监控在重启后会短暂缺少这些序列。
+ * 带 @Scheduled 方法的Bean由 Spring Boot 自行排除。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter metricsLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(MeterRegistry.class, MeterBinder.class);
+    }
+}
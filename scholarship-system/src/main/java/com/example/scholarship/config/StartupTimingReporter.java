@@ -0,0 +1,119 @@
+package com.example.scholarship.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 启动耗时报告
+ * 应用就绪时输出JVM启动、上下文刷新（含Web服务器）和启动任务三个阶段的耗时，
+ * 以及按步骤类型（Bean创建、仓库代理、配置类解析等）汇总和按Bean排序的自身耗时；
+ * 总耗时超过 scholarship.startup.target 时记录警告。完整的步骤明细可由管理员通过 /actuator/startup 查看。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Component
+public class StartupTimingReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingReporter.class);
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Value("${scholarship.startup.target:PT30S}")
+    private Duration target;
+
+    @Value("${scholarship.startup.slowest-beans:10}")
+    private int slowestBeans;
+
+    private Duration startedTimeTaken;
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        startedTimeTaken = event.getTimeTaken();
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        long ready = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : uptime;
+        long started = startedTimeTaken != null ? startedTimeTaken.toMillis() : ready;
+
+        log.info("启动完成，进程启动至就绪 {} ms: JVM及类加载 {} ms，上下文刷新及Web服务器 {} ms，启动任务 {} ms",
+                uptime, Math.max(0, uptime - ready), started, ready - started);
+
+        ApplicationStartup startup = applicationContext.getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup buffering) {
+            reportSteps(buffering.getBufferedTimeline());
+        }
+
+        if (uptime > target.toMillis()) {
+            log.warn("启动耗时 {} ms 超过目标 {} ms", uptime, target.toMillis());
+        }
+    }
+
+    /**
+     * 步骤的自身耗时扣除其子步骤（如依赖Bean的创建）的时间，按步骤类型汇总前5项，再输出最慢的Bean
+     */
+    private void reportSteps(StartupTimeline timeline) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        Map<String, Long> stepNanos = new LinkedHashMap<>();
+        Map<String, Long> beanNanos = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            long self = event.getDuration().toNanos() - childNanos.getOrDefault(step.getId(), 0L);
+            stepNanos.merge(step.getName(), self, Long::sum);
+            if ("spring.beans.instantiate".equals(step.getName())) {
+                beanNanos.merge(beanName(step), self, Long::sum);
+            }
+        }
+
+        slowest(stepNanos, 5).forEach(entry ->
+                log.info("  步骤 {} 共 {} ms", entry.getKey(), entry.getValue() / 1_000_000));
+        slowest(beanNanos, slowestBeans).forEach(entry ->
+                log.info("  Bean {} 创建耗时 {} ms", entry.getKey(), entry.getValue() / 1_000_000));
+    }
+
+    private static List<Map.Entry<String, Long>> slowest(Map<String, Long> nanos, int limit) {
+        return nanos.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
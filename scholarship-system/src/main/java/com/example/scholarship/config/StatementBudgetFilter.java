@@ -0,0 +1,80 @@
+package com.example.scholarship.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 每请求SQL语句数统计与预算检查
+ * 整个请求（含视图渲染时的懒加载）作为一个计数范围，按接口记录语句数分布；
+ * 超出预算时记录警告并给出重复最多的语句，便于定位 N+1 问题。
+ * 开启 fail-on-exceed 后超出预算的那条语句直接抛出异常，供测试环境把回归变成失败；
+ * 该异常被业务代码捕获时（页面显示加载失败），请求结束时仍以异常结束请求。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    private final boolean failOnExceed;
+
+    StatementBudgetFilter(MeterRegistry meterRegistry, int budget, boolean failOnExceed) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/css/") || path.startsWith("/js/") || path.startsWith("/images/")
+                || path.startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Scope scope = SqlStatementCounter.open(budget, failOnExceed);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            record(request, scope);
+        }
+        if (failOnExceed && scope.isOverBudget()) {
+            throw new IllegalStateException("请求 " + request.getMethod() + " " + request.getRequestURI()
+                    + " 执行SQL " + scope.getCount() + " 条，超出预算 " + budget + " 条");
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("scholarship.http.statements")
+                .description("每个HTTP请求发出的SQL语句数")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .serviceLevelObjectives(1, 5, 10, 20, 50, 100)
+                .register(meterRegistry)
+                .record(scope.getCount());
+        if (scope.isOverBudget()) {
+            Map.Entry<String, Integer> repeated = scope.mostRepeated();
+            log.warn("请求 {} {} 执行SQL {} 条，超出预算 {} 条；重复最多的语句执行 {} 次: {}",
+                    request.getMethod(), uri, scope.getCount(), budget, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package com.example.scholarship.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Web MVC配置类
@@ -15,6 +27,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private CurrentStudentArgumentResolver currentStudentArgumentResolver;
+
+    @Value("${scholarship.assets.max-age:PT0S}")
+    private Duration assetsMaxAge;
+
+    /**
+     * 注册当前学生参数解析器
+     */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentStudentArgumentResolver);
+    }
+
     /**
      * 配置CORS跨域访问
      */
@@ -30,9 +56,17 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     /**
      * 配置静态资源处理
+     * CSS、JS、图片的URL带内容摘要（style-{md5}.css），内容变化即换URL，可以长期缓存且不必重新验证；
+     * 浏览器支持时直接返回构建时生成的 .gz 副本（见 tools/AssetPipeline.java）。
+     * scholarship.assets.max-age 为 0（开发环境）时每次重新验证、不缓存解析结果，修改即时可见
      */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        boolean cacheAssets = !assetsMaxAge.isZero();
+        CacheControl cacheControl = cacheAssets
+                ? CacheControl.maxAge(assetsMaxAge.getSeconds(), TimeUnit.SECONDS).cachePublic().immutable()
+                : CacheControl.noCache();
+
         // 静态资源映射
         registry.addResourceHandler("/static/**")
                 .addResourceLocations("classpath:/static/");
@@ -42,15 +76,35 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:uploads/");
         
         // 图片资源映射
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("classpath:/static/images/");
+        addVersionedResources(registry, "/images/**", "classpath:/static/images/", cacheControl, cacheAssets);
         
         // CSS资源映射
-        registry.addResourceHandler("/css/**")
-                .addResourceLocations("classpath:/static/css/");
+        addVersionedResources(registry, "/css/**", "classpath:/static/css/", cacheControl, cacheAssets);
         
         // JS资源映射
-        registry.addResourceHandler("/js/**")
-                .addResourceLocations("classpath:/static/js/");
+        addVersionedResources(registry, "/js/**", "classpath:/static/js/", cacheControl, cacheAssets);
+    }
+
+    /**
+     * 带内容摘要和压缩副本的资源映射；压缩副本的解析须在版本解析之前
+     */
+    private void addVersionedResources(ResourceHandlerRegistry registry, String pattern, String location,
+                                       CacheControl cacheControl, boolean cacheAssets) {
+        registry.addResourceHandler(pattern)
+                .addResourceLocations(location)
+                .setCacheControl(cacheControl)
+                .resourceChain(cacheAssets)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * 模板中 @{/css/...}、@{/js/...} 生成的链接改写为带内容摘要的URL
+     */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration = new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
     }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.example.scholarship.controller;
+
+import com.example.scholarship.dto.AllocationPlan;
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.entity.ScholarshipType;
+import com.example.scholarship.repository.ReviewRepository;
+import com.example.scholarship.service.AllocationService;
+import com.example.scholarship.service.impl.ScholarshipTypeService;
+import com.example.scholarship.service.impl.UserPrincipalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 管理员奖学金名额分配控制器
+ * 按预算和学院名额批量决定待审核申请，先预览再提交
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Controller
+@RequestMapping("/admin/allocation")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAllocationController {
+
+    private static final String BUDGET_PARAM_PREFIX = "budget_";
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private ScholarshipTypeService scholarshipTypeService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    /**
+     * 名额分配页面
+     */
+    @GetMapping
+    public String allocationPage(Model model) {
+        prepareForm(model, Map.of(), "");
+        return "admin/allocation";
+    }
+
+    /**
+     * 预览分配方案
+     */
+    @PostMapping("/preview")
+    public String preview(@RequestParam Map<String, String> params,
+                          @RequestParam(value = "collegeQuotas", required = false) String collegeQuotas,
+                          Model model) {
+        try {
+            Map<Long, BigDecimal> budgets = parseBudgets(params);
+            AllocationPlan plan = allocationService.preview(budgets, parseCollegeQuotas(collegeQuotas));
+            model.addAttribute("plan", plan);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            model.addAttribute("errorMessage", e.getMessage());
+        }
+        prepareForm(model, params, collegeQuotas);
+        return "admin/allocation";
+    }
+
+    /**
+     * 按最新数据重新计算并提交分配结果
+     */
+    @PostMapping("/commit")
+    public String commit(@RequestParam Map<String, String> params,
+                         @RequestParam(value = "collegeQuotas", required = false) String collegeQuotas,
+                         Authentication authentication,
+                         RedirectAttributes redirectAttributes) {
+        try {
+            UserPrincipal adminUser = userPrincipalCache.findByUsername(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("管理员用户信息不存在"));
+            AllocationPlan plan = allocationService.commit(
+                    parseBudgets(params), parseCollegeQuotas(collegeQuotas), adminUser.getId());
+            redirectAttributes.addFlashAttribute("successMessage", String.format(
+                    "名额分配完成：通过 %d 份，拒绝 %d 份，实际更新 %d 份申请",
+                    plan.getApprovedCount(), plan.getRejectedCount(), plan.getUpdatedCount()));
+            return "redirect:/admin/reviews";
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "名额分配失败: " + e.getMessage());
+            return "redirect:/admin/allocation";
+        }
+    }
+
+    private void prepareForm(Model model, Map<String, String> params, String collegeQuotas) {
+        List<ScholarshipType> types = scholarshipTypeService.findAll();
+        Map<Long, Long> pendingCounts = new HashMap<>();
+        for (Object[] row : reviewRepository.countPendingByScholarshipType()) {
+            pendingCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        Map<Long, String> budgetInputs = new HashMap<>();
+        for (ScholarshipType type : types) {
+            budgetInputs.put(type.getId(), params.getOrDefault(BUDGET_PARAM_PREFIX + type.getId(), ""));
+        }
+
+        model.addAttribute("scholarshipTypes", types);
+        model.addAttribute("pendingCounts", pendingCounts);
+        model.addAttribute("budgetInputs", budgetInputs);
+        model.addAttribute("collegeQuotas", collegeQuotas != null ? collegeQuotas : "");
+        model.addAttribute("pageTitle", "名额分配");
+    }
+
+    /**
+     * 解析 budget_{奖学金类型ID} 参数，留空的类型不参与分配
+     */
+    private Map<Long, BigDecimal> parseBudgets(Map<String, String> params) {
+        Map<Long, BigDecimal> budgets = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            if (!entry.getKey().startsWith(BUDGET_PARAM_PREFIX) || entry.getValue().trim().isEmpty()) {
+                continue;
+            }
+            try {
+                Long typeId = Long.valueOf(entry.getKey().substring(BUDGET_PARAM_PREFIX.length()));
+                BigDecimal budget = new BigDecimal(entry.getValue().trim());
+                if (budget.signum() < 0) {
+                    throw new IllegalArgumentException("预算不能为负数");
+                }
+                budgets.put(typeId, budget);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("预算格式不正确: " + entry.getValue());
+            }
+        }
+        if (budgets.isEmpty()) {
+            throw new IllegalArgumentException("请至少为一种奖学金填写预算");
+        }
+        return budgets;
+    }
+
+    /**
+     * 解析学院名额，每行一项，格式为"学院=名额"
+     */
+    private Map<String, Integer> parseCollegeQuotas(String text) {
+        Map<String, Integer> quotas = new HashMap<>();
+        if (text == null) {
+            return quotas;
+        }
+        for (String line : text.split("\\r?\\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split("[=＝]", 2);
+            try {
+                int quota = Integer.parseInt(parts.length == 2 ? parts[1].trim() : "");
+                if (quota < 0) {
+                    throw new IllegalArgumentException("学院名额不能为负数: " + line.trim());
+                }
+                quotas.put(parts[0].trim(), quota);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("学院名额格式不正确，应为\"学院=名额\": " + line.trim());
+            }
+        }
+        return quotas;
+    }
+}
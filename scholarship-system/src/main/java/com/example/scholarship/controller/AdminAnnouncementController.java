@@ -1,7 +1,8 @@
 package com.example.scholarship.controller;
 
+import com.example.scholarship.dto.AnnouncementSummary;
 import com.example.scholarship.entity.Announcement;
-import com.example.scholarship.repository.AnnouncementRepository;
+import com.example.scholarship.service.AnnouncementService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,8 +12,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.security.Principal;
 import java.util.List;
-import java.time.LocalDateTime;
-import org.springframework.data.domain.Sort;
 
 /**
  * 管理员公告管理控制器
@@ -23,7 +22,7 @@ import org.springframework.data.domain.Sort;
 public class AdminAnnouncementController {
 
     @Autowired
-    private AnnouncementRepository announcementRepository;
+    private AnnouncementService announcementService;
 
     /**
      * 管理员公告管理页面（发布公告）
@@ -46,15 +45,8 @@ public class AdminAnnouncementController {
         String adminName = principal.getName();
         model.addAttribute("adminName", adminName);
         
-        // 获取所有未删除的公告，按发布时间降序排列
-        Sort sort = Sort.by(Sort.Direction.DESC, "publishedAt");
-        List<Announcement> announcements = announcementRepository.findByDeletedIsFalse(sort);
-        
-        // 转换公告列表，为模板提供正确的数据格式
-        for (Announcement announcement : announcements) {
-            // 这里可以添加必要的转换逻辑
-            announcement.setPublishedBy(1L); // 临时设置为管理员ID 1
-        }
+        // 获取所有未删除公告的摘要（缓存快照），按发布时间降序排列
+        List<AnnouncementSummary> announcements = announcementService.getFeed().getItems();
         
         model.addAttribute("announcements", announcements);
         return "admin/published-announcements";
@@ -68,13 +60,9 @@ public class AdminAnnouncementController {
     public ResponseEntity<?> publishAnnouncement(@RequestBody AnnouncementRequest request, Principal principal) {
         System.out.println("收到发布公告请求: " + request.getTitle());
         try {
-            Announcement announcement = new Announcement();
-            announcement.setTitle(request.getTitle());
-            announcement.setContent(request.getContent());
-            announcement.setPublishedBy(1L); // 临时设置为管理员ID 1
-            announcement.setPublishedAt(LocalDateTime.now());
-            
-            Announcement savedAnnouncement = announcementRepository.save(announcement);
+            // 发布公告，事务提交后公告列表缓存失效
+            Announcement savedAnnouncement = announcementService.publish(
+                    request.getTitle(), request.getContent(), 1L); // 临时设置为管理员ID 1
             System.out.println("公告保存成功，ID: " + savedAnnouncement.getId());
             
             // 返回成功响应，便于前端进行跳转
@@ -93,18 +81,8 @@ public class AdminAnnouncementController {
     @PostMapping("/announcements/delete/{id}")
     public String deleteAnnouncement(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            // 查找未删除的公告
-            Announcement announcement = announcementRepository.findByIdAndDeletedIsFalse(id);
-            if (announcement == null) {
-                throw new IllegalArgumentException("公告不存在或已被删除: " + id);
-            }
-            
-            // 执行软删除
-            announcement.setDeleted(true);
-            announcement.setDeletedAt(LocalDateTime.now());
-            
-            // 保存更新
-            announcementRepository.save(announcement);
+            // 执行软删除，事务提交后公告列表缓存失效
+            announcementService.delete(id);
             
             // 添加成功消息
             redirectAttributes.addFlashAttribute("successMessage", "公告删除成功");
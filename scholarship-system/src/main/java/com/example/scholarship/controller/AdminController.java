@@ -1,10 +1,25 @@
 package com.example.scholarship.controller;
 
+import com.example.scholarship.dto.BulkDecisionResult;
+import com.example.scholarship.dto.ReviewDto;
+import com.example.scholarship.dto.ReviewQueuePage;
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.dto.UserStats;
 import com.example.scholarship.entity.Review;
 import com.example.scholarship.entity.User;
 import com.example.scholarship.repository.ReviewRepository;
 import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.NotificationService;
+import com.example.scholarship.service.ReviewDocumentService;
+import com.example.scholarship.service.ReviewService;
+import com.example.scholarship.service.SearchService;
+import com.example.scholarship.service.UserService;
+import com.example.scholarship.service.impl.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
@@ -12,7 +27,12 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 管理员控制器
@@ -24,11 +44,45 @@ import java.util.List;
 @RequestMapping("/admin")
 public class AdminController {
 
+    /**
+     * 评审队列每页条数
+     */
+    private static final int REVIEW_PAGE_SIZE = 20;
+
+    /**
+     * 用户列表每页最大条数
+     */
+    private static final int MAX_USER_PAGE_SIZE = 100;
+
+    /**
+     * 用户列表可排序的列（实体属性名）
+     */
+    private static final Set<String> USER_SORT_PROPERTIES =
+            Set.of("id", "username", "realName", "userType", "status", "createdAt");
+
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewDocumentService reviewDocumentService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -40,7 +94,7 @@ public class AdminController {
     public String adminDashboard(Authentication authentication, Model model) {
         // 获取当前登录的管理员用户
         String username = authentication.getName();
-        User adminUser = userRepository.findByUsername(username)
+        UserPrincipal adminUser = userPrincipalCache.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("管理员用户信息不存在"));
         
         model.addAttribute("adminName", adminUser.getRealName());
@@ -50,32 +104,24 @@ public class AdminController {
     }
 
     /**
-     * 查看所有学生申请
+     * 查看所有学生申请（键集分页，状态统计由数据库聚合）
      */
     @GetMapping("/reviews")
-    public String viewAllApplications(Model model, @RequestParam(value = "keyword", required = false) String keyword) {
-        // 获取申请记录，支持搜索功能
-        List<Review> allApplications;
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            // 根据关键词搜索申请记录
-            allApplications = reviewRepository.searchReviewsByKeyword(keyword.trim());
-        } else {
-            // 获取所有申请记录，按创建时间倒序排列
-            allApplications = reviewRepository.findAllByOrderByCreatedAtDesc();
-        }
-        
-        // 计算各状态的申请数量
-        long pendingCount = allApplications.stream().filter(r -> "pending".equals(r.getReviewStatus())).count();
-        long approvedCount = allApplications.stream().filter(r -> "approved".equals(r.getReviewStatus())).count();
-        long rejectedCount = allApplications.stream().filter(r -> "rejected".equals(r.getReviewStatus())).count();
-        long totalCount = allApplications.size();
+    public String viewAllApplications(Model model,
+                                      @RequestParam(value = "keyword", required = false) String keyword,
+                                      @RequestParam(value = "cursorId", required = false) Long cursorId) {
+        // 获取当前页申请记录，支持搜索功能
+        ReviewQueuePage<ReviewDto> queuePage = reviewService.getReviewQueue(keyword, cursorId, REVIEW_PAGE_SIZE);
         
         // 将数据添加到模型中
-        model.addAttribute("applications", allApplications);
-        model.addAttribute("pendingCount", pendingCount);
-        model.addAttribute("approvedCount", approvedCount);
-        model.addAttribute("rejectedCount", rejectedCount);
-        model.addAttribute("totalCount", totalCount);
+        model.addAttribute("applications", queuePage.getItems());
+        model.addAttribute("pendingCount", queuePage.getCount("pending"));
+        model.addAttribute("approvedCount", queuePage.getCount("approved"));
+        model.addAttribute("rejectedCount", queuePage.getCount("rejected"));
+        model.addAttribute("totalCount", queuePage.getTotalCount());
+        model.addAttribute("hasMore", queuePage.isHasMore());
+        model.addAttribute("nextCursorId", queuePage.getNextCursorId());
+        model.addAttribute("isFirstPage", cursorId == null);
         model.addAttribute("pageTitle", "申请审核");
         model.addAttribute("keyword", keyword != null ? keyword.trim() : "");
         
@@ -87,11 +133,12 @@ public class AdminController {
      */
     @GetMapping("/review/{id}/detail")
     public String viewReviewDetail(@PathVariable("id") Long reviewId, Model model) {
-        // 查找审核记录
-        Review review = reviewRepository.findById(reviewId)
+        // 查找审核记录（投影查询，一次带出学生与奖学金类型信息）
+        ReviewDto review = reviewService.findReviewDetail(reviewId)
                 .orElseThrow(() -> new RuntimeException("审核记录不存在"));
         
         model.addAttribute("review", review);
+        model.addAttribute("documents", reviewDocumentService.findByReviewId(reviewId));
         model.addAttribute("pageTitle", "审核详情");
         
         return "admin/review-detail";
@@ -111,7 +158,7 @@ public class AdminController {
         try {
             // 获取当前登录的管理员用户
             String username = authentication.getName();
-            User adminUser = userRepository.findByUsername(username)
+            UserPrincipal adminUser = userPrincipalCache.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("管理员用户信息不存在"));
             
             // 查找审核记录
@@ -147,6 +194,9 @@ public class AdminController {
             // 保存更新后的审核记录
             reviewRepository.save(review);
             
+            // 推送审核结果给在线的申请学生
+            notificationService.reviewDecided(review.getStudent().getId(), review.getId(), review.getReviewStatus());
+            
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "处理申请时发生错误: " + e.getMessage());
         }
@@ -155,40 +205,118 @@ public class AdminController {
     }
     
     /**
-     * 显示用户管理页面
+     * 批量审核（评审列表勾选提交），每项格式为"申请ID:版本号"
      */
-    @GetMapping("/user-management")
-    public String userManagement(Model model, @RequestParam(value = "keyword", required = false) String keyword) {
-        // 获取用户列表（支持搜索）
-        List<User> allUsers;
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            // 搜索用户
-            allUsers = userRepository.searchUsers(keyword.trim());
-        } else {
-            // 获取所有未删除的用户
-            allUsers = userRepository.findAllActiveUsers();
-        }
+    @PostMapping("/reviews/bulk")
+    public String processReviewsInBulk(
+            @RequestParam(value = "items", required = false) List<String> items,
+            @RequestParam("action") String action,
+            @RequestParam(value = "comments", required = false) String comments,
+            Authentication authentication,
+            RedirectAttributes redirectAttributes) {
         
-        // 统计各类型用户数量
-        long adminCount = allUsers.stream().filter(u -> User.UserType.ADMIN.equals(u.getUserType())).count();
-        long teacherCount = allUsers.stream().filter(u -> User.UserType.TEACHER.equals(u.getUserType())).count();
-        long studentCount = allUsers.stream().filter(u -> User.UserType.STUDENT.equals(u.getUserType())).count();
+        if (items == null || items.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "请先勾选需要处理的申请");
+            return "redirect:/admin/reviews";
+        }
         
-        // 统计用户状态数量
-        long activeCount = allUsers.stream().filter(u -> User.UserStatus.ACTIVE.equals(u.getStatus())).count();
-        long inactiveCount = allUsers.stream().filter(u -> User.UserStatus.INACTIVE.equals(u.getStatus())).count();
+        try {
+            UserPrincipal adminUser = userPrincipalCache.findByUsername(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("管理员用户信息不存在"));
+            
+            List<Long> reviewIds = new ArrayList<>();
+            Map<Long, Integer> versions = new HashMap<>();
+            for (String item : items) {
+                String[] parts = item.split(":", 2);
+                Long reviewId = Long.valueOf(parts[0].trim());
+                reviewIds.add(reviewId);
+                if (parts.length == 2 && !parts[1].trim().isEmpty()) {
+                    versions.put(reviewId, Integer.valueOf(parts[1].trim()));
+                }
+            }
+            
+            BulkDecisionResult result = reviewService.decideReviews(reviewIds, versions, action, comments, adminUser.getId());
+            redirectAttributes.addFlashAttribute("successMessage", "批量处理完成：成功 " + result.getUpdatedCount() + " 份");
+            if (result.getConflictCount() > 0) {
+                String conflicts = result.getItems().stream()
+                        .filter(item -> item.getOutcome() != BulkDecisionResult.Outcome.UPDATED)
+                        .map(item -> "#REV" + item.getReviewId() + "（" + item.getMessage() + "）")
+                        .collect(Collectors.joining("，"));
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "以下 " + result.getConflictCount() + " 份申请未处理：" + conflicts);
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "批量处理申请时发生错误: " + e.getMessage());
+        }
         
-        // 添加到模型
-        model.addAttribute("users", allUsers);
-        model.addAttribute("adminCount", adminCount);
-        model.addAttribute("teacherCount", teacherCount);
-        model.addAttribute("studentCount", studentCount);
-        model.addAttribute("activeCount", activeCount);
-        model.addAttribute("inactiveCount", inactiveCount);
-        model.addAttribute("totalCount", allUsers.size());
+        return "redirect:/admin/reviews";
+    }
+    
+    /**
+     * 批量审核API，返回每份申请的处理结果
+     */
+    @PostMapping("/api/reviews/decisions")
+    public ResponseEntity<?> decideReviews(@RequestBody BulkDecisionRequest request, Authentication authentication) {
+        if (request.getReviewIds() == null || request.getReviewIds().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "申请ID列表不能为空"));
+        }
+        try {
+            UserPrincipal adminUser = userPrincipalCache.findByUsername(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("管理员用户信息不存在"));
+            BulkDecisionResult result = reviewService.decideReviews(request.getReviewIds(),
+                    request.getVersions() != null ? request.getVersions() : Map.of(),
+                    request.getAction(), request.getComments(), adminUser.getId());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 显示用户管理页面（分页列表，统计由一次分组查询得出，与用户总量无关）
+     */
+    @GetMapping("/user-management")
+    public String userManagement(Model model,
+                                 @RequestParam(value = "keyword", required = false) String keyword,
+                                 @RequestParam(value = "page", defaultValue = "0") int page,
+                                 @RequestParam(value = "size", defaultValue = "20") int size,
+                                 @RequestParam(value = "sort", defaultValue = "id") String sort,
+                                 @RequestParam(value = "dir", defaultValue = "asc") String dir) {
+        // 只允许按列表中的列排序，每页条数限制在 [1, 100]
+        String sortProperty = USER_SORT_PROPERTIES.contains(sort) ? sort : "id";
+        Sort.Direction direction = "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        int pageSize = Math.max(1, Math.min(size, MAX_USER_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        // 各类型、各状态的用户数：一次按类型和状态分组的聚合查询
+        UserStats stats = userService.getUserStats();
+
+        Page<User> users;
+        String trimmedKeyword = keyword != null ? keyword.trim() : "";
+        if (!trimmedKeyword.isEmpty()) {
+            // 通过搜索索引查找用户，按相关度排序
+            users = searchService.searchUsers(trimmedKeyword, PageRequest.of(pageNumber, pageSize));
+        } else {
+            // 按ID作为次序键，排序列取值相同的行在翻页时顺序稳定；总数取自统计，不再执行 COUNT 查询
+            Sort order = Sort.by(direction, sortProperty);
+            if (!"id".equals(sortProperty)) {
+                order = order.and(Sort.by(direction, "id"));
+            }
+            // 超出末页时显示末页
+            long total = stats.getTotalCount();
+            int lastPage = (int) (Math.max(total - 1, 0) / pageSize);
+            users = userService.findAll(PageRequest.of(Math.min(pageNumber, lastPage), pageSize, order), total);
+        }
+
+        model.addAttribute("users", users.getContent());
+        model.addAttribute("page", users);
+        model.addAttribute("stats", stats);
+        model.addAttribute("sort", sortProperty);
+        model.addAttribute("dir", direction == Sort.Direction.DESC ? "desc" : "asc");
+        model.addAttribute("size", pageSize);
         model.addAttribute("pageTitle", "用户管理");
-        model.addAttribute("keyword", keyword != null ? keyword.trim() : "");
-        
+        model.addAttribute("keyword", trimmedKeyword);
+
         return "admin/user-management";
     }
     
@@ -208,6 +336,7 @@ public class AdminController {
             // 更新用户状态
             user.setStatus(User.UserStatus.valueOf(status));
             userRepository.save(user);
+            userPrincipalCache.invalidate(user);
             
             redirectAttributes.addFlashAttribute("successMessage", "用户状态已更新");
         } catch (Exception e) {
@@ -233,6 +362,7 @@ public class AdminController {
             // 更新用户类型
             user.setUserType(User.UserType.valueOf(userType));
             userRepository.save(user);
+            userPrincipalCache.invalidate(user);
             
             redirectAttributes.addFlashAttribute("successMessage", "用户权限已更新");
         } catch (Exception e) {
@@ -253,8 +383,55 @@ public class AdminController {
         // 将密码重置为123456并加密
         user.setPassword(passwordEncoder.encode("123456"));
         userRepository.save(user);
+        userPrincipalCache.invalidate(user);
         
         redirectAttributes.addFlashAttribute("message", "用户密码已成功重置为默认密码123456");
         return "redirect:/admin/user-management";
     }
+    
+    /**
+     * 批量审核请求DTO
+     */
+    static class BulkDecisionRequest {
+        private List<Long> reviewIds;
+        private Map<Long, Integer> versions;
+        private String action;
+        private String comments;
+        
+        // Getters and Setters
+        public List<Long> getReviewIds() {
+            return reviewIds;
+        }
+        
+        public void setReviewIds(List<Long> reviewIds) {
+            this.reviewIds = reviewIds;
+        }
+        
+        /**
+         * 申请ID -> 调用方所见的版本号，可为空
+         */
+        public Map<Long, Integer> getVersions() {
+            return versions;
+        }
+        
+        public void setVersions(Map<Long, Integer> versions) {
+            this.versions = versions;
+        }
+        
+        public String getAction() {
+            return action;
+        }
+        
+        public void setAction(String action) {
+            this.action = action;
+        }
+        
+        public String getComments() {
+            return comments;
+        }
+        
+        public void setComments(String comments) {
+            this.comments = comments;
+        }
+    }
 }
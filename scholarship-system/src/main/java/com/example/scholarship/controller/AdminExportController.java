@@ -0,0 +1,69 @@
+package com.example.scholarship.controller;
+
+import com.example.scholarship.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 管理员数据导出控制器
+ * 以 StreamingResponseBody 边查边写，响应在独立线程中输出，不占用请求线程
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Controller
+@RequestMapping("/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * 导出评审记录，支持与审核页面相同的关键词过滤
+     */
+    @GetMapping("/reviews/export")
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "format", required = false) String format) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return download("评审记录", exportFormat,
+                out -> exportService.exportReviews(keyword, exportFormat, out));
+    }
+
+    /**
+     * 导出获奖名单，可按奖学金类型过滤
+     */
+    @GetMapping("/awards/export")
+    public ResponseEntity<StreamingResponseBody> exportAwardList(
+            @RequestParam(value = "scholarshipTypeId", required = false) Long scholarshipTypeId,
+            @RequestParam(value = "format", required = false) String format) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return download("获奖名单", exportFormat,
+                out -> exportService.exportAwardList(scholarshipTypeId, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportService.Format format,
+                                                           StreamingResponseBody body) {
+        String fileName = name + "_" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+}
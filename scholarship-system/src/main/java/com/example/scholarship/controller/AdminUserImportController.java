@@ -0,0 +1,129 @@
+package com.example.scholarship.controller;
+
+import com.example.scholarship.dto.ImportProgress;
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.service.UserImportService;
+import com.example.scholarship.service.impl.UserPrincipalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 管理员批量导入用户控制器
+ * 上传CSV/XLSX后在后台导入，页面轮询进度
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Controller
+@RequestMapping("/admin/user-import")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserImportController {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    /**
+     * 导入页面，指定任务时显示该任务的进度和行错误
+     */
+    @GetMapping
+    public String importPage(@RequestParam(value = "jobId", required = false) String jobId, Model model) {
+        if (jobId != null) {
+            userImportService.getProgress(jobId).ifPresent(job -> model.addAttribute("job", job));
+        }
+        model.addAttribute("recentJobs", userImportService.getRecentJobs());
+        model.addAttribute("pageTitle", "批量导入用户");
+        return "admin/user-import";
+    }
+
+    /**
+     * 上传文件并开始导入
+     */
+    @PostMapping
+    public String upload(@RequestParam("file") MultipartFile file,
+                         Authentication authentication,
+                         RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "请选择要导入的文件");
+            return "redirect:/admin/user-import";
+        }
+        try (InputStream content = file.getInputStream()) {
+            Long operatorId = userPrincipalCache.findByUsername(authentication.getName())
+                    .map(UserPrincipal::getId).orElse(null);
+            ImportProgress job = userImportService.startImport(file.getOriginalFilename(), content, operatorId);
+            redirectAttributes.addFlashAttribute("successMessage", "文件已上传，正在后台导入");
+            return "redirect:/admin/user-import?jobId=" + job.getJobId();
+        } catch (IllegalArgumentException | IOException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "导入失败: " + e.getMessage());
+            return "redirect:/admin/user-import";
+        }
+    }
+
+    /**
+     * 继续失败或已取消的任务
+     */
+    @PostMapping("/{jobId}/resume")
+    public String resume(@PathVariable String jobId, RedirectAttributes redirectAttributes) {
+        try {
+            userImportService.resumeImport(jobId);
+            redirectAttributes.addFlashAttribute("successMessage", "已继续导入");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/admin/user-import?jobId=" + jobId;
+    }
+
+    /**
+     * 取消任务
+     */
+    @PostMapping("/{jobId}/cancel")
+    public String cancel(@PathVariable String jobId, RedirectAttributes redirectAttributes) {
+        userImportService.cancelImport(jobId);
+        redirectAttributes.addFlashAttribute("successMessage", "已请求取消，当前块处理完后停止");
+        return "redirect:/admin/user-import?jobId=" + jobId;
+    }
+
+    /**
+     * 任务进度（不含行错误明细），供页面轮询
+     */
+    @GetMapping("/{jobId}/progress")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> progress(@PathVariable String jobId) {
+        return userImportService.getProgress(jobId)
+                .map(job -> {
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("jobId", job.getJobId());
+                    result.put("status", job.getStatus().name());
+                    result.put("statusDescription", job.getStatus().getDescription());
+                    result.put("finished", job.isFinished());
+                    result.put("processedRows", job.getProcessedRows());
+                    result.put("imported", job.getImported());
+                    result.put("skipped", job.getSkipped());
+                    result.put("failed", job.getFailed());
+                    result.put("committedRow", job.getCommittedRow());
+                    result.put("rowsPerSecond", job.getRowsPerSecond());
+                    result.put("message", job.getMessage());
+                    return ResponseEntity.ok(result);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,17 +1,20 @@
 package com.example.scholarship.controller;
 
+import com.example.scholarship.dto.AnnouncementFeed;
+import com.example.scholarship.dto.AnnouncementSummary;
+import com.example.scholarship.dto.UserPrincipal;
 import com.example.scholarship.entity.Announcement;
-import com.example.scholarship.entity.User;
-import com.example.scholarship.repository.AnnouncementRepository;
-import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.AnnouncementService;
+import com.example.scholarship.service.impl.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -26,18 +29,44 @@ import java.util.Map;
 public class AnnouncementController {
 
     @Autowired
-    private AnnouncementRepository announcementRepository;
+    private AnnouncementService announcementService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserPrincipalCache userPrincipalCache;
 
     /**
-     * 获取所有公告（公开，无需权限）
+     * 获取所有未删除公告的摘要（公开，无需权限）
+     * 带ETag，客户端以 If-None-Match 重新请求且列表未变化时返回304
      */
     @GetMapping
-    public ResponseEntity<List<Announcement>> getAllAnnouncements() {
-        List<Announcement> announcements = announcementRepository.findAll();
-        return ResponseEntity.ok(announcements);
+    public ResponseEntity<List<AnnouncementSummary>> getAllAnnouncements(WebRequest request) {
+        AnnouncementFeed feed = announcementService.getFeed();
+        if (request.checkNotModified(feed.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(feed.getItems());
+    }
+
+    /**
+     * 获取公告详情（含完整正文），ETag 为公告ID和版本号
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Announcement> getAnnouncement(@PathVariable Long id, WebRequest request) {
+        Announcement announcement = announcementService.findById(id);
+        if (announcement == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"ann-" + announcement.getId() + "-v" + announcement.getVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(announcement);
     }
 
     /**
@@ -51,18 +80,12 @@ public class AnnouncementController {
         
         // 获取当前登录的管理员用户
         String username = authentication.getName();
-        User adminUser = userRepository.findByUsername(username)
+        UserPrincipal adminUser = userPrincipalCache.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("管理员用户信息不存在"));
         
-        // 创建公告对象
-        Announcement announcement = new Announcement();
-        announcement.setTitle(requestBody.get("title"));
-        announcement.setContent(requestBody.get("content"));
-        announcement.setPublishedBy(adminUser.getId());
-        announcement.setPublishedAt(LocalDateTime.now());
-        
-        // 保存公告
-        Announcement savedAnnouncement = announcementRepository.save(announcement);
+        // 发布公告，事务提交后公告列表缓存失效
+        Announcement savedAnnouncement = announcementService.publish(
+                requestBody.get("title"), requestBody.get("content"), adminUser.getId());
         
         return ResponseEntity.ok(savedAnnouncement);
     }
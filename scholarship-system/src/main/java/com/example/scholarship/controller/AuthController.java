@@ -1,19 +1,18 @@
 package com.example.scholarship.controller;
 
+import com.example.scholarship.dto.CurrentStudent;
+import com.example.scholarship.dto.AnnouncementFeed;
 import com.example.scholarship.entity.Announcement;
-import com.example.scholarship.entity.Student;
-import com.example.scholarship.entity.User;
-import com.example.scholarship.repository.AnnouncementRepository;
-import com.example.scholarship.repository.StudentRepository;
-import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.AnnouncementService;
+import com.example.scholarship.service.impl.FragmentCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import java.util.List;
+import java.util.Map;
 
 /**
  * 登录控制器
@@ -25,13 +24,10 @@ import java.util.List;
 public class AuthController {
 
     @Autowired
-    private UserRepository userRepository;
+    private AnnouncementService announcementService;
 
     @Autowired
-    private StudentRepository studentRepository;
-    
-    @Autowired
-    private AnnouncementRepository announcementRepository;
+    private FragmentCache fragmentCache;
 
     /**
      * 登录页面
@@ -53,26 +49,22 @@ public class AuthController {
      * 学生仪表板
      */
     @GetMapping("/student/dashboard")
-    public String studentDashboard(Authentication authentication, Model model) {
+    public String studentDashboard(CurrentStudent currentStudent, Model model,
+                                   HttpServletRequest request, HttpServletResponse response) {
         try {
-            // 获取当前登录用户
-            String username = authentication.getName();
-            
-            // 通过用户名查找用户
-            User currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("用户信息不存在"));
-
-            // 查找关联的学生信息
-            Student student = studentRepository.findByUser(currentUser)
-                    .orElseThrow(() -> new RuntimeException("学生信息不存在"));
+            // 当前学生由参数解析器从会话快照中取得
+            if (currentStudent == null) {
+                throw new RuntimeException("学生信息不存在");
+            }
 
             // 添加学生姓名到模型
-            model.addAttribute("studentName", student.getName());
+            model.addAttribute("studentName", currentStudent.getName());
             model.addAttribute("pageTitle", "学生仪表板");
             
-            // 获取未删除的公告列表，按发布时间倒序排列
-            List<Announcement> announcements = announcementRepository.findByDeletedIsFalse(Sort.by(Sort.Direction.DESC, "publishedAt"));
-            model.addAttribute("announcements", announcements);
+            // 公告列表对所有学生相同，按快照的 etag 缓存渲染结果，发布或删除公告后 etag 改变
+            AnnouncementFeed feed = announcementService.getFeed();
+            model.addAttribute("announcementsHtml", fragmentCache.render("student/dashboard", "announcementList",
+                    feed.getEtag(), Map.of("announcements", feed.getItems()), request, response));
             
             return "student/dashboard";
             
@@ -88,25 +80,19 @@ public class AuthController {
      * 查看公告详情
      */
     @GetMapping("/student/announcement/{id}")
-    public String viewAnnouncement(@PathVariable Long id, Authentication authentication, Model model) {
+    public String viewAnnouncement(@PathVariable Long id, CurrentStudent currentStudent, Model model) {
         try {
-            // 获取当前登录用户
-            String username = authentication.getName();
-            
-            // 通过用户名查找用户
-            User currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("用户信息不存在"));
-
-            // 查找关联的学生信息
-            Student student = studentRepository.findByUser(currentUser)
-                    .orElseThrow(() -> new RuntimeException("学生信息不存在"));
+            // 当前学生由参数解析器从会话快照中取得
+            if (currentStudent == null) {
+                throw new RuntimeException("学生信息不存在");
+            }
 
             // 添加学生姓名到模型
-            model.addAttribute("studentName", student.getName());
+            model.addAttribute("studentName", currentStudent.getName());
             model.addAttribute("pageTitle", "公告详情");
             
             // 获取未删除的公告详情
-            Announcement announcement = announcementRepository.findByIdAndDeletedIsFalse(id);
+            Announcement announcement = announcementService.findById(id);
             if (announcement == null) {
                 throw new RuntimeException("公告不存在或已被删除");
             }
@@ -0,0 +1,44 @@
+package com.example.scholarship.controller;
+
+import com.example.scholarship.dto.CurrentStudent;
+import com.example.scholarship.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 学生实时通知控制器
+ * 学生页面用 EventSource 订阅，审核结果和新公告发布时由服务端推送，取代反复刷新页面
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Controller
+@RequestMapping("/student")
+@PreAuthorize("hasRole('STUDENT')")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    /**
+     * 通知事件流：review（本人申请的审核结果）、announcement（新公告）、resync（需要整页刷新）
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(CurrentStudent currentStudent,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long studentId = currentStudent != null ? currentStudent.getId() : null;
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // 关闭反向代理（如Nginx）的响应缓冲，事件才能即时到达浏览器
+                .header("X-Accel-Buffering", "no")
+                .body(notificationService.subscribe(studentId, lastEventId));
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.scholarship.controller;
+
+import com.example.scholarship.dto.CurrentStudent;
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.entity.ReviewDocument;
+import com.example.scholarship.service.ReviewDocumentService;
+import com.example.scholarship.service.impl.UserPrincipalCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+
+/**
+ * 申请证明材料控制器
+ * 上传：multipart 文件由容器直接写入临时文件（file-size-threshold 为 0），再以流的方式复制到材料目录，不在内存中缓存。
+ * 下载：支持条件请求（ETag 为内容摘要）和单段 Range 请求；容器支持 sendfile 时由 Tomcat 在请求结束后
+ * 以 sendfile 直接从文件发送到套接字，否则以 FileChannel.transferTo 输出。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Controller
+public class ReviewDocumentController {
+
+    /**
+     * 小于该大小的文件直接输出，与 Tomcat DefaultServlet 使用 sendfile 的阈值相同
+     */
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ReviewDocumentService reviewDocumentService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    /**
+     * 为待审核的申请上传证明材料
+     */
+    @PostMapping("/student/my-applications/{reviewId}/documents")
+    @PreAuthorize("hasRole('STUDENT')")
+    public String upload(@PathVariable Long reviewId, @RequestParam("file") MultipartFile file,
+                         CurrentStudent currentStudent, RedirectAttributes redirectAttributes) {
+        if (currentStudent == null) {
+            redirectAttributes.addFlashAttribute("errorMessage", "未找到学生信息，请联系管理员");
+            return "redirect:/student/my-applications";
+        }
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "请选择要上传的文件");
+            return "redirect:/student/my-applications";
+        }
+        try (InputStream content = file.getInputStream()) {
+            ReviewDocument document = reviewDocumentService.upload(reviewId, currentStudent.getId(),
+                    currentStudent.getUserId(), file.getOriginalFilename(), content);
+            redirectAttributes.addFlashAttribute("successMessage", "材料 " + document.getOriginalName() + " 上传成功");
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "上传材料失败: " + e.getMessage());
+        }
+        return "redirect:/student/my-applications";
+    }
+
+    /**
+     * 删除待审核申请的材料
+     */
+    @PostMapping("/student/my-applications/documents/{id}/delete")
+    @PreAuthorize("hasRole('STUDENT')")
+    public String delete(@PathVariable Long id, CurrentStudent currentStudent, RedirectAttributes redirectAttributes) {
+        try {
+            if (currentStudent == null) {
+                throw new IllegalStateException("未找到学生信息，请联系管理员");
+            }
+            reviewDocumentService.delete(id, currentStudent.getId());
+            redirectAttributes.addFlashAttribute("successMessage", "材料已删除");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "删除材料失败: " + e.getMessage());
+        }
+        return "redirect:/student/my-applications";
+    }
+
+    /**
+     * 下载材料，申请人本人、管理员或该申请的评审人可访问
+     */
+    @GetMapping("/documents/{id}")
+    public void download(@PathVariable Long id, Authentication authentication,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserPrincipal user = userPrincipalCache.findByUsername(authentication.getName())
+                .orElseThrow(() -> new AccessDeniedException("用户信息不存在"));
+        ReviewDocument document = reviewDocumentService.findForDownload(id, user).orElse(null);
+        Path path = document != null ? reviewDocumentService.resolvePath(document) : null;
+        if (path == null || !Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(path);
+        String etag = "\"" + document.getSha256() + "\"";
+        long lastModified = document.getCreatedAt() != null
+                ? document.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : Files.getLastModifiedTime(path).toMillis();
+        // 处理 If-None-Match / If-Modified-Since（304）及 If-Match / If-Unmodified-Since（412），并写入 ETag、Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // 浏览器可以保存，但每次使用前以 ETag 重新验证；同时阻止 Spring Security 写入 no-store
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setContentType(document.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(document.getOriginalName(), StandardCharsets.UTF_8).build().toString());
+
+        ByteRange range = ByteRange.parse(request.getHeader(HttpHeaders.RANGE), length);
+        if (range != null && !ifRangeMatches(request, etag, lastModified)) {
+            range = null;
+        }
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        long start = 0;
+        long count = length;
+        if (range != null) {
+            start = range.start;
+            count = range.end - range.start + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start + "-" + range.end + "/" + length);
+        }
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        send(path, start, count, request, response);
+    }
+
+    /**
+     * 容器支持时交给 Tomcat 以 sendfile 发送（请求处理结束后执行，文件内容不经过JVM堆），
+     * 否则以 FileChannel.transferTo 写出
+     */
+    private void send(Path path, long start, long count, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * 没有 If-Range，或 If-Range 与当前 ETag（或最后修改时间）一致时才按 Range 返回部分内容
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+        return date != -1 && lastModified / 1000 <= date / 1000;
+    }
+
+    /**
+     * 单段字节范围；多段范围按完整内容返回（规范允许忽略 Range）
+     */
+    private static final class ByteRange {
+
+        private static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        private final long start;
+        private final long end;
+
+        private ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * 解析 bytes=a-b、bytes=a-、bytes=-n；格式不支持时返回 null，按完整内容返回
+         */
+        private static ByteRange parse(String header, long length) {
+            if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+                return null;
+            }
+            String spec = header.substring("bytes=".length()).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                String first = spec.substring(0, dash).trim();
+                String last = spec.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    long suffix = Long.parseLong(last);
+                    if (suffix <= 0 || length == 0) {
+                        return UNSATISFIABLE;
+                    }
+                    return new ByteRange(Math.max(0, length - suffix), length - 1);
+                }
+                long start = Long.parseLong(first);
+                long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (start >= length) {
+                    return UNSATISFIABLE;
+                }
+                return end < start ? null : new ByteRange(start, end);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.scholarship.controller;
 
-import com.example.scholarship.entity.AcademicRecord;
+import com.example.scholarship.dto.AcademicStats;
+import com.example.scholarship.dto.CurrentStudent;
 import com.example.scholarship.entity.Student;
 import com.example.scholarship.entity.User;
 import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.AcademicSummaryService;
 import com.example.scholarship.service.StudentService;
+import com.example.scholarship.service.impl.UserPrincipalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,11 +22,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * 学生信息控制器
  * 
@@ -41,6 +39,12 @@ public class StudentController {
     
     @Autowired
     private StudentService studentService;
+
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -57,67 +61,24 @@ public class StudentController {
      */
     @GetMapping("/profile")
     @PreAuthorize("hasRole('STUDENT')")
-    public String studentProfile(Authentication authentication, Model model) {
+    public String studentProfile(CurrentStudent currentStudent, Model model) {
         try {
-            // 获取当前登录用户
-            String username = authentication.getName();
-            log.info("开始处理学生个人资料页面请求，用户: {}", username);
-            
-            // 通过用户名查找用户
-            User currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> {
-                        log.error("找不到用户: {}", username);
-                        return new RuntimeException("用户信息不存在");
-                    });
-            log.info("成功找到用户: {}, 用户ID: {}", username, currentUser.getId());
+            if (currentStudent == null) {
+                throw new RuntimeException("学生信息不存在");
+            }
+            log.info("开始处理学生个人资料页面请求，学生ID: {}", currentStudent.getId());
 
-            // 使用StudentService通过userId获取学生信息及其关联的学业记录
-            Student student = studentService.findByUserId(currentUser.getId())
+            // 按主键加载学生基本信息，不再抓取全部学业记录
+            Student student = studentService.findById(currentStudent.getId())
                     .orElseThrow(() -> {
-                        log.error("找不到用户 {} 对应的学生信息", username);
+                        log.error("找不到学生信息: {}", currentStudent.getId());
                         return new RuntimeException("学生信息不存在");
                     });
-            log.info("成功找到学生信息: {}, 学生ID: {}", student.getName(), student.getId());
-            
-            // 从Student对象中获取关联的学业记录，确保不为null
-            List<AcademicRecord> academicRecords = student.getAcademicRecords();
-            if (academicRecords == null) {
-                academicRecords = java.util.Collections.emptyList();
-            }
-            log.info("找到学业记录数量: {}", academicRecords.size());
 
-            // 计算GPA平均分、总学分和优秀课程数量
-            double averageGpa = 0.0;
-            double totalCredits = 0.0;
-            int excellentCourseCount = 0;
-            
-            if (!academicRecords.isEmpty()) {
-                double totalGpa = 0.0;
-                for (AcademicRecord record : academicRecords) {
-                    if (record.getGpa() != null) {
-                        totalGpa += record.getGpa().doubleValue();
-                        if (record.getGpa().compareTo(new BigDecimal("3.5")) >= 0) {
-                            excellentCourseCount++;
-                        }
-                    }
-                    if (record.getCredit() != null) {
-                        totalCredits += record.getCredit().doubleValue();
-                    }
-                }
-                averageGpa = totalGpa / academicRecords.size();
-            }
-            
-            averageGpa = Math.round(averageGpa * 100.0) / 100.0;
-            totalCredits = Math.round(totalCredits * 100.0) / 100.0;
-            
-            log.info("平均GPA: {}, 总学分: {}, 优秀课程数量: {}", averageGpa, totalCredits, excellentCourseCount);
-            
-            // 统计信息
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalCourses", academicRecords.size());
-            stats.put("averageGpa", averageGpa);
-            stats.put("totalCredits", totalCredits);
-            stats.put("excellentCourses", excellentCourseCount);
+            // 统计信息直接读取按学期预先汇总的结果
+            AcademicStats stats = academicSummaryService.getStudentStats(student.getId());
+            log.info("平均GPA: {}, 总学分: {}, 优秀课程数量: {}",
+                    stats.getAverageGpa(), stats.getTotalCredits(), stats.getExcellentCourses());
 
             // 添加个性化欢迎信息
             String welcomeMessage = "欢迎回来，" + student.getName() + "同学！";
@@ -126,7 +87,6 @@ public class StudentController {
             
             // 添加模型属性
             model.addAttribute("student", student);
-            model.addAttribute("academicRecords", academicRecords);
             model.addAttribute("stats", stats);
             model.addAttribute("pageTitle", "个人资料");
 
@@ -181,6 +141,7 @@ public class StudentController {
             // 更新密码
             currentUser.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(currentUser);
+            userPrincipalCache.invalidate(currentUser);
             log.info("用户 {} 密码修改成功", username);
             
             return "redirect:/student/profile?success";
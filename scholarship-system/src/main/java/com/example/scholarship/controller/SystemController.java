@@ -1,5 +1,10 @@
 package com.example.scholarship.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.CompositeHealth;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -19,6 +25,9 @@ import java.util.Map;
 @RequestMapping("/api/system")
 public class SystemController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
     /**
      * 系统信息
      */
@@ -36,20 +45,23 @@ public class SystemController {
     }
 
     /**
-     * 系统健康检查
+     * 系统健康检查，结果取自 Actuator 健康检查（数据库 SELECT 1、磁盘空间等），任一项异常时返回503
      */
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
+        HealthComponent result = healthEndpoint.health();
+        Map<String, Object> checks = new LinkedHashMap<>();
+        if (result instanceof CompositeHealth composite) {
+            composite.getComponents().forEach((name, component) -> checks.put(name, component.getStatus().getCode()));
+        }
+        
         Map<String, Object> health = new HashMap<>();
-        health.put("status", "UP");
+        health.put("status", result.getStatus().getCode());
         health.put("timestamp", System.currentTimeMillis());
-        health.put("checks", Map.of(
-            "database", "UP",
-            "memory", "UP",
-            "disk", "UP"
-        ));
+        health.put("checks", checks);
         
-        return ResponseEntity.ok(health);
+        HttpStatus httpStatus = Status.UP.equals(result.getStatus()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(httpStatus).body(health);
     }
 
     /**
@@ -1,10 +1,13 @@
 package com.example.scholarship.controller;
 
+import com.example.scholarship.config.DatabaseHealthIndicator;
 import com.example.scholarship.entity.User;
 import com.example.scholarship.entity.Student;
 import com.example.scholarship.repository.UserRepository;
 import com.example.scholarship.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -30,6 +33,9 @@ public class UserInfoController {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private DatabaseHealthIndicator databaseHealthIndicator;
+
     /**
      * 查询所有用户信息
      */
@@ -93,23 +99,18 @@ public class UserInfoController {
     }
 
     /**
-     * 验证数据库连接状态
+     * 验证数据库连接状态，与健康检查共用 SELECT 1 探测，不再对用户表和学生表做全表计数
      */
     @GetMapping("/db-status")
     public Map<String, Object> getDbStatus() {
         Map<String, Object> result = new HashMap<>();
         
-        try {
-            long userCount = userRepository.count();
-            long studentCount = studentRepository.count();
-            
-            result.put("userCount", userCount);
-            result.put("studentCount", studentCount);
+        Health health = databaseHealthIndicator.health();
+        result.putAll(health.getDetails());
+        if (Status.UP.equals(health.getStatus())) {
             result.put("databaseConnection", "Connected");
-            result.put("message", "数据库连接正常，数据状态确认");
-            
-        } catch (Exception e) {
-            result.put("error", e.getMessage());
+            result.put("message", "数据库连接正常");
+        } else {
             result.put("databaseConnection", "Disconnected");
             result.put("message", "数据库连接失败");
         }
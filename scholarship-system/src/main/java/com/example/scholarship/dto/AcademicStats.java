@@ -0,0 +1,53 @@
+package com.example.scholarship.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 学业统计
+ * 由学业汇总计算得到的课程数、平均绩点、总学分和优秀课程数
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class AcademicStats {
+
+    private static final AcademicStats EMPTY = new AcademicStats(0, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+    private final int totalCourses;
+    private final double averageGpa;
+    private final double totalCredits;
+    private final int excellentCourses;
+
+    public AcademicStats(long courseCount, BigDecimal gpaSum, BigDecimal creditSum, long excellentCount) {
+        this.totalCourses = (int) courseCount;
+        this.averageGpa = courseCount == 0 ? 0.0
+                : gpaSum.divide(BigDecimal.valueOf(courseCount), 2, RoundingMode.HALF_UP).doubleValue();
+        this.totalCredits = creditSum.setScale(2, RoundingMode.HALF_UP).doubleValue();
+        this.excellentCourses = (int) excellentCount;
+    }
+
+    /**
+     * 没有学业记录时的统计
+     */
+    public static AcademicStats empty() {
+        return EMPTY;
+    }
+
+    // Getters
+    public int getTotalCourses() {
+        return totalCourses;
+    }
+
+    public double getAverageGpa() {
+        return averageGpa;
+    }
+
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    public int getExcellentCourses() {
+        return excellentCourses;
+    }
+}
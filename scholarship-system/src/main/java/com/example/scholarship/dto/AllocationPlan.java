@@ -0,0 +1,192 @@
+package com.example.scholarship.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 奖学金名额分配方案
+ * 按各奖学金类型的预算和学院名额，对待审核申请给出通过或拒绝的结果
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class AllocationPlan {
+
+    private final List<TypeAllocation> allocations;
+    private final boolean committed;
+    private final int updatedCount;
+
+    public AllocationPlan(List<TypeAllocation> allocations, boolean committed, int updatedCount) {
+        this.allocations = allocations;
+        this.committed = committed;
+        this.updatedCount = updatedCount;
+    }
+
+    // Getters
+    public List<TypeAllocation> getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * 是否已写入数据库（否则为预览）
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * 实际更新的申请数，预览时为0；小于计划数说明期间有申请已被他人处理
+     */
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public int getApprovedCount() {
+        return allocations.stream().mapToInt(TypeAllocation::getApprovedCount).sum();
+    }
+
+    public int getRejectedCount() {
+        return allocations.stream().mapToInt(TypeAllocation::getRejectedCount).sum();
+    }
+
+    public BigDecimal getTotalSpent() {
+        return allocations.stream().map(TypeAllocation::getSpent).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * 单个奖学金类型的分配结果
+     */
+    public static class TypeAllocation {
+
+        private final Long scholarshipTypeId;
+        private final String scholarshipName;
+        private final BigDecimal amount;
+        private final BigDecimal budget;
+        private final int slots;
+        private final List<Decision> decisions;
+
+        public TypeAllocation(Long scholarshipTypeId, String scholarshipName, BigDecimal amount,
+                              BigDecimal budget, int slots, List<Decision> decisions) {
+            this.scholarshipTypeId = scholarshipTypeId;
+            this.scholarshipName = scholarshipName;
+            this.amount = amount;
+            this.budget = budget;
+            this.slots = slots;
+            this.decisions = decisions;
+        }
+
+        public Long getScholarshipTypeId() {
+            return scholarshipTypeId;
+        }
+
+        public String getScholarshipName() {
+            return scholarshipName;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public BigDecimal getBudget() {
+            return budget;
+        }
+
+        /**
+         * 预算可支持的获奖人数
+         */
+        public int getSlots() {
+            return slots;
+        }
+
+        /**
+         * 全部决定，通过的在前，各自按排名先后
+         */
+        public List<Decision> getDecisions() {
+            return decisions;
+        }
+
+        public int getApprovedCount() {
+            return (int) decisions.stream().filter(Decision::isApproved).count();
+        }
+
+        public int getRejectedCount() {
+            return decisions.size() - getApprovedCount();
+        }
+
+        public BigDecimal getSpent() {
+            return amount.multiply(BigDecimal.valueOf(getApprovedCount()));
+        }
+
+        public BigDecimal getRemaining() {
+            return budget.subtract(getSpent());
+        }
+    }
+
+    /**
+     * 单份申请的分配结果
+     */
+    public static class Decision {
+
+        private final Long reviewId;
+        private final Long studentId;
+        private final String studentName;
+        private final String studentNo;
+        private final String college;
+        private final double averageGpa;
+        private final double totalCredits;
+        private final boolean approved;
+        private final String reason;
+
+        public Decision(Long reviewId, Long studentId, String studentName, String studentNo, String college,
+                        double averageGpa, double totalCredits, boolean approved, String reason) {
+            this.reviewId = reviewId;
+            this.studentId = studentId;
+            this.studentName = studentName;
+            this.studentNo = studentNo;
+            this.college = college;
+            this.averageGpa = averageGpa;
+            this.totalCredits = totalCredits;
+            this.approved = approved;
+            this.reason = reason;
+        }
+
+        public Long getReviewId() {
+            return reviewId;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public String getStudentName() {
+            return studentName;
+        }
+
+        public String getStudentNo() {
+            return studentNo;
+        }
+
+        public String getCollege() {
+            return college;
+        }
+
+        public double getAverageGpa() {
+            return averageGpa;
+        }
+
+        public double getTotalCredits() {
+            return totalCredits;
+        }
+
+        public boolean isApproved() {
+            return approved;
+        }
+
+        /**
+         * 分配理由，写入评审意见
+         */
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.scholarship.dto;
+
+import java.util.List;
+
+/**
+ * 公告列表快照
+ * 不可变，发布或删除公告后整体替换；etag 由各公告的ID和版本号计算，内容不变则不变，多实例间一致
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public final class AnnouncementFeed {
+
+    private final List<AnnouncementSummary> items;
+    private final String etag;
+
+    public AnnouncementFeed(List<AnnouncementSummary> items) {
+        this.items = List.copyOf(items);
+        long hash = 1125899906842597L;
+        for (AnnouncementSummary item : this.items) {
+            hash = 31 * hash + item.getId();
+            hash = 31 * hash + (item.getVersion() != null ? item.getVersion() : 0);
+        }
+        this.etag = "\"ann-" + this.items.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    public List<AnnouncementSummary> getItems() {
+        return items;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.scholarship.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 公告摘要
+ * 列表只需要标题、发布时间和正文开头一段，不携带完整正文；由JPQL构造表达式直接生成
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public final class AnnouncementSummary {
+
+    /**
+     * 摘要截取的正文长度
+     */
+    public static final int SUMMARY_LENGTH = 200;
+
+    private final Long id;
+    private final String title;
+    private final String summary;
+    private final LocalDateTime publishedAt;
+    private final Long publishedBy;
+    private final Integer version;
+
+    public AnnouncementSummary(Long id, String title, String summary, LocalDateTime publishedAt,
+                               Long publishedBy, Integer version) {
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.publishedAt = publishedAt;
+        this.publishedBy = publishedBy;
+        this.version = version;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public Long getPublishedBy() {
+        return publishedBy;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.scholarship.dto;
+
+import java.util.List;
+
+/**
+ * 批量审核结果
+ * 逐条给出每份申请的处理结果，冲突的申请不影响其他申请的提交
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class BulkDecisionResult {
+
+    private final List<Item> items;
+
+    public BulkDecisionResult(List<Item> items) {
+        this.items = items;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public int getUpdatedCount() {
+        return (int) items.stream().filter(item -> item.getOutcome() == Outcome.UPDATED).count();
+    }
+
+    public int getConflictCount() {
+        return items.size() - getUpdatedCount();
+    }
+
+    /**
+     * 单份申请的处理结果类型
+     */
+    public enum Outcome {
+        UPDATED("已更新"),
+        NOT_FOUND("申请不存在"),
+        NOT_PENDING("申请已被处理"),
+        VERSION_CONFLICT("申请已被他人修改");
+
+        private final String description;
+
+        Outcome(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * 单份申请的处理结果
+     */
+    public static class Item {
+
+        private final Long reviewId;
+        private final Outcome outcome;
+        private final String reviewStatus;
+        private final Integer version;
+
+        public Item(Long reviewId, Outcome outcome, String reviewStatus, Integer version) {
+            this.reviewId = reviewId;
+            this.outcome = outcome;
+            this.reviewStatus = reviewStatus;
+            this.version = version;
+        }
+
+        public Long getReviewId() {
+            return reviewId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getMessage() {
+            return outcome.getDescription();
+        }
+
+        /**
+         * 处理后（或冲突时数据库中）的评审状态
+         */
+        public String getReviewStatus() {
+            return reviewStatus;
+        }
+
+        /**
+         * 处理后（或冲突时数据库中）的版本号
+         */
+        public Integer getVersion() {
+            return version;
+        }
+    }
+}
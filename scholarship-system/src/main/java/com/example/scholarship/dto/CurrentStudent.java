@@ -0,0 +1,69 @@
+package com.example.scholarship.dto;
+
+import java.io.Serializable;
+
+/**
+ * 当前登录学生快照
+ * 由 CurrentStudentArgumentResolver 解析并保存在会话中，同一会话内的后续请求无需再查询学生信息
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class CurrentStudent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final Long userId;
+    private final String username;
+    private final String name;
+    private final String studentNo;
+    private final String college;
+    private final String major;
+    private final String grade;
+
+    public CurrentStudent(Long id, Long userId, String username, String name, String studentNo,
+                          String college, String major, String grade) {
+        this.id = id;
+        this.userId = userId;
+        this.username = username;
+        this.name = name;
+        this.studentNo = studentNo;
+        this.college = college;
+        this.major = major;
+        this.grade = grade;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getStudentNo() {
+        return studentNo;
+    }
+
+    public String getCollege() {
+        return college;
+    }
+
+    public String getMajor() {
+        return major;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.scholarship.dto;
+
+import java.util.List;
+
+/**
+ * 奖学金资格排名
+ * 某一奖学金类型下满足申请条件的学生，按平均绩点、总学分降序排列
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class EligibilityRanking {
+
+    private final Long scholarshipTypeId;
+    private final String scholarshipName;
+    private final String eligibilityCriteria;
+    private final List<String> unverifiedConditions;
+    private final List<RankedStudent> students;
+
+    public EligibilityRanking(Long scholarshipTypeId, String scholarshipName, String eligibilityCriteria,
+                              List<String> unverifiedConditions, List<RankedStudent> students) {
+        this.scholarshipTypeId = scholarshipTypeId;
+        this.scholarshipName = scholarshipName;
+        this.eligibilityCriteria = eligibilityCriteria;
+        this.unverifiedConditions = unverifiedConditions;
+        this.students = students;
+    }
+
+    // Getters
+    public Long getScholarshipTypeId() {
+        return scholarshipTypeId;
+    }
+
+    public String getScholarshipName() {
+        return scholarshipName;
+    }
+
+    public String getEligibilityCriteria() {
+        return eligibilityCriteria;
+    }
+
+    /**
+     * 无法自动判断、需人工审核的条件
+     */
+    public List<String> getUnverifiedConditions() {
+        return unverifiedConditions;
+    }
+
+    public List<RankedStudent> getStudents() {
+        return students;
+    }
+
+    public int getEligibleCount() {
+        return students.size();
+    }
+
+    /**
+     * 排名中的学生
+     */
+    public static class RankedStudent {
+
+        private final int rank;
+        private final Long studentId;
+        private final double averageGpa;
+        private final double totalCredits;
+
+        public RankedStudent(int rank, Long studentId, double averageGpa, double totalCredits) {
+            this.rank = rank;
+            this.studentId = studentId;
+            this.averageGpa = averageGpa;
+            this.totalCredits = totalCredits;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public double getAverageGpa() {
+            return averageGpa;
+        }
+
+        public double getTotalCredits() {
+            return totalCredits;
+        }
+    }
+}
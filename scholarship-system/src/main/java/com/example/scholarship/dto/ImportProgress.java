@@ -0,0 +1,192 @@
+package com.example.scholarship.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量导入任务进度
+ * 由导入线程更新、页面轮询读取；行号与表格中的行号一致，表头为第1行
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class ImportProgress {
+
+    /**
+     * 最多保留的行错误数，超出部分只计数
+     */
+    public static final int MAX_ERRORS = 1000;
+
+    private final String jobId;
+    private final String fileName;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile int processedRows;
+    private volatile int imported;
+    private volatile int skipped;
+    private volatile int failed;
+    private volatile int committedRow;
+    private volatile String message;
+    private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+
+    public ImportProgress(String jobId, String fileName) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+    }
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        QUEUED("排队中"),
+        RUNNING("导入中"),
+        COMPLETED("已完成"),
+        FAILED("失败"),
+        CANCELLED("已取消");
+
+        private final String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * 单行错误
+     */
+    public static class RowError {
+        private final int rowNumber;
+        private final String key;
+        private final String message;
+
+        public RowError(int rowNumber, String key, String message) {
+            this.rowNumber = rowNumber;
+            this.key = key;
+            this.message = message;
+        }
+
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * 记录一个已提交块的处理结果，计数只在块提交后累加，续传时不会重复统计
+     */
+    public synchronized void recordChunk(int lastRow, int rows, int importedRows, int skippedRows,
+                                         List<RowError> rowErrors) {
+        processedRows += rows;
+        imported += importedRows;
+        skipped += skippedRows;
+        failed += rowErrors.size();
+        for (RowError error : rowErrors) {
+            if (errors.size() >= MAX_ERRORS) {
+                break;
+            }
+            errors.add(error);
+        }
+        committedRow = lastRow;
+    }
+
+    /**
+     * 任务是否已结束（完成、失败或取消）
+     */
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    /**
+     * 失败或取消的任务可以从最后提交的行之后继续
+     */
+    public boolean isResumable() {
+        return status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    /**
+     * 每秒处理的行数（含续传前的行）
+     */
+    public double getRowsPerSecond() {
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return Math.round(processedRows * 10000.0 / millis) / 10.0;
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public int getProcessedRows() {
+        return processedRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getCommittedRow() {
+        return committedRow;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+}
@@ -1,60 +1,192 @@
 package com.example.scholarship.dto;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 
 /**
  * 奖学金申请记录DTO
- * 
+ * 由JPQL构造表达式直接生成，一次查询带出学生与奖学金类型字段，避免懒加载N+1
+ *
  * @author System
  * @version 1.0.0
  */
 public class ReviewDto {
+    private Long id;
+    private Long studentId;
+    private String studentName;
+    private String studentNo;
+    private String college;
+    private Long scholarshipTypeId;
     private String scholarshipName;
+    private BigDecimal amount;
+    private String reviewStatus;
     private String status;
     private Date appliedAt;
+    private LocalDateTime createdAt;
     private String comments;
-    
+    private Long reviewerId;
+    private Integer version;
+
     // 构造函数
     public ReviewDto() {
     }
-    
+
     public ReviewDto(String scholarshipName, String status, Date appliedAt, String comments) {
         this.scholarshipName = scholarshipName;
         this.status = status;
         this.appliedAt = appliedAt;
         this.comments = comments;
     }
-    
+
+    /**
+     * JPQL投影构造函数
+     */
+    public ReviewDto(Long id, Long studentId, String studentName, String studentNo, String college,
+                     Long scholarshipTypeId, String scholarshipName, BigDecimal amount,
+                     String reviewStatus, String comments, LocalDateTime createdAt, Long reviewerId,
+                     Integer version) {
+        this.id = id;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.studentNo = studentNo;
+        this.college = college;
+        this.scholarshipTypeId = scholarshipTypeId;
+        this.scholarshipName = scholarshipName;
+        this.amount = amount;
+        this.reviewStatus = reviewStatus;
+        // 大写状态与模板约定一致
+        this.status = reviewStatus != null ? reviewStatus.toUpperCase() : null;
+        this.comments = comments;
+        this.createdAt = createdAt;
+        // 将LocalDateTime转换为java.util.Date以兼容Thymeleaf的#dates.format
+        this.appliedAt = createdAt != null ? Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()) : null;
+        this.reviewerId = reviewerId;
+        this.version = version;
+    }
+
     // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public String getStudentNo() {
+        return studentNo;
+    }
+
+    public void setStudentNo(String studentNo) {
+        this.studentNo = studentNo;
+    }
+
+    public String getCollege() {
+        return college;
+    }
+
+    public void setCollege(String college) {
+        this.college = college;
+    }
+
+    public Long getScholarshipTypeId() {
+        return scholarshipTypeId;
+    }
+
+    public void setScholarshipTypeId(Long scholarshipTypeId) {
+        this.scholarshipTypeId = scholarshipTypeId;
+    }
+
     public String getScholarshipName() {
         return scholarshipName;
     }
-    
+
     public void setScholarshipName(String scholarshipName) {
         this.scholarshipName = scholarshipName;
     }
-    
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReviewStatus() {
+        return reviewStatus;
+    }
+
+    public void setReviewStatus(String reviewStatus) {
+        this.reviewStatus = reviewStatus;
+    }
+
     public String getStatus() {
         return status;
     }
-    
+
     public void setStatus(String status) {
         this.status = status;
     }
-    
+
     public Date getAppliedAt() {
         return appliedAt;
     }
-    
+
     public void setAppliedAt(Date appliedAt) {
         this.appliedAt = appliedAt;
     }
-    
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
     public String getComments() {
         return comments;
     }
-    
+
     public void setComments(String comments) {
         this.comments = comments;
     }
-}
\ No newline at end of file
+
+    public Long getReviewerId() {
+        return reviewerId;
+    }
+
+    public void setReviewerId(Long reviewerId) {
+        this.reviewerId = reviewerId;
+    }
+
+    /**
+     * 乐观锁版本号，批量审核时用于检测并发修改
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+}
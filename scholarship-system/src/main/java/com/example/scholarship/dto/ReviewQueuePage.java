@@ -0,0 +1,76 @@
+package com.example.scholarship.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 评审队列分页结果（键集分页）
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class ReviewQueuePage<T> {
+    private List<T> items;
+    private boolean hasMore;
+    private Long nextCursorId;
+    private Map<String, Long> statusCounts;
+
+    // 构造函数
+    public ReviewQueuePage() {
+    }
+
+    public ReviewQueuePage(List<T> items, boolean hasMore, Long nextCursorId, Map<String, Long> statusCounts) {
+        this.items = items;
+        this.hasMore = hasMore;
+        this.nextCursorId = nextCursorId;
+        this.statusCounts = statusCounts;
+    }
+
+    /**
+     * 获取指定状态的申请数量
+     */
+    public long getCount(String status) {
+        Long count = statusCounts != null ? statusCounts.get(status) : null;
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * 获取所有状态的申请总数
+     */
+    public long getTotalCount() {
+        return statusCounts != null ? statusCounts.values().stream().mapToLong(Long::longValue).sum() : 0L;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Long getNextCursorId() {
+        return nextCursorId;
+    }
+
+    public void setNextCursorId(Long nextCursorId) {
+        this.nextCursorId = nextCursorId;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+}
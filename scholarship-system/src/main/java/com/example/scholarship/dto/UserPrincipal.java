@@ -0,0 +1,65 @@
+package com.example.scholarship.dto;
+
+import com.example.scholarship.entity.User;
+
+/**
+ * 登录用户快照
+ * 缓存中保存的不可变副本，不持有JPA实体，避免游离实体的懒加载和版本号问题
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public final class UserPrincipal {
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
+    private final String realName;
+    private final User.UserType userType;
+    private final User.UserStatus status;
+    private final boolean deleted;
+
+    public UserPrincipal(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.realName = user.getRealName();
+        this.userType = user.getUserType();
+        this.status = user.getStatus();
+        this.deleted = Boolean.TRUE.equals(user.getIsDeleted());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getRealName() {
+        return realName;
+    }
+
+    public User.UserType getUserType() {
+        return userType;
+    }
+
+    public User.UserStatus getStatus() {
+        return status;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
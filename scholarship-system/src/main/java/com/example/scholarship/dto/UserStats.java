@@ -0,0 +1,86 @@
+package com.example.scholarship.dto;
+
+import com.example.scholarship.entity.User;
+
+import java.util.List;
+
+/**
+ * 用户统计
+ * 由按用户类型 × 用户状态分组的计数构成，各类型、各状态的数量及总数都从同一组计数得出
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class UserStats {
+
+    private final long[][] counts = new long[User.UserType.values().length][User.UserStatus.values().length];
+
+    /**
+     * @param rows 分组查询结果，每行为 [用户类型, 用户状态, 数量]
+     */
+    public UserStats(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            counts[((User.UserType) row[0]).ordinal()][((User.UserStatus) row[1]).ordinal()] += ((Number) row[2]).longValue();
+        }
+    }
+
+    /**
+     * 指定类型、状态的用户数
+     */
+    public long getCount(User.UserType type, User.UserStatus status) {
+        return counts[type.ordinal()][status.ordinal()];
+    }
+
+    /**
+     * 指定类型的用户数
+     */
+    public long getTypeCount(User.UserType type) {
+        long total = 0;
+        for (long count : counts[type.ordinal()]) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 指定状态的用户数
+     */
+    public long getStatusCount(User.UserStatus status) {
+        long total = 0;
+        for (long[] byStatus : counts) {
+            total += byStatus[status.ordinal()];
+        }
+        return total;
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (User.UserType type : User.UserType.values()) {
+            total += getTypeCount(type);
+        }
+        return total;
+    }
+
+    public long getAdminCount() {
+        return getTypeCount(User.UserType.ADMIN);
+    }
+
+    public long getTeacherCount() {
+        return getTypeCount(User.UserType.TEACHER);
+    }
+
+    public long getStudentCount() {
+        return getTypeCount(User.UserType.STUDENT);
+    }
+
+    public long getActiveCount() {
+        return getStatusCount(User.UserStatus.ACTIVE);
+    }
+
+    /**
+     * 非活跃用户数（未激活、锁定、禁用）
+     */
+    public long getInactiveCount() {
+        return getTotalCount() - getActiveCount();
+    }
+}
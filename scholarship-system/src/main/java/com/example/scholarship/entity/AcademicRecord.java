@@ -19,6 +19,7 @@ import java.math.BigDecimal;
  * @version 1.0.0
  */
 @Entity
+@EntityListeners(AcademicRecordListener.class)
 @Table(name = "tbl_academic_record")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -55,5 +56,16 @@ public class AcademicRecord extends BaseEntity implements Serializable {
     @JoinColumn(name = "student_id", insertable = false, updatable = false)
     private Student student;
 
+    // 加载时的学生ID和学期，修改学期后用于重算原汇总（不持久化）
+    private transient Long loadedStudentId;
 
+    private transient String loadedSemester;
+
+    /**
+     * 记录当前的学生ID和学期
+     */
+    public void rememberLoadedKey() {
+        this.loadedStudentId = studentId;
+        this.loadedSemester = semester;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.scholarship.entity;
+
+import com.example.scholarship.service.AcademicSummaryService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Objects;
+
+/**
+ * 学业记录实体监听器
+ * 学业记录新增、修改或删除后通知汇总服务重新计算受影响的学生学期汇总；
+ * 修改了学生或学期时，原来的学生学期汇总也一并重算
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class AcademicRecordListener {
+
+    // 延迟获取，避免EntityManagerFactory初始化时的循环依赖
+    @Autowired
+    private ObjectProvider<AcademicSummaryService> academicSummaryServiceProvider;
+
+    @PostLoad
+    public void onLoaded(AcademicRecord record) {
+        record.rememberLoadedKey();
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(AcademicRecord record) {
+        AcademicSummaryService service = academicSummaryService();
+        if (service == null) {
+            return;
+        }
+        service.onRecordChanged(record.getStudentId(), record.getSemester());
+        if (record.getLoadedStudentId() != null
+                && (!Objects.equals(record.getLoadedStudentId(), record.getStudentId())
+                    || !Objects.equals(record.getLoadedSemester(), record.getSemester()))) {
+            service.onRecordChanged(record.getLoadedStudentId(), record.getLoadedSemester());
+        }
+        record.rememberLoadedKey();
+    }
+
+    @PostRemove
+    public void onRemoved(AcademicRecord record) {
+        AcademicSummaryService service = academicSummaryService();
+        if (service == null) {
+            return;
+        }
+        if (record.getLoadedStudentId() != null) {
+            service.onRecordChanged(record.getLoadedStudentId(), record.getLoadedSemester());
+        } else {
+            service.onRecordChanged(record.getStudentId(), record.getSemester());
+        }
+    }
+
+    private AcademicSummaryService academicSummaryService() {
+        return academicSummaryServiceProvider != null ? academicSummaryServiceProvider.getIfAvailable() : null;
+    }
+}
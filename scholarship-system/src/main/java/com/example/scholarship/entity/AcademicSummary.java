@@ -0,0 +1,45 @@
+package com.example.scholarship.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * 学业汇总实体类
+ * 按学生和学期预先汇总的课程数、绩点和、学分和及优秀课程数，由学业记录变更后重新计算，
+ * 个人资料和评定逻辑直接读取汇总值而无需扫描课程明细
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "tbl_academic_summary",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "semester"}))
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class AcademicSummary extends BaseEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "semester", nullable = false, length = 20)
+    private String semester;
+
+    @Column(name = "course_count", nullable = false)
+    private Integer courseCount = 0;
+
+    @Column(name = "gpa_sum", nullable = false, precision = 10, scale = 2)
+    private BigDecimal gpaSum = BigDecimal.ZERO;
+
+    @Column(name = "credit_sum", nullable = false, precision = 10, scale = 1)
+    private BigDecimal creditSum = BigDecimal.ZERO;
+
+    // GPA >= 3.5 的课程数
+    @Column(name = "excellent_count", nullable = false)
+    private Integer excellentCount = 0;
+}
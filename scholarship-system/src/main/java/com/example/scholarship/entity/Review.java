@@ -14,7 +14,10 @@ import java.io.Serializable;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "tbl_review")
+@Table(name = "tbl_review", indexes = {
+        // 按评审状态分组统计、筛选待审核申请
+        @Index(name = "idx_review_status", columnList = "review_status")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class Review extends BaseEntity implements Serializable {
@@ -0,0 +1,61 @@
+package com.example.scholarship.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * 申请证明材料实体类
+ * 学生为申请上传的成绩单、获奖证书等文件；文件内容存放在材料目录下，表中只记录元数据。
+ * 文件上传后不再修改，摘要同时用作下载的 ETag；删除申请时材料记录由外键级联删除
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "tbl_review_document", indexes = @Index(name = "idx_review_document_review", columnList = "review_id"))
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ReviewDocument extends BaseEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // 所属申请
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "review_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Review review;
+
+    // 所属申请ID，只读，按申请分组时不必加载申请
+    @Column(name = "review_id", insertable = false, updatable = false)
+    private Long reviewId;
+
+    // 上传时的文件名，仅用于显示和下载时的文件名
+    @Column(name = "original_name", nullable = false, length = 255)
+    private String originalName;
+
+    // 磁盘上的文件名（随机生成），位于材料目录下以申请ID命名的子目录中
+    @Column(name = "stored_name", nullable = false, length = 64)
+    private String storedName;
+
+    // 按扩展名确定的内容类型，不采用客户端声明的类型
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    // 文件内容的SHA-256（十六进制）
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    // 上传人用户ID
+    @Column(name = "uploaded_by")
+    private Long uploadedBy;
+}
@@ -17,6 +17,7 @@ import java.math.BigDecimal;
  * @version 1.0.0
  */
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "tbl_scholarship_type", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name"})
 })
@@ -0,0 +1,43 @@
+package com.example.scholarship.entity;
+
+import com.example.scholarship.service.SearchService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 搜索索引实体监听器
+ * 学生、用户、奖学金类型保存或删除后通知搜索服务增量更新索引
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class SearchIndexListener {
+
+    // 延迟获取，避免EntityManagerFactory初始化时的循环依赖
+    @Autowired
+    private ObjectProvider<SearchService> searchServiceProvider;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        SearchService searchService = searchService();
+        if (searchService != null) {
+            searchService.onEntitySaved(entity);
+        }
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        SearchService searchService = searchService();
+        if (searchService != null) {
+            searchService.onEntityRemoved(entity);
+        }
+    }
+
+    private SearchService searchService() {
+        return searchServiceProvider != null ? searchServiceProvider.getIfAvailable() : null;
+    }
+}
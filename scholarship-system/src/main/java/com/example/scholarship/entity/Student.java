@@ -19,6 +19,7 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "tbl_student")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -18,6 +18,7 @@ import java.util.Set;
  * @version 1.0.0
  */
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "tbl_user")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -0,0 +1,18 @@
+package com.example.scholarship.exception;
+
+/**
+ * 奖学金申请被规则拒绝
+ * 奖学金类型不存在、不符合申请条件、超过有效申请上限、已通过或重复申请时抛出，
+ * 消息直接展示给学生；锁等待超时、数据库错误等其他失败不使用该异常。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class ApplicationRefusedException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public ApplicationRefusedException(String message) {
+        super(message);
+    }
+}
@@ -56,4 +56,20 @@ public interface AcademicRecordRepository extends JpaRepository<AcademicRecord,
      */
     @Query("SELECT ar FROM AcademicRecord ar WHERE ar.student.id = :studentId AND ar.gpa >= 3.5 ORDER BY ar.gpa DESC")
     List<AcademicRecord> findExcellentCourses(@Param("studentId") Long studentId);
-}
\ No newline at end of file
+
+    /**
+     * 汇总指定学生学期的课程数、绩点和、学分和及优秀课程数（单行）
+     */
+    @Query("SELECT COUNT(ar), COALESCE(SUM(ar.gpa), 0), COALESCE(SUM(ar.credit), 0), " +
+           "COALESCE(SUM(CASE WHEN ar.gpa >= 3.5 THEN 1 ELSE 0 END), 0) " +
+           "FROM AcademicRecord ar WHERE ar.studentId = :studentId AND ar.semester = :semester")
+    List<Object[]> summarizeSemester(@Param("studentId") Long studentId, @Param("semester") String semester);
+
+    /**
+     * 按学生和学期分组汇总全部学业记录，用于重建汇总表
+     */
+    @Query("SELECT ar.studentId, ar.semester, COUNT(ar), SUM(ar.gpa), SUM(ar.credit), " +
+           "SUM(CASE WHEN ar.gpa >= 3.5 THEN 1 ELSE 0 END) " +
+           "FROM AcademicRecord ar GROUP BY ar.studentId, ar.semester")
+    List<Object[]> summarizeAllSemesters();
+}
@@ -0,0 +1,38 @@
+package com.example.scholarship.repository;
+
+import com.example.scholarship.entity.AcademicSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 学业汇总数据访问层接口
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Repository
+public interface AcademicSummaryRepository extends JpaRepository<AcademicSummary, Long> {
+
+    /**
+     * 查找指定学生学期的汇总
+     */
+    Optional<AcademicSummary> findByStudentIdAndSemester(Long studentId, String semester);
+
+    /**
+     * 查找学生各学期的汇总，按学期排序
+     */
+    List<AcademicSummary> findByStudentIdOrderBySemesterAsc(Long studentId);
+
+    /**
+     * 合计学生所有学期的课程数、绩点和、学分和及优秀课程数（单行）
+     */
+    @Query("SELECT COALESCE(SUM(s.courseCount), 0), COALESCE(SUM(s.gpaSum), 0), " +
+           "COALESCE(SUM(s.creditSum), 0), COALESCE(SUM(s.excellentCount), 0) " +
+           "FROM AcademicSummary s WHERE s.studentId = :studentId")
+    List<Object[]> summarizeStudent(@Param("studentId") Long studentId);
+}
@@ -1,8 +1,10 @@
 package com.example.scholarship.repository;
 
+import com.example.scholarship.dto.AnnouncementSummary;
 import com.example.scholarship.entity.Announcement;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -19,4 +21,10 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     
     // 根据ID查询未删除的公告
     Announcement findByIdAndDeletedIsFalse(Long id);
+    
+    // 查询未删除公告的摘要，按发布时间倒序；只截取正文开头，不读取完整TEXT
+    @Query("SELECT new com.example.scholarship.dto.AnnouncementSummary(a.id, a.title, " +
+           "SUBSTRING(a.content, 1, " + AnnouncementSummary.SUMMARY_LENGTH + "), a.publishedAt, a.publishedBy, a.version) " +
+           "FROM Announcement a WHERE a.deleted = false ORDER BY a.publishedAt DESC, a.id DESC")
+    List<AnnouncementSummary> findSummaries();
 }
@@ -0,0 +1,42 @@
+package com.example.scholarship.repository;
+
+import com.example.scholarship.entity.ReviewDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 申请证明材料数据访问层接口
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Repository
+public interface ReviewDocumentRepository extends JpaRepository<ReviewDocument, Long> {
+
+    /**
+     * 查找申请的材料，按上传顺序
+     */
+    List<ReviewDocument> findByReviewIdOrderByIdAsc(Long reviewId);
+
+    /**
+     * 批量查找多个申请的材料，按上传顺序
+     */
+    List<ReviewDocument> findByReviewIdInOrderByIdAsc(Collection<Long> reviewIds);
+
+    /**
+     * 申请已有的材料数
+     */
+    long countByReviewId(Long reviewId);
+
+    /**
+     * 查找材料，同时带出所属申请和学生，供权限检查使用
+     */
+    @Query("SELECT d FROM ReviewDocument d JOIN FETCH d.review r JOIN FETCH r.student WHERE d.id = :id")
+    Optional<ReviewDocument> findWithReviewById(@Param("id") Long id);
+}
@@ -1,12 +1,22 @@
 package com.example.scholarship.repository;
 
+import com.example.scholarship.dto.ReviewDto;
 import com.example.scholarship.entity.Review;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 评审数据访问层接口
@@ -27,23 +37,11 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      */
     Review findByStudentIdAndScholarshipTypeId(Long studentId, Long scholarshipTypeId);
     
-    /**
-     * 查找所有申请记录，按创建时间倒序
-     */
-    List<Review> findAllByOrderByCreatedAtDesc();
-    
     /**
      * 根据学生ID查找评审记录，按创建时间倒序
      */
     List<Review> findByStudentIdOrderByCreatedAtDesc(Long studentId);
     
-    /**
-     * 根据关键词搜索评审记录，按创建时间倒序
-     * 关键词匹配学生姓名或奖学金类型名称
-     */
-    @Query("SELECT r FROM Review r JOIN r.student s JOIN r.scholarshipType st WHERE s.name LIKE %:keyword% OR st.name LIKE %:keyword% ORDER BY r.createdAt DESC")
-    List<Review> searchReviewsByKeyword(@Param("keyword") String keyword);
-    
     /**
      * 查询特定学生当前有效申请（非rejected状态）的数量
      */
@@ -59,4 +57,162 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      * 检查学生是否已经通过该奖学金类型的申请
      */
     boolean existsByStudentIdAndScholarshipTypeIdAndReviewStatus(Long studentId, Long scholarshipTypeId, String reviewStatus);
+    
+    /**
+     * ReviewDto投影查询的公共SELECT子句，一次JOIN带出学生与奖学金类型字段
+     */
+    String REVIEW_DTO_SELECT = "SELECT new com.example.scholarship.dto.ReviewDto(" +
+            "r.id, s.id, s.name, s.studentNo, s.college, st.id, st.name, st.amount, " +
+            "r.reviewStatus, r.comments, r.createdAt, r.reviewerId, r.version) " +
+            "FROM Review r JOIN r.student s JOIN r.scholarshipType st ";
+    
+    /**
+     * 评审队列首页（键集分页），按ID倒序即按提交先后倒序。
+     * 游标只用ID：ID非空且随提交递增，而启用审计之前的申请没有创建时间，以时间作游标会漏掉这些记录
+     */
+    @Query(REVIEW_DTO_SELECT + "ORDER BY r.id DESC")
+    List<ReviewDto> findQueueFirstPage(Pageable pageable);
+    
+    /**
+     * 评审队列后续页（键集分页），取游标ID之前的记录
+     */
+    @Query(REVIEW_DTO_SELECT + "WHERE r.id < :id ORDER BY r.id DESC")
+    List<ReviewDto> findQueuePageBefore(@Param("id") Long id, Pageable pageable);
+    
+    /**
+     * 关键词LIKE匹配条件，与搜索索引覆盖的字段一致：学生姓名、学号和奖学金类型名称。
+     * 索引命中的学生过多时评审队列退回这些查询，此时命中最多的往往正是宽泛的学号前缀
+     */
+    String KEYWORD_MATCH = "(s.name LIKE %:keyword% OR s.studentNo LIKE %:keyword% OR st.name LIKE %:keyword%) ";
+    
+    /**
+     * 按关键词搜索的评审队列首页（键集分页）
+     */
+    @Query(REVIEW_DTO_SELECT + "WHERE " + KEYWORD_MATCH + "ORDER BY r.id DESC")
+    List<ReviewDto> searchQueueFirstPage(@Param("keyword") String keyword, Pageable pageable);
+    
+    /**
+     * 按关键词搜索的评审队列后续页（键集分页）
+     */
+    @Query(REVIEW_DTO_SELECT + "WHERE " + KEYWORD_MATCH + "AND r.id < :id ORDER BY r.id DESC")
+    List<ReviewDto> searchQueuePageBefore(@Param("keyword") String keyword,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+    
+    /**
+     * 按搜索索引命中的学生/奖学金类型ID查询评审队列首页（键集分页）
+     */
+    @Query(REVIEW_DTO_SELECT +
+           "WHERE s.id IN :studentIds OR st.id IN :typeIds ORDER BY r.id DESC")
+    List<ReviewDto> findQueueFirstPageByMatches(@Param("studentIds") Collection<Long> studentIds,
+                                                @Param("typeIds") Collection<Long> typeIds,
+                                                Pageable pageable);
+    
+    /**
+     * 按搜索索引命中的学生/奖学金类型ID查询评审队列后续页（键集分页）
+     */
+    @Query(REVIEW_DTO_SELECT +
+           "WHERE (s.id IN :studentIds OR st.id IN :typeIds) AND r.id < :id ORDER BY r.id DESC")
+    List<ReviewDto> findQueuePageBeforeByMatches(@Param("studentIds") Collection<Long> studentIds,
+                                                 @Param("typeIds") Collection<Long> typeIds,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    
+    /**
+     * 根据ID查询评审详情投影
+     */
+    @Query(REVIEW_DTO_SELECT + "WHERE r.id = :id")
+    Optional<ReviewDto> findDtoById(@Param("id") Long id);
+    
+    /**
+     * 根据学生ID查询申请记录投影，按创建时间倒序
+     */
+    @Query(REVIEW_DTO_SELECT + "WHERE s.id = :studentId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewDto> findDtosByStudentId(@Param("studentId") Long studentId);
+    
+    /**
+     * 统计各评审状态的申请数量（按状态分组）
+     */
+    @Query("SELECT r.reviewStatus, COUNT(r) FROM Review r GROUP BY r.reviewStatus")
+    List<Object[]> countReviewsByStatus();
+    
+    /**
+     * 统计关键词匹配的各评审状态申请数量（按状态分组）
+     */
+    @Query("SELECT r.reviewStatus, COUNT(r) FROM Review r JOIN r.student s JOIN r.scholarshipType st " +
+           "WHERE " + KEYWORD_MATCH + "GROUP BY r.reviewStatus")
+    List<Object[]> countReviewsByStatusAndKeyword(@Param("keyword") String keyword);
+    
+    /**
+     * 统计搜索索引命中的各评审状态申请数量（按状态分组）
+     */
+    @Query("SELECT r.reviewStatus, COUNT(r) FROM Review r " +
+           "WHERE r.student.id IN :studentIds OR r.scholarshipType.id IN :typeIds GROUP BY r.reviewStatus")
+    List<Object[]> countReviewsByStatusAndMatches(@Param("studentIds") Collection<Long> studentIds,
+                                                  @Param("typeIds") Collection<Long> typeIds);
+    
+    /**
+     * 一次查询汇总学生的有效申请（非rejected状态）情况
+     * 返回单行：[有效申请总数, 该类型已通过数, 该类型有效申请数]
+     */
+    @Query("SELECT COUNT(r), " +
+           "COALESCE(SUM(CASE WHEN r.scholarshipType.id = :typeId AND r.reviewStatus = 'approved' THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN r.scholarshipType.id = :typeId THEN 1 ELSE 0 END), 0) " +
+           "FROM Review r WHERE r.student.id = :studentId AND r.reviewStatus <> 'rejected'")
+    List<Object[]> summarizeActiveApplications(@Param("studentId") Long studentId, @Param("typeId") Long typeId);
+
+    /**
+     * 按奖学金类型统计待审核申请数，每行为 [奖学金类型ID, 数量]
+     */
+    @Query("SELECT r.scholarshipType.id, COUNT(r) FROM Review r WHERE r.reviewStatus = 'pending' GROUP BY r.scholarshipType.id")
+    List<Object[]> countPendingByScholarshipType();
+
+    /**
+     * 查询待审核申请及学生学业汇总，供名额分配使用。每行依次为：
+     * 申请ID、学生ID、学生姓名、学号、学院、奖学金类型ID、申请时间、课程数、绩点和、学分和
+     */
+    @Query("SELECT r.id, s.id, s.name, s.studentNo, s.college, st.id, r.createdAt, " +
+           "COALESCE(SUM(a.courseCount), 0), COALESCE(SUM(a.gpaSum), 0), COALESCE(SUM(a.creditSum), 0) " +
+           "FROM Review r JOIN r.student s JOIN r.scholarshipType st " +
+           "LEFT JOIN AcademicSummary a ON a.studentId = s.id " +
+           "WHERE r.reviewStatus = 'pending' AND st.id IN :typeIds " +
+           "GROUP BY r.id, s.id, s.name, s.studentNo, s.college, st.id, r.createdAt")
+    List<Object[]> findPendingAllocationCandidates(@Param("typeIds") Collection<Long> typeIds);
+
+    /**
+     * 锁定给定申请中仍待审核的记录并返回其ID，随后的批量更新恰好作用于这些记录
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT r.id FROM Review r WHERE r.id IN :ids AND r.reviewStatus = 'pending'")
+    List<Long> findPendingIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 批量设置待审核申请的评审结果，已被处理的申请不受影响，返回实际更新条数
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Review r SET r.reviewStatus = :status, r.comments = :comments, r.reviewerId = :reviewerId, " +
+           "r.updatedBy = :reviewerId, r.updatedAt = :now, r.version = r.version + 1 " +
+           "WHERE r.id IN :ids AND r.reviewStatus = 'pending'")
+    int decidePending(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                      @Param("comments") String comments, @Param("reviewerId") Long reviewerId,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * 按ID键集分页读取获奖名单（已通过的申请），typeId 为空时包含全部奖学金类型。每行依次为：
+     * 申请ID、学号、姓名、学院、专业、班级、年级、奖学金名称、金额、学年、审核时间
+     */
+    @Query("SELECT r.id, s.studentNo, s.name, s.college, s.major, s.clazz, s.grade, st.name, st.amount, " +
+           "r.academicYear, r.updatedAt FROM Review r JOIN r.student s JOIN r.scholarshipType st " +
+           "WHERE r.reviewStatus = 'approved' AND (:typeId IS NULL OR st.id = :typeId) AND r.id > :afterId " +
+           "ORDER BY r.id")
+    List<Object[]> findAwardBatch(@Param("typeId") Long typeId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 查找申请并加行级写锁，用于上传材料时串行化材料数检查，并与审核互斥
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT r FROM Review r WHERE r.id = :id")
+    Optional<Review> findByIdForUpdate(@Param("id") Long id);
 }
@@ -1,15 +1,21 @@
 package com.example.scholarship.repository;
 
+import com.example.scholarship.dto.CurrentStudent;
 import com.example.scholarship.entity.Student;
 import com.example.scholarship.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -113,6 +119,18 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     boolean existsByStudentNo(String studentNo);
 
+    /**
+     * 返回给定学号中已存在的学号，供批量导入按块去重
+     */
+    @Query("SELECT s.studentNo FROM Student s WHERE s.studentNo IN :studentNos")
+    List<String> findExistingStudentNos(@Param("studentNos") Collection<String> studentNos);
+
+    /**
+     * 按学号批量查询学生ID（ID、学号）
+     */
+    @Query("SELECT s.id, s.studentNo FROM Student s WHERE s.studentNo IN :studentNos")
+    List<Object[]> findIdsByStudentNos(@Param("studentNos") Collection<String> studentNos);
+
     /**
      * 根据用户查找学生
      */
@@ -141,4 +159,41 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     @Query("SELECT s FROM Student s WHERE s.isGraduated = false")
     List<Student> findActiveStudents();
-}
\ No newline at end of file
+
+    /**
+     * 查询搜索索引所需字段（ID、姓名、学号）
+     */
+    @Query("SELECT s.id, s.name, s.studentNo FROM Student s")
+    List<Object[]> findSearchFields();
+
+    /**
+     * 根据用户ID查找学生并加行级写锁，用于串行化同一学生的并发申请
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT s FROM Student s WHERE s.user.id = :userId")
+    Optional<Student> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * 根据用户名查询当前学生快照（投影，单条SQL）
+     */
+    @Query("SELECT new com.example.scholarship.dto.CurrentStudent(s.id, u.id, u.username, s.name, s.studentNo, " +
+           "s.college, s.major, s.grade) FROM Student s JOIN s.user u WHERE u.username = :username")
+    Optional<CurrentStudent> findCurrentStudentByUsername(@Param("username") String username);
+
+    /**
+     * 查询未毕业学生的资格评定数据：学生ID、年级、学院、学籍状态、课程数、绩点和、学分和
+     */
+    @Query("SELECT s.id, s.grade, s.college, s.status, COALESCE(SUM(a.courseCount), 0), COALESCE(SUM(a.gpaSum), 0), " +
+           "COALESCE(SUM(a.creditSum), 0) FROM Student s LEFT JOIN AcademicSummary a ON a.studentId = s.id " +
+           "WHERE s.isGraduated = false GROUP BY s.id, s.grade, s.college, s.status")
+    List<Object[]> findActiveStudentAcademics();
+
+    /**
+     * 查询单个未毕业学生的资格评定数据，字段同 {@link #findActiveStudentAcademics()}
+     */
+    @Query("SELECT s.id, s.grade, s.college, s.status, COALESCE(SUM(a.courseCount), 0), COALESCE(SUM(a.gpaSum), 0), " +
+           "COALESCE(SUM(a.creditSum), 0) FROM Student s LEFT JOIN AcademicSummary a ON a.studentId = s.id " +
+           "WHERE s.id = :studentId AND s.isGraduated = false GROUP BY s.id, s.grade, s.college, s.status")
+    List<Object[]> findActiveStudentAcademic(@Param("studentId") Long studentId);
+}
@@ -3,12 +3,14 @@ package com.example.scholarship.repository;
 import com.example.scholarship.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,6 +59,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Page<User> findByIsDeletedFalse(Pageable pageable);
 
+    /**
+     * 分页查找未删除的用户，不执行总数查询（总数由分组统计得出）
+     * 反向一对一的学生无法懒加载，随用户一并取出，避免每行一次学生查询
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.student WHERE u.isDeleted = false")
+    Slice<User> findActiveUserSlice(Pageable pageable);
+
     /**
      * 查找指定角色下的用户
      */
@@ -75,6 +84,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u.userType, COUNT(u) FROM User u WHERE u.isDeleted = false GROUP BY u.userType")
     List<Object[]> countUsersByType();
 
+    /**
+     * 统计用户数量（按类型和状态分组）
+     */
+    @Query("SELECT u.userType, u.status, COUNT(u) FROM User u WHERE u.isDeleted = false GROUP BY u.userType, u.status")
+    List<Object[]> countUsersByTypeAndStatus();
+
     /**
      * 检查用户名是否存在
      */
@@ -96,4 +111,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.isDeleted = false AND (u.username LIKE %:keyword% OR u.realName LIKE %:keyword% OR u.email LIKE %:keyword%)")
     List<User> searchUsers(@Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    /**
+     * 查询搜索索引所需字段（ID、用户名、真实姓名、邮箱），不含已删除用户
+     */
+    @Query("SELECT u.id, u.username, u.realName, u.email FROM User u WHERE u.isDeleted = false")
+    List<Object[]> findSearchFields();
+
+    /**
+     * 返回给定用户名中已存在的用户名（含已删除用户），供批量导入按块去重
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 返回给定邮箱中已存在的邮箱
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * 按用户名批量查询用户ID（ID、用户名）
+     */
+    @Query("SELECT u.id, u.username FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findIdsByUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 按用户名批量查找用户
+     */
+    List<User> findByUsernameIn(Collection<String> usernames);
+}
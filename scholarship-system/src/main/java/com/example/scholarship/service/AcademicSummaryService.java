@@ -0,0 +1,41 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.AcademicStats;
+import com.example.scholarship.entity.AcademicSummary;
+
+import java.util.List;
+
+/**
+ * 学业汇总服务接口
+ * 维护按学生和学期预先计算的学业汇总
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface AcademicSummaryService {
+
+    /**
+     * 获取学生全部学期的学业统计
+     */
+    AcademicStats getStudentStats(Long studentId);
+
+    /**
+     * 获取学生各学期的汇总
+     */
+    List<AcademicSummary> getSemesterSummaries(Long studentId);
+
+    /**
+     * 学业记录变更后登记受影响的学生学期，事务提交后重新计算其汇总
+     */
+    void onRecordChanged(Long studentId, String semester);
+
+    /**
+     * 按学业记录重新计算指定学生学期的汇总
+     */
+    void recalculate(Long studentId, String semester);
+
+    /**
+     * 从学业记录全量重建汇总表
+     */
+    void rebuild();
+}
@@ -0,0 +1,32 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.AllocationPlan;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 奖学金名额分配服务接口
+ * 在各奖学金类型的预算和学院名额约束下，按学业成绩一次性决定待审核申请的通过与拒绝
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface AllocationService {
+
+    /**
+     * 预览分配方案，不修改数据；计算前按当前数据重新评定申请资格
+     *
+     * @param budgets 奖学金类型ID到预算总额，未给出预算的类型不参与分配
+     * @param collegeQuotas 学院到每种奖学金的最多获奖人数，未列出的学院不限
+     * @throws IllegalStateException 参与分配的奖学金类型尚无资格评定结果
+     */
+    AllocationPlan preview(Map<Long, BigDecimal> budgets, Map<String, Integer> collegeQuotas);
+
+    /**
+     * 按最新数据重新评定资格、计算分配方案并批量写入评审结果
+     *
+     * @throws IllegalStateException 参与分配的奖学金类型尚无资格评定结果，此时不修改任何申请
+     */
+    AllocationPlan commit(Map<Long, BigDecimal> budgets, Map<String, Integer> collegeQuotas, Long reviewerId);
+}
@@ -0,0 +1,40 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.AnnouncementFeed;
+import com.example.scholarship.entity.Announcement;
+
+/**
+ * 公告服务接口
+ * 公告列表以不可变快照缓存在内存中，发布或删除公告的事务提交后失效
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface AnnouncementService {
+
+    /**
+     * 获取未删除公告的摘要列表快照，按发布时间倒序
+     */
+    AnnouncementFeed getFeed();
+
+    /**
+     * 获取未删除公告的完整内容，不存在时返回null
+     */
+    Announcement findById(Long id);
+
+    /**
+     * 发布公告
+     */
+    Announcement publish(String title, String content, Long publishedBy);
+
+    /**
+     * 软删除公告
+     * @throws IllegalArgumentException 公告不存在或已被删除
+     */
+    void delete(Long id);
+
+    /**
+     * 使公告列表快照失效
+     */
+    void invalidate();
+}
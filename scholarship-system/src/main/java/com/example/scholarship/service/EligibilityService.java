@@ -0,0 +1,41 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.EligibilityRanking;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 奖学金资格评定服务接口
+ * 按 ScholarshipType.eligibilityCriteria 解析出的条件评定未毕业学生的申请资格并排名
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface EligibilityService {
+
+    /**
+     * 获取各奖学金类型的资格排名
+     */
+    List<EligibilityRanking> getRankings();
+
+    /**
+     * 获取学生满足申请条件的奖学金类型ID，逐个类型的判断与 {@link #isEligible(Long, Long)} 一致
+     */
+    Set<Long> findEligibleTypeIds(Long studentId);
+
+    /**
+     * 判断学生是否满足指定奖学金类型的申请条件；类型不存在时返回false
+     */
+    boolean isEligible(Long studentId, Long scholarshipTypeId);
+
+    /**
+     * 学业数据或申请条件变化的事务提交后调用，后台重新评定
+     */
+    void markStale();
+
+    /**
+     * 立即重新评定全部学生
+     */
+    void refresh();
+}
@@ -0,0 +1,57 @@
+package com.example.scholarship.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 数据导出服务接口
+ * 按键集分页逐批读取投影结果并直接写入输出流，内存占用与导出行数无关，也不在整个导出期间持有事务
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface ExportService {
+
+    /**
+     * 导出文件格式
+     */
+    enum Format {
+        CSV("csv", "text/csv;charset=UTF-8"),
+        XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * 按参数解析格式，无法识别时为CSV
+         */
+        public static Format of(String value) {
+            return "xlsx".equalsIgnoreCase(value) || "excel".equalsIgnoreCase(value) ? XLSX : CSV;
+        }
+    }
+
+    /**
+     * 导出评审记录，过滤与排序同评审队列（按申请ID倒序）
+     * @param keyword 搜索关键词，可为空
+     */
+    void exportReviews(String keyword, Format format, OutputStream out) throws IOException;
+
+    /**
+     * 导出获奖名单（已通过的申请），按申请ID排序
+     * @param scholarshipTypeId 奖学金类型ID，为空时导出全部类型
+     */
+    void exportAwardList(Long scholarshipTypeId, Format format, OutputStream out) throws IOException;
+}
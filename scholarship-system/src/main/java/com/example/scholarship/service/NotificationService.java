@@ -0,0 +1,38 @@
+package com.example.scholarship.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * 实时通知服务接口
+ * 通过 Server-Sent Events 向在线学生推送审核结果（个人频道）和新公告（广播频道），
+ * 学生页面无需轮询刷新即可得知变化
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface NotificationService {
+
+    /**
+     * 订阅通知流，学生同时收到个人频道和广播频道的事件
+     * @param studentId 学生ID，为空时只订阅广播频道
+     * @param lastEventId 浏览器重连时带回的 Last-Event-ID，用于补发断线期间的事件，可为空
+     */
+    SseEmitter subscribe(Long studentId, String lastEventId);
+
+    /**
+     * 申请审核结果已确定，在当前事务提交后推送给该学生
+     */
+    void reviewDecided(Long studentId, Long reviewId, String reviewStatus);
+
+    /**
+     * 新公告已发布，在当前事务提交后广播
+     */
+    void announcementPublished(Long announcementId, String title);
+
+    /**
+     * 连接数、推送数、因积压断开数等统计信息
+     */
+    Map<String, Object> getStatistics();
+}
@@ -0,0 +1,68 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.entity.ReviewDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 申请证明材料业务服务接口
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface ReviewDocumentService {
+
+    /**
+     * 为待审核的申请上传材料，内容边读边写入磁盘并计算摘要，不在内存中缓存整个文件
+     * @param reviewId 申请ID
+     * @param studentId 当前学生ID，须为申请人
+     * @param userId 上传人用户ID
+     * @param originalName 上传时的文件名，扩展名决定内容类型
+     * @param content 文件内容
+     * @return 保存的材料记录
+     * @throws IllegalArgumentException 申请不存在、不属于该学生或文件类型不允许时抛出
+     * @throws IllegalStateException 申请已审核或材料数已达上限时抛出
+     */
+    ReviewDocument upload(Long reviewId, Long studentId, Long userId, String originalName, InputStream content)
+            throws IOException;
+
+    /**
+     * 查找申请的材料
+     */
+    List<ReviewDocument> findByReviewId(Long reviewId);
+
+    /**
+     * 批量查找多个申请的材料
+     * @return 申请ID -> 材料列表，没有材料的申请不在结果中
+     */
+    Map<Long, List<ReviewDocument>> findByReviewIds(Collection<Long> reviewIds);
+
+    /**
+     * 查找用户有权下载的材料：申请人本人或管理员（审核人）
+     * @return 材料不存在时为空
+     * @throws org.springframework.security.access.AccessDeniedException 无权访问时抛出
+     */
+    Optional<ReviewDocument> findForDownload(Long documentId, UserPrincipal user);
+
+    /**
+     * 材料文件在磁盘上的路径
+     */
+    Path resolvePath(ReviewDocument document);
+
+    /**
+     * 申请人删除待审核申请的材料，文件在事务提交后删除
+     */
+    void delete(Long documentId, Long studentId);
+
+    /**
+     * 删除申请的全部材料文件，申请删除后调用（材料记录已由外键级联删除）
+     */
+    void deleteFiles(Long reviewId);
+}
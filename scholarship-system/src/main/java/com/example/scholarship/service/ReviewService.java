@@ -1,7 +1,15 @@
 package com.example.scholarship.service;
 
+import com.example.scholarship.dto.BulkDecisionResult;
+import com.example.scholarship.dto.ReviewDto;
+import com.example.scholarship.dto.ReviewQueuePage;
 import com.example.scholarship.entity.Review;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 /**
  * 评审业务服务接口
  * 
@@ -15,7 +23,59 @@ public interface ReviewService {
      * @param userId 用户ID
      * @param scholarshipTypeId 奖学金类型ID
      * @return 创建的评审记录
-     * @throws Exception 当存在重复申请时抛出异常
+     * @throws Exception 被规则拒绝（重复申请、超过上限、不符合条件等）时为 ApplicationRefusedException，
+     *                   锁等待超时、数据库错误等其他失败为其他异常
      */
     Review submitApplication(Long userId, Long scholarshipTypeId) throws Exception;
+    
+    /**
+     * 按键集分页获取评审队列
+     * @param keyword 搜索关键词，可为空
+     * @param cursorId 游标ID（上一页最后一条申请的ID），为空时返回首页
+     * @param pageSize 每页条数
+     * @return 当前页记录、下一页游标及各状态数量
+     */
+    ReviewQueuePage<ReviewDto> getReviewQueue(String keyword, Long cursorId, int pageSize);
+    
+    /**
+     * 按键集分页读取评审记录，与评审队列的过滤和排序一致，但不统计状态数量，供导出逐批读取
+     * @param keyword 搜索关键词，可为空
+     * @param cursorId 游标ID（上一批最后一条申请的ID），为空时从头读取
+     * @param limit 最多返回条数
+     * @return 游标之后的记录
+     */
+    List<ReviewDto> findReviewBatch(String keyword, Long cursorId, int limit);
+    
+    /**
+     * 统计各评审状态的申请数量
+     * @param keyword 搜索关键词，可为空
+     * @return 状态 -> 数量
+     */
+    Map<String, Long> countReviewsByStatus(String keyword);
+    
+    /**
+     * 查询评审详情（投影，不触发懒加载）
+     * @param reviewId 评审ID
+     * @return 评审详情
+     */
+    Optional<ReviewDto> findReviewDetail(Long reviewId);
+    
+    /**
+     * 查询学生的所有申请记录（投影，不触发懒加载）
+     * @param studentId 学生ID
+     * @return 按创建时间倒序的申请记录
+     */
+    List<ReviewDto> findStudentApplications(Long studentId);
+    
+    /**
+     * 批量审核：一次加载全部申请，只处理待审核且版本号与调用方所见一致的申请
+     * @param reviewIds 申请ID列表
+     * @param expectedVersions 申请ID -> 调用方所见的版本号，未给出的申请不比较版本号
+     * @param action approve 或 reject
+     * @param comments 评审意见，可为空
+     * @param reviewerId 评审人ID
+     * @return 每份申请的处理结果
+     */
+    BulkDecisionResult decideReviews(Collection<Long> reviewIds, Map<Long, Integer> expectedVersions,
+                                     String action, String comments, Long reviewerId);
 }
@@ -0,0 +1,47 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 关键词搜索服务接口
+ * 基于内存N-gram倒排索引，替代 LIKE %keyword% 全表扫描
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface SearchService {
+
+    /**
+     * 按用户名、真实姓名或邮箱搜索未删除用户，按相关度排序分页
+     */
+    Page<User> searchUsers(String keyword, Pageable pageable);
+
+    /**
+     * 返回姓名或学号匹配关键词的学生ID，按相关度排序
+     */
+    List<Long> matchStudentIds(String keyword);
+
+    /**
+     * 返回名称匹配关键词的奖学金类型ID，按相关度排序
+     */
+    List<Long> matchScholarshipTypeIds(String keyword);
+
+    /**
+     * 实体保存后同步索引（学生、用户、奖学金类型）
+     */
+    void onEntitySaved(Object entity);
+
+    /**
+     * 实体删除后同步索引
+     */
+    void onEntityRemoved(Object entity);
+
+    /**
+     * 从数据库全量重建索引
+     */
+    void rebuild();
+}
@@ -17,6 +17,12 @@ public interface StudentService {
      * @return 包含完整信息的Student对象
      */
     Optional<Student> findByUserId(Long userId);
-    
+
+    /**
+     * 根据学生ID查找学生基本信息，不加载学业记录
+     * @param id 学生ID
+     * @return Student对象
+     */
+    Optional<Student> findById(Long id);
 
 }
@@ -0,0 +1,49 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.ImportProgress;
+import com.example.scholarship.entity.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 用户/学生批量导入服务接口
+ * 逐行解析CSV/XLSX，按块去重、并行加密密码后用JDBC批量写入用户、学生和用户角色
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public interface UserImportService {
+
+    /**
+     * 暂存上传文件并提交后台导入任务，立即返回任务进度
+     */
+    ImportProgress startImport(String fileName, InputStream content, Long operatorId) throws IOException;
+
+    /**
+     * 从最后提交的行之后继续失败或已取消的任务
+     */
+    ImportProgress resumeImport(String jobId);
+
+    /**
+     * 取消任务，当前块处理完后停止，已提交的块保留
+     */
+    void cancelImport(String jobId);
+
+    /**
+     * 查询任务进度
+     */
+    Optional<ImportProgress> getProgress(String jobId);
+
+    /**
+     * 最近的导入任务，按开始时间倒序
+     */
+    List<ImportProgress> getRecentJobs();
+
+    /**
+     * 同步导入用户（可带关联学生），已存在的用户名跳过，返回新建的用户
+     */
+    List<User> importUsers(List<User> users);
+}
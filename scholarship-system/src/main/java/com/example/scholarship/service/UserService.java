@@ -1,5 +1,6 @@
 package com.example.scholarship.service;
 
+import com.example.scholarship.dto.UserStats;
 import com.example.scholarship.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,6 +38,11 @@ public interface UserService {
      */
     Page<User> findAll(Pageable pageable);
 
+    /**
+     * 分页查找未删除的用户，总数由调用方给出（如用户统计的总数），不再单独查询
+     */
+    Page<User> findAll(Pageable pageable, long total);
+
     /**
      * 根据用户名查找用户
      */
@@ -127,6 +133,11 @@ public interface UserService {
      */
     Object[] getUserStatistics();
 
+    /**
+     * 获取按类型和状态分组的用户统计（一次分组查询）
+     */
+    UserStats getUserStats();
+
     /**
      * 查找指定角色的所有用户
      */
@@ -0,0 +1,74 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.entity.Student;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 学生学业数据的列式快照
+ * 每名学生占各数组的同一下标，年级和学院以字典编码存储，供资格评定并行扫描
+ *
+ * @author System
+ * @version 1.0.0
+ */
+final class AcademicColumns {
+
+    final int size;
+    final long[] studentIds;
+    final double[] gpa;
+    final double[] credits;
+    final int[] grades;
+    final int[] colleges;
+    final int[] statuses;
+
+    private final Map<String, Integer> gradeCodes = new HashMap<>();
+    private final Map<String, Integer> collegeCodes = new HashMap<>();
+
+    /**
+     * @param rows 每行依次为：学生ID、年级、学院、学籍状态、课程数、绩点和、学分和
+     */
+    AcademicColumns(List<Object[]> rows) {
+        this.size = rows.size();
+        this.studentIds = new long[size];
+        this.gpa = new double[size];
+        this.credits = new double[size];
+        this.grades = new int[size];
+        this.colleges = new int[size];
+        this.statuses = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            studentIds[i] = ((Number) row[0]).longValue();
+            grades[i] = gradeCodes.computeIfAbsent(String.valueOf(row[1]), k -> gradeCodes.size());
+            colleges[i] = collegeCodes.computeIfAbsent(String.valueOf(row[2]), k -> collegeCodes.size());
+            statuses[i] = ((Student.StudentStatus) row[3]).ordinal();
+            gpa[i] = averageGpa(row[4], row[5]);
+            credits[i] = row[6] != null ? ((Number) row[6]).doubleValue() : 0.0;
+        }
+    }
+
+    boolean[] gradeMask(Set<String> allowed) {
+        return EligibilityCriteria.mask(gradeCodes, allowed);
+    }
+
+    boolean[] collegeMask(Set<String> allowed) {
+        return EligibilityCriteria.mask(collegeCodes, allowed);
+    }
+
+    /**
+     * 与个人资料页相同的口径：绩点和除以课程数，保留两位小数
+     */
+    static double averageGpa(Object courseCount, Object gpaSum) {
+        long count = courseCount != null ? ((Number) courseCount).longValue() : 0L;
+        if (count == 0 || gpaSum == null) {
+            return 0.0;
+        }
+        BigDecimal sum = gpaSum instanceof BigDecimal decimal ? decimal : new BigDecimal(gpaSum.toString());
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.AcademicStats;
+import com.example.scholarship.entity.AcademicSummary;
+import com.example.scholarship.repository.AcademicRecordRepository;
+import com.example.scholarship.repository.AcademicSummaryRepository;
+import com.example.scholarship.service.AcademicSummaryService;
+import com.example.scholarship.service.EligibilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 学业汇总服务实现类
+ * 学业记录变更时只登记受影响的学生学期，事务提交后在新事务中按该学生学期的课程明细重新计算，
+ * 回滚的修改不会进入汇总，重算方式也不会因增量误差而漂移
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class AcademicSummaryServiceImpl implements AcademicSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AcademicSummaryServiceImpl.class);
+
+    @Autowired
+    private AcademicSummaryRepository academicSummaryRepository;
+
+    @Autowired
+    private AcademicRecordRepository academicRecordRepository;
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    private final TransactionTemplate requiresNew;
+
+    @Autowired
+    public AcademicSummaryServiceImpl(PlatformTransactionManager transactionManager) {
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AcademicStats getStudentStats(Long studentId) {
+        List<Object[]> rows = academicSummaryRepository.summarizeStudent(studentId);
+        if (rows.isEmpty()) {
+            return AcademicStats.empty();
+        }
+        Object[] row = rows.get(0);
+        return new AcademicStats(toLong(row[0]), toBigDecimal(row[1]), toBigDecimal(row[2]), toLong(row[3]));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AcademicSummary> getSemesterSummaries(Long studentId) {
+        return academicSummaryRepository.findByStudentIdOrderBySemesterAsc(studentId);
+    }
+
+    @Override
+    public void onRecordChanged(Long studentId, String semester) {
+        if (studentId == null || semester == null) {
+            return;
+        }
+        SummaryKey key = new SummaryKey(studentId, semester);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recalculateInNewTransaction(key);
+            return;
+        }
+
+        // 同一事务内的多次变更合并为每个学生学期一次重算
+        @SuppressWarnings("unchecked")
+        Set<SummaryKey> pending = (Set<SummaryKey>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<SummaryKey> keys = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AcademicSummaryServiceImpl.this);
+                    if (status == STATUS_COMMITTED) {
+                        keys.forEach(AcademicSummaryServiceImpl.this::recalculateInNewTransaction);
+                    }
+                }
+            });
+            pending = keys;
+        }
+        pending.add(key);
+    }
+
+    @Override
+    @Transactional
+    public void recalculate(Long studentId, String semester) {
+        List<Object[]> rows = academicRecordRepository.summarizeSemester(studentId, semester);
+        Object[] row = rows.isEmpty() ? null : rows.get(0);
+        long courseCount = row != null ? toLong(row[0]) : 0L;
+
+        Optional<AcademicSummary> existing = academicSummaryRepository.findByStudentIdAndSemester(studentId, semester);
+        if (courseCount == 0) {
+            existing.ifPresent(academicSummaryRepository::delete);
+            return;
+        }
+
+        AcademicSummary summary = existing.orElseGet(() -> {
+            AcademicSummary created = new AcademicSummary();
+            created.setStudentId(studentId);
+            created.setSemester(semester);
+            return created;
+        });
+        summary.setCourseCount((int) courseCount);
+        summary.setGpaSum(toBigDecimal(row[1]));
+        summary.setCreditSum(toBigDecimal(row[2]));
+        summary.setExcellentCount((int) toLong(row[3]));
+        academicSummaryRepository.saveAndFlush(summary);
+    }
+
+    /**
+     * 应用启动完成后，若汇总表为空而已有学业记录（如通过SQL导入），则全量重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (academicSummaryRepository.count() == 0 && academicRecordRepository.count() > 0) {
+            requiresNew.executeWithoutResult(status -> rebuild());
+            eligibilityService.markStale();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        academicSummaryRepository.deleteAllInBatch();
+
+        List<AcademicSummary> summaries = new ArrayList<>();
+        for (Object[] row : academicRecordRepository.summarizeAllSemesters()) {
+            AcademicSummary summary = new AcademicSummary();
+            summary.setStudentId((Long) row[0]);
+            summary.setSemester((String) row[1]);
+            summary.setCourseCount((int) toLong(row[2]));
+            summary.setGpaSum(toBigDecimal(row[3]));
+            summary.setCreditSum(toBigDecimal(row[4]));
+            summary.setExcellentCount((int) toLong(row[5]));
+            summaries.add(summary);
+        }
+        academicSummaryRepository.saveAll(summaries);
+
+        log.info("学业汇总重建完成: {} 条, 耗时 {} ms", summaries.size(), System.currentTimeMillis() - start);
+    }
+
+    private void recalculateInNewTransaction(SummaryKey key) {
+        try {
+            requiresNew.executeWithoutResult(status -> recalculate(key.studentId, key.semester));
+        } catch (DataIntegrityViolationException e) {
+            // 并发事务同时插入了同一学生学期的汇总，重试一次即转为更新
+            requiresNew.executeWithoutResult(status -> recalculate(key.studentId, key.semester));
+        }
+        eligibilityService.markStale();
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    /**
+     * 学生学期汇总键
+     */
+    private static final class SummaryKey {
+        private final Long studentId;
+        private final String semester;
+
+        private SummaryKey(Long studentId, String semester) {
+            this.studentId = studentId;
+            this.semester = semester;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SummaryKey other)) {
+                return false;
+            }
+            return studentId.equals(other.studentId) && semester.equals(other.semester);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, semester);
+        }
+    }
+}
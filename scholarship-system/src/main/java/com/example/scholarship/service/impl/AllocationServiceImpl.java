@@ -0,0 +1,234 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.AllocationPlan;
+import com.example.scholarship.dto.AllocationPlan.Decision;
+import com.example.scholarship.dto.AllocationPlan.TypeAllocation;
+import com.example.scholarship.dto.EligibilityRanking;
+import com.example.scholarship.entity.ScholarshipType;
+import com.example.scholarship.repository.ReviewRepository;
+import com.example.scholarship.repository.ScholarshipTypeRepository;
+import com.example.scholarship.service.AllocationService;
+import com.example.scholarship.service.EligibilityService;
+import com.example.scholarship.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 奖学金名额分配服务实现类
+ * 同一奖学金类型每个名额金额相同，预算决定名额数，因此按学业排名依次录取、跳过学院名额已满者的贪心策略
+ * 即为最优解。排名依据平均绩点、总学分，两者相同时先提交申请者优先。各奖学金类型相互独立，并行计算。
+ * 申请资格以计算前同步重建的评定结果为准，不使用可能过期的后台快照：快照之后新建、修改的奖学金类型
+ * 和新导入的学生都须按当前数据评定，否则提交会把符合条件的学生永久拒绝、或让不符合条件的学生获奖。
+ * 提交时实际更新的申请，在事务提交后向对应学生推送审核结果。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class AllocationServiceImpl implements AllocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationServiceImpl.class);
+
+    /**
+     * 批量更新时IN参数的上限
+     */
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    static final String REASON_APPROVED = "名额分配：按学业排名获得名额";
+    static final String REASON_INELIGIBLE = "名额分配：不符合该奖学金的申请条件";
+    static final String REASON_BUDGET = "名额分配：预算名额已满";
+    static final String REASON_COLLEGE_QUOTA = "名额分配：所在学院名额已满";
+
+    private static final Comparator<Candidate> MERIT_ORDER = Comparator
+            .comparingDouble((Candidate c) -> -c.averageGpa)
+            .thenComparingDouble(c -> -c.totalCredits)
+            .thenComparing(c -> c.appliedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(c -> c.reviewId);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ScholarshipTypeRepository scholarshipTypeRepository;
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AllocationPlan preview(Map<Long, BigDecimal> budgets, Map<String, Integer> collegeQuotas) {
+        return new AllocationPlan(plan(budgets, collegeQuotas), false, 0);
+    }
+
+    @Override
+    @Transactional
+    public AllocationPlan commit(Map<Long, BigDecimal> budgets, Map<String, Integer> collegeQuotas, Long reviewerId) {
+        List<TypeAllocation> allocations = plan(budgets, collegeQuotas);
+
+        // 相同结果和理由的申请合并为一条批量更新
+        Map<String, List<Long>> approvedByReason = new LinkedHashMap<>();
+        Map<String, List<Long>> rejectedByReason = new LinkedHashMap<>();
+        Map<Long, Long> studentIds = new HashMap<>();
+        for (TypeAllocation allocation : allocations) {
+            for (Decision decision : allocation.getDecisions()) {
+                studentIds.put(decision.getReviewId(), decision.getStudentId());
+                (decision.isApproved() ? approvedByReason : rejectedByReason)
+                        .computeIfAbsent(decision.getReason(), k -> new ArrayList<>())
+                        .add(decision.getReviewId());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = decide(approvedByReason, "approved", reviewerId, now, studentIds)
+                + decide(rejectedByReason, "rejected", reviewerId, now, studentIds);
+        AllocationPlan plan = new AllocationPlan(allocations, true, updated);
+        log.info("名额分配已提交: 通过 {} 份, 拒绝 {} 份, 实际更新 {} 份",
+                plan.getApprovedCount(), plan.getRejectedCount(), updated);
+        return plan;
+    }
+
+    private int decide(Map<String, List<Long>> idsByReason, String status, Long reviewerId, LocalDateTime now,
+                       Map<Long, Long> studentIds) {
+        int updated = 0;
+        for (Map.Entry<String, List<Long>> entry : idsByReason.entrySet()) {
+            List<Long> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                // 计算之后可能已有申请被单独审核，只更新并通知锁定时仍待审核的申请
+                List<Long> pending = reviewRepository.findPendingIdsForUpdate(
+                        ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size())));
+                if (pending.isEmpty()) {
+                    continue;
+                }
+                updated += reviewRepository.decidePending(pending, status, entry.getKey(), reviewerId, now);
+                for (Long id : pending) {
+                    notificationService.reviewDecided(studentIds.get(id), id, status);
+                }
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 计算有预算的各奖学金类型的分配结果
+     */
+    private List<TypeAllocation> plan(Map<Long, BigDecimal> budgets, Map<String, Integer> collegeQuotas) {
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+        eligibilityService.refresh();
+        List<ScholarshipType> types = scholarshipTypeRepository.findAllById(budgets.keySet());
+        Map<Long, List<Candidate>> candidatesByType = reviewRepository.findPendingAllocationCandidates(budgets.keySet())
+                .stream()
+                .map(Candidate::new)
+                .collect(Collectors.groupingBy(c -> c.scholarshipTypeId));
+        Map<Long, Set<Long>> eligibleByType = eligibilityService.getRankings().stream()
+                .collect(Collectors.toMap(EligibilityRanking::getScholarshipTypeId,
+                        ranking -> ranking.getStudents().stream()
+                                .map(EligibilityRanking.RankedStudent::getStudentId)
+                                .collect(Collectors.toSet())));
+
+        for (ScholarshipType type : types) {
+            // 评定之后才新建的类型没有排名，不能当作人人符合条件，也不能把全部申请拒绝
+            if (!eligibleByType.containsKey(type.getId())) {
+                throw new IllegalStateException("奖学金类型「" + type.getName() + "」尚无资格评定结果，请稍后重试");
+            }
+        }
+
+        return types.parallelStream()
+                .sorted(Comparator.comparing(ScholarshipType::getId))
+                .map(type -> allocate(type, budgets.get(type.getId()),
+                        candidatesByType.getOrDefault(type.getId(), List.of()),
+                        eligibleByType.get(type.getId()), collegeQuotas))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 单个奖学金类型：按排名依次录取，直到预算名额用完
+     */
+    private TypeAllocation allocate(ScholarshipType type, BigDecimal budget, List<Candidate> candidates,
+                                    Set<Long> eligibleStudentIds, Map<String, Integer> collegeQuotas) {
+        int slots = type.getAmount().signum() > 0
+                ? budget.divide(type.getAmount(), 0, RoundingMode.DOWN).intValue()
+                : candidates.size();
+
+        List<Candidate> ranked = new ArrayList<>(candidates);
+        ranked.sort(MERIT_ORDER);
+
+        List<Decision> approved = new ArrayList<>();
+        List<Decision> rejected = new ArrayList<>();
+        Map<String, Integer> awardedByCollege = new HashMap<>();
+        for (Candidate candidate : ranked) {
+            String reason;
+            if (!eligibleStudentIds.contains(candidate.studentId)) {
+                reason = REASON_INELIGIBLE;
+            } else if (approved.size() >= slots) {
+                reason = REASON_BUDGET;
+            } else if (awardedByCollege.getOrDefault(candidate.college, 0)
+                    >= collegeQuotas.getOrDefault(candidate.college, Integer.MAX_VALUE)) {
+                reason = REASON_COLLEGE_QUOTA;
+            } else {
+                awardedByCollege.merge(candidate.college, 1, Integer::sum);
+                approved.add(candidate.decide(true, REASON_APPROVED));
+                continue;
+            }
+            rejected.add(candidate.decide(false, reason));
+        }
+
+        List<Decision> decisions = new ArrayList<>(approved.size() + rejected.size());
+        decisions.addAll(approved);
+        decisions.addAll(rejected);
+        return new TypeAllocation(type.getId(), type.getName(), type.getAmount(), budget, slots,
+                Collections.unmodifiableList(decisions));
+    }
+
+    /**
+     * 待分配的申请
+     */
+    private static final class Candidate {
+        private final Long reviewId;
+        private final Long studentId;
+        private final String studentName;
+        private final String studentNo;
+        private final String college;
+        private final Long scholarshipTypeId;
+        private final LocalDateTime appliedAt;
+        private final double averageGpa;
+        private final double totalCredits;
+
+        private Candidate(Object[] row) {
+            this.reviewId = (Long) row[0];
+            this.studentId = (Long) row[1];
+            this.studentName = (String) row[2];
+            this.studentNo = (String) row[3];
+            this.college = (String) row[4];
+            this.scholarshipTypeId = (Long) row[5];
+            this.appliedAt = (LocalDateTime) row[6];
+            this.averageGpa = AcademicColumns.averageGpa(row[7], row[8]);
+            this.totalCredits = row[9] != null ? ((Number) row[9]).doubleValue() : 0.0;
+        }
+
+        private Decision decide(boolean approved, String reason) {
+            return new Decision(reviewId, studentId, studentName, studentNo, college,
+                    averageGpa, totalCredits, approved, reason);
+        }
+    }
+}
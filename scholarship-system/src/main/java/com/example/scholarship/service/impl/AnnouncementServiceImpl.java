@@ -0,0 +1,117 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.AnnouncementFeed;
+import com.example.scholarship.entity.Announcement;
+import com.example.scholarship.repository.AnnouncementRepository;
+import com.example.scholarship.service.AnnouncementService;
+import com.example.scholarship.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 公告服务实现类
+ * 列表快照按需构建，失效后由下一次读取重建；构建期间发生失效时不安装旧快照
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class AnnouncementServiceImpl implements AnnouncementService {
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    // 构建快照时查询数据库，用显式锁而非 synchronized，避免钉住虚拟线程的载体线程
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private volatile AnnouncementFeed feed;
+
+    @Override
+    public AnnouncementFeed getFeed() {
+        AnnouncementFeed current = feed;
+        if (current != null) {
+            return current;
+        }
+        buildLock.lock();
+        try {
+            if (feed != null) {
+                return feed;
+            }
+            long expected = generation.get();
+            AnnouncementFeed built = new AnnouncementFeed(announcementRepository.findSummaries());
+            if (generation.get() == expected) {
+                feed = built;
+            }
+            return built;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Announcement findById(Long id) {
+        return announcementRepository.findByIdAndDeletedIsFalse(id);
+    }
+
+    @Override
+    @Transactional
+    public Announcement publish(String title, String content, Long publishedBy) {
+        Announcement announcement = new Announcement();
+        announcement.setTitle(title);
+        announcement.setContent(content);
+        announcement.setPublishedBy(publishedBy);
+        announcement.setPublishedAt(LocalDateTime.now());
+        Announcement saved = announcementRepository.save(announcement);
+        invalidateAfterCommit();
+        notificationService.announcementPublished(saved.getId(), saved.getTitle());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        Announcement announcement = announcementRepository.findByIdAndDeletedIsFalse(id);
+        if (announcement == null) {
+            throw new IllegalArgumentException("公告不存在或已被删除: " + id);
+        }
+        announcement.setDeleted(true);
+        announcement.setDeletedAt(LocalDateTime.now());
+        announcementRepository.save(announcement);
+        invalidateAfterCommit();
+    }
+
+    @Override
+    public void invalidate() {
+        generation.incrementAndGet();
+        feed = null;
+    }
+
+    /**
+     * 事务提交后再失效，避免并发读取在提交前用旧数据重建快照
+     */
+    private void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+}
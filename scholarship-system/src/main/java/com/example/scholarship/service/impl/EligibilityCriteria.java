@@ -0,0 +1,237 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.entity.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 奖学金申请条件
+ * 将 ScholarshipType.eligibilityCriteria 中的自由文本解析为可计算的条件，例如
+ * "GPA≥3.8，学分≥20，综合排名前5%，年级：2021/2022，学院：计算机科学与技术学院，状态：在读/休学"。
+ * 子句只按标点分隔，运算符和列表分隔符两侧可以有空格（如"GPA >= 3.5"、"年级：2021 / 2022"）。
+ * 未写学籍状态条件时只允许在读学生；无法自动判断的子句（如"家庭经济困难"）保留为待人工审核条件，不参与过滤。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public final class EligibilityCriteria {
+
+    private static final Pattern CLAUSE_SEPARATOR = Pattern.compile("[，,；;。]+");
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("\\s*[/、|]\\s*");
+    private static final Pattern MIN_GPA = Pattern.compile(
+            "(?i)(?:GPA|绩点)\\s*(≥|>=|不低于|>|＞)\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern MIN_CREDITS = Pattern.compile(
+            "(?i)(?:总学分|学分|credits?)\\s*(≥|>=|不低于|>|＞)\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern TOP_PERCENT = Pattern.compile("排名前\\s*(\\d+(?:\\.\\d+)?)\\s*[%％]");
+    private static final Pattern GRADES = Pattern.compile("年级\\s*(?:=|为|:|：)\\s*((?:20\\d{2}\\s*[/、|]?\\s*)+)");
+    private static final Pattern GRADE_SUFFIX = Pattern.compile("^((?:20\\d{2}\\s*[/、|]?\\s*)+)级$");
+    private static final Pattern COLLEGES = Pattern.compile("学院\\s*(?:=|为|:|：)\\s*(.+)");
+    private static final Pattern COLLEGE_LIMIT = Pattern.compile("^限\\s*(\\S+学院)$");
+    private static final Pattern YEAR = Pattern.compile("20\\d{2}");
+    private static final Pattern STATUSES = Pattern.compile("(?:学籍状态|状态)\\s*(?:=|为|:|：)\\s*(.+)");
+    private static final Set<String> ACTIVE_STATUS = Set.of("在读", "未毕业", "在校生");
+    private static final Set<Student.StudentStatus> DEFAULT_STATUSES = Set.of(Student.StudentStatus.ACTIVE);
+
+    private final double minGpa;
+    private final boolean gpaExclusive;
+    private final double minCredits;
+    private final boolean creditsExclusive;
+    private final double topPercent;
+    private final Set<String> grades;
+    private final Set<String> colleges;
+    private final Set<Student.StudentStatus> statuses;
+    private final List<String> unverifiedConditions;
+
+    private EligibilityCriteria(double minGpa, boolean gpaExclusive, double minCredits, boolean creditsExclusive,
+                                double topPercent, Set<String> grades, Set<String> colleges,
+                                Set<Student.StudentStatus> statuses, List<String> unverifiedConditions) {
+        this.minGpa = minGpa;
+        this.gpaExclusive = gpaExclusive;
+        this.minCredits = minCredits;
+        this.creditsExclusive = creditsExclusive;
+        this.topPercent = topPercent;
+        this.grades = grades;
+        this.colleges = colleges;
+        this.statuses = statuses;
+        this.unverifiedConditions = unverifiedConditions;
+    }
+
+    /**
+     * 解析申请条件文本
+     */
+    public static EligibilityCriteria parse(String text) {
+        double minGpa = Double.NEGATIVE_INFINITY;
+        boolean gpaExclusive = false;
+        double minCredits = Double.NEGATIVE_INFINITY;
+        boolean creditsExclusive = false;
+        double topPercent = 100.0;
+        Set<String> grades = new LinkedHashSet<>();
+        Set<String> colleges = new LinkedHashSet<>();
+        Set<Student.StudentStatus> statuses = new LinkedHashSet<>();
+        List<String> unverified = new ArrayList<>();
+
+        if (text != null) {
+            for (String part : CLAUSE_SEPARATOR.split(text)) {
+                String clause = part.trim();
+                if (clause.isEmpty()) {
+                    continue;
+                }
+                Matcher m;
+                if ((m = MIN_GPA.matcher(clause)).find()) {
+                    minGpa = Double.parseDouble(m.group(2));
+                    gpaExclusive = isExclusive(m.group(1));
+                } else if ((m = MIN_CREDITS.matcher(clause)).find()) {
+                    minCredits = Double.parseDouble(m.group(2));
+                    creditsExclusive = isExclusive(m.group(1));
+                } else if ((m = TOP_PERCENT.matcher(clause)).find()) {
+                    topPercent = Math.min(100.0, Double.parseDouble(m.group(1)));
+                } else if ((m = GRADES.matcher(clause)).find() || (m = GRADE_SUFFIX.matcher(clause)).find()) {
+                    Matcher year = YEAR.matcher(m.group(1));
+                    while (year.find()) {
+                        grades.add(year.group());
+                    }
+                } else if ((m = COLLEGES.matcher(clause)).find() || (m = COLLEGE_LIMIT.matcher(clause)).find()) {
+                    for (String college : LIST_SEPARATOR.split(m.group(1).trim())) {
+                        if (!college.isEmpty()) {
+                            colleges.add(college);
+                        }
+                    }
+                } else if ((m = STATUSES.matcher(clause)).find()) {
+                    for (String description : LIST_SEPARATOR.split(m.group(1).trim())) {
+                        Student.StudentStatus status = statusOf(description);
+                        if (status != null) {
+                            statuses.add(status);
+                        }
+                    }
+                } else if (ACTIVE_STATUS.contains(clause)) {
+                    statuses.add(Student.StudentStatus.ACTIVE);
+                } else {
+                    unverified.add(clause);
+                }
+            }
+        }
+        return new EligibilityCriteria(minGpa, gpaExclusive, minCredits, creditsExclusive, topPercent,
+                Collections.unmodifiableSet(grades), Collections.unmodifiableSet(colleges),
+                statuses.isEmpty() ? DEFAULT_STATUSES : Collections.unmodifiableSet(statuses),
+                Collections.unmodifiableList(unverified));
+    }
+
+    /**
+     * 判断单个学生是否满足条件
+     *
+     * @param rankCutoffGpa 排名条件对应的绩点下限，见 {@link #hasRankLimit()}
+     */
+    public boolean matches(double gpa, double credits, String grade, String college,
+                           Student.StudentStatus status, double rankCutoffGpa) {
+        return statuses.contains(status)
+                && passesGpa(gpa)
+                && passesCredits(credits)
+                && gpa >= rankCutoffGpa
+                && (grades.isEmpty() || grades.contains(grade))
+                && (colleges.isEmpty() || colleges.contains(college));
+    }
+
+    /**
+     * 针对列式学生数据编译判断条件，学院和年级先换成编码，逐行判断时只比较基本类型
+     */
+    IntPredicate compile(AcademicColumns columns, double rankCutoffGpa) {
+        double[] gpa = columns.gpa;
+        double[] credits = columns.credits;
+        int[] gradeCodes = columns.grades;
+        int[] collegeCodes = columns.colleges;
+        int[] statusCodes = columns.statuses;
+        boolean[] allowedStatuses = new boolean[Student.StudentStatus.values().length];
+        for (Student.StudentStatus status : statuses) {
+            allowedStatuses[status.ordinal()] = true;
+        }
+        boolean[] allowedGrades = grades.isEmpty() ? null : columns.gradeMask(grades);
+        boolean[] allowedColleges = colleges.isEmpty() ? null : columns.collegeMask(colleges);
+        return i -> allowedStatuses[statusCodes[i]]
+                && (gpaExclusive ? gpa[i] > minGpa : gpa[i] >= minGpa)
+                && gpa[i] >= rankCutoffGpa
+                && (creditsExclusive ? credits[i] > minCredits : credits[i] >= minCredits)
+                && (allowedGrades == null || allowedGrades[gradeCodes[i]])
+                && (allowedColleges == null || allowedColleges[collegeCodes[i]]);
+    }
+
+    private boolean passesGpa(double gpa) {
+        return gpaExclusive ? gpa > minGpa : gpa >= minGpa;
+    }
+
+    private boolean passesCredits(double credits) {
+        return creditsExclusive ? credits > minCredits : credits >= minCredits;
+    }
+
+    private static Student.StudentStatus statusOf(String description) {
+        for (Student.StudentStatus status : Student.StudentStatus.values()) {
+            if (status.getDescription().equals(description) || status.name().equalsIgnoreCase(description)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isExclusive(String operator) {
+        return ">".equals(operator) || "＞".equals(operator);
+    }
+
+    /**
+     * 是否包含"排名前N%"条件
+     */
+    public boolean hasRankLimit() {
+        return topPercent < 100.0;
+    }
+
+    public double getTopPercent() {
+        return topPercent;
+    }
+
+    public double getMinGpa() {
+        return minGpa;
+    }
+
+    public double getMinCredits() {
+        return minCredits;
+    }
+
+    public Set<String> getGrades() {
+        return grades;
+    }
+
+    public Set<String> getColleges() {
+        return colleges;
+    }
+
+    public Set<Student.StudentStatus> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * 无法自动判断、需人工审核的条件
+     */
+    public List<String> getUnverifiedConditions() {
+        return unverifiedConditions;
+    }
+
+    /**
+     * 由学生数据得到各编码的允许标记
+     */
+    static boolean[] mask(Map<String, Integer> codes, Set<String> allowed) {
+        boolean[] mask = new boolean[codes.size()];
+        for (String value : allowed) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                mask[code] = true;
+            }
+        }
+        return mask;
+    }
+}
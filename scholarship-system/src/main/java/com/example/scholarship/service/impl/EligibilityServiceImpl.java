@@ -0,0 +1,300 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.EligibilityRanking;
+import com.example.scholarship.dto.EligibilityRanking.RankedStudent;
+import com.example.scholarship.entity.ScholarshipType;
+import com.example.scholarship.entity.Student;
+import com.example.scholarship.repository.ScholarshipTypeRepository;
+import com.example.scholarship.repository.StudentRepository;
+import com.example.scholarship.service.EligibilityService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * 奖学金资格评定服务实现类
+ * 全部未毕业学生的学业汇总以一条聚合查询读入列式数组，各奖学金类型的条件编译为基于下标的判断，
+ * 在fork-join公共线程池上并行扫描后排序，得到各类型的资格排名快照。
+ *
+ * 快照在启动后及学业数据、奖学金类型变化后由后台线程重建；单个学生的资格判断读取该学生最新的学业汇总，
+ * 只有"排名前N%"对应的绩点线取自快照。快照重建前新建或修改的奖学金类型，按其当前条件现场编译后判断。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class EligibilityServiceImpl implements EligibilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(EligibilityServiceImpl.class);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScholarshipTypeRepository scholarshipTypeRepository;
+
+    private final Duration maxAge;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "eligibility-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    // 重建期间要查询数据库，用显式锁而非 synchronized，虚拟线程等待时不会钉住载体线程
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public EligibilityServiceImpl(@Value("${scholarship.eligibility.max-age:PT30M}") Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public List<EligibilityRanking> getRankings() {
+        return current().rankings;
+    }
+
+    @Override
+    public Set<Long> findEligibleTypeIds(Long studentId) {
+        Snapshot current = current();
+        List<Object[]> rows = studentRepository.findActiveStudentAcademic(studentId);
+        if (rows.isEmpty()) {
+            return Set.of();
+        }
+        Object[] row = rows.get(0);
+        Set<Long> eligible = new LinkedHashSet<>();
+        for (ScholarshipType type : scholarshipTypeRepository.findAll()) {
+            if (matches(ruleFor(current, type), row)) {
+                eligible.add(type.getId());
+            }
+        }
+        return eligible;
+    }
+
+    @Override
+    public boolean isEligible(Long studentId, Long scholarshipTypeId) {
+        Snapshot current = current();
+        ScholarshipType type = scholarshipTypeRepository.findById(scholarshipTypeId).orElse(null);
+        if (type == null) {
+            return false;
+        }
+        TypeRule rule = ruleFor(current, type);
+        List<Object[]> rows = studentRepository.findActiveStudentAcademic(studentId);
+        return !rows.isEmpty() && matches(rule, rows.get(0));
+    }
+
+    /**
+     * 取奖学金类型的当前规则。快照之后新建或修改的类型，不能跳过条件检查，也不能按旧条件判断：
+     * 按当前条件现场编译，排名绩点线用快照中的绩点分布，并安排后台重建
+     */
+    private TypeRule ruleFor(Snapshot current, ScholarshipType type) {
+        TypeRule rule = current.rules.get(type.getId());
+        if (rule != null && Objects.equals(rule.typeVersion, type.getVersion())) {
+            return rule;
+        }
+        scheduleRefresh();
+        return compileRule(type, current.sortedGpa);
+    }
+
+    @Override
+    public void markStale() {
+        scheduleRefresh();
+    }
+
+    /**
+     * 应用启动完成后在后台构建快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        scheduleRefresh();
+    }
+
+    @Override
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            rebuild();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        List<ScholarshipType> types = scholarshipTypeRepository.findAll();
+        AcademicColumns columns = new AcademicColumns(studentRepository.findActiveStudentAcademics());
+        long loaded = System.currentTimeMillis();
+
+        // 排名条件的绩点线由全体未毕业学生的绩点分布决定
+        double[] sortedGpa = columns.gpa.clone();
+        Arrays.parallelSort(sortedGpa);
+
+        Map<Long, TypeRule> rules = new LinkedHashMap<>();
+        List<EligibilityRanking> rankings = new ArrayList<>(types.size());
+        for (ScholarshipType type : types) {
+            TypeRule rule = compileRule(type, sortedGpa);
+            rules.put(type.getId(), rule);
+
+            IntPredicate predicate = rule.criteria.compile(columns, rule.rankCutoffGpa);
+            int[] eligible = IntStream.range(0, columns.size).parallel().filter(predicate).toArray();
+            rankings.add(new EligibilityRanking(type.getId(), type.getName(), type.getEligibilityCriteria(),
+                    rule.criteria.getUnverifiedConditions(), rank(columns, eligible)));
+        }
+
+        snapshot = new Snapshot(Collections.unmodifiableList(rankings), rules, sortedGpa, System.currentTimeMillis());
+        log.info("奖学金资格评定完成: 学生 {} 名, 奖学金类型 {} 个, 读取 {} ms, 评定 {} ms",
+                columns.size, types.size(), loaded - start, System.currentTimeMillis() - loaded);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 返回当前快照；尚未构建时同步构建，过期时在后台重建并先返回旧快照
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refreshLock.lock();
+            try {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                return snapshot;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        if (System.currentTimeMillis() - current.builtAt > maxAge.toMillis()) {
+            scheduleRefresh();
+        }
+        return current;
+    }
+
+    /**
+     * 合并排队中的重建请求，同一时间最多只有一次待执行的重建
+     */
+    private void scheduleRefresh() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    log.warn("奖学金资格评定失败: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    private boolean matches(TypeRule rule, Object[] row) {
+        double gpa = AcademicColumns.averageGpa(row[4], row[5]);
+        double credits = row[6] != null ? ((Number) row[6]).doubleValue() : 0.0;
+        return rule.criteria.matches(gpa, credits, String.valueOf(row[1]), String.valueOf(row[2]),
+                (Student.StudentStatus) row[3], rule.rankCutoffGpa);
+    }
+
+    private static TypeRule compileRule(ScholarshipType type, double[] sortedGpa) {
+        EligibilityCriteria criteria = EligibilityCriteria.parse(type.getEligibilityCriteria());
+        return new TypeRule(criteria, rankCutoffGpa(criteria, sortedGpa), type.getVersion());
+    }
+
+    /**
+     * "排名前N%"对应的绩点线：升序绩点数组中第 ceil(n*N%) 高的绩点，并列者一并入选
+     */
+    private static double rankCutoffGpa(EligibilityCriteria criteria, double[] sortedGpa) {
+        if (!criteria.hasRankLimit()) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        int quota = (int) Math.ceil(sortedGpa.length * criteria.getTopPercent() / 100.0);
+        if (quota <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return sortedGpa[sortedGpa.length - quota];
+    }
+
+    /**
+     * 按平均绩点、总学分降序排名，两者都相同的学生名次相同
+     */
+    private static List<RankedStudent> rank(AcademicColumns columns, int[] eligible) {
+        double[] gpa = columns.gpa;
+        double[] credits = columns.credits;
+        long[] ids = columns.studentIds;
+        Comparator<Integer> order = Comparator.<Integer>comparingDouble(i -> -gpa[i])
+                .thenComparingDouble(i -> -credits[i])
+                .thenComparingLong(i -> ids[i]);
+        int[] sorted = IntStream.of(eligible).boxed().parallel().sorted(order).mapToInt(Integer::intValue).toArray();
+
+        List<RankedStudent> ranked = new ArrayList<>(sorted.length);
+        int rank = 0;
+        for (int pos = 0; pos < sorted.length; pos++) {
+            int i = sorted[pos];
+            if (pos == 0 || gpa[i] != gpa[sorted[pos - 1]] || credits[i] != credits[sorted[pos - 1]]) {
+                rank = pos + 1;
+            }
+            ranked.add(new RankedStudent(rank, ids[i], gpa[i], credits[i]));
+        }
+        return Collections.unmodifiableList(ranked);
+    }
+
+    /**
+     * 某奖学金类型编译后的条件、排名绩点线及编译时该类型的版本号
+     */
+    private static final class TypeRule {
+        private final EligibilityCriteria criteria;
+        private final double rankCutoffGpa;
+        private final Integer typeVersion;
+
+        private TypeRule(EligibilityCriteria criteria, double rankCutoffGpa, Integer typeVersion) {
+            this.criteria = criteria;
+            this.rankCutoffGpa = rankCutoffGpa;
+            this.typeVersion = typeVersion;
+        }
+    }
+
+    /**
+     * 某一时刻的评定结果
+     */
+    private static final class Snapshot {
+        private final List<EligibilityRanking> rankings;
+        private final Map<Long, TypeRule> rules;
+        // 全体未毕业学生的绩点（升序），现场编译的排名条件据此计算绩点线
+        private final double[] sortedGpa;
+        private final long builtAt;
+
+        private Snapshot(List<EligibilityRanking> rankings, Map<Long, TypeRule> rules, double[] sortedGpa, long builtAt) {
+            this.rankings = rankings;
+            this.rules = rules;
+            this.sortedGpa = sortedGpa;
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.ReviewDto;
+import com.example.scholarship.repository.ReviewRepository;
+import com.example.scholarship.service.ExportService;
+import com.example.scholarship.service.ReviewService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 数据导出服务实现类
+ * 每批查询在各自的只读短事务中完成，取到的是DTO/标量投影而非托管实体，写完一批即刷出给客户端再取下一批。
+ * 不使用整个导出期间保持打开的游标，避免客户端下载较慢时长时间占用数据库连接和事务。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Value("${scholarship.export.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void exportReviews(String keyword, Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        int rows = 0;
+        try (TabularFileWriter writer = TabularFileWriter.open(format, out)) {
+            writer.writeRow("申请ID", "学号", "学生姓名", "学院", "奖学金类型", "金额", "审核状态", "申请时间", "审核意见");
+            List<ReviewDto> batch = reviewService.findReviewBatch(keyword, null, batchSize);
+            while (!batch.isEmpty()) {
+                for (ReviewDto review : batch) {
+                    writer.writeRow(review.getId(), review.getStudentNo(), review.getStudentName(), review.getCollege(),
+                            review.getScholarshipName(), review.getAmount(), statusText(review.getReviewStatus()),
+                            review.getCreatedAt(), review.getComments());
+                }
+                rows += batch.size();
+                writer.flush();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                // 游标只取ID：旧申请的创建时间可能为空，以时间作游标会退回首批而反复写出同一批
+                ReviewDto last = batch.get(batch.size() - 1);
+                batch = reviewService.findReviewBatch(keyword, last.getId(), batchSize);
+            }
+        }
+        log.info("导出评审记录 {} 条，耗时 {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void exportAwardList(Long scholarshipTypeId, Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        int rows = 0;
+        try (TabularFileWriter writer = TabularFileWriter.open(format, out)) {
+            writer.writeRow("序号", "学号", "姓名", "学院", "专业", "班级", "年级", "奖学金", "金额", "学年", "审核时间");
+            long afterId = 0;
+            PageRequest limit = PageRequest.of(0, batchSize);
+            List<Object[]> batch = reviewRepository.findAwardBatch(scholarshipTypeId, afterId, limit);
+            while (!batch.isEmpty()) {
+                for (Object[] row : batch) {
+                    rows++;
+                    writer.writeRow(rows, row[1], row[2], row[3], row[4], row[5], row[6], row[7], row[8], row[9], row[10]);
+                }
+                writer.flush();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                afterId = (Long) batch.get(batch.size() - 1)[0];
+                batch = reviewRepository.findAwardBatch(scholarshipTypeId, afterId, limit);
+            }
+        }
+        log.info("导出获奖名单 {} 条，耗时 {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    private static String statusText(String reviewStatus) {
+        if (reviewStatus == null) {
+            return "";
+        }
+        switch (reviewStatus) {
+            case "pending":
+                return "待审核";
+            case "approved":
+                return "已通过";
+            case "rejected":
+                return "已拒绝";
+            default:
+                return reviewStatus;
+        }
+    }
+}
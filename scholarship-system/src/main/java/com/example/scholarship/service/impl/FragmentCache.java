@@ -0,0 +1,109 @@
+package com.example.scholarship.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 页面片段渲染缓存
+ * 公告列表、奖学金类型选项等对所有用户相同、很少变化的片段，按"模板::片段@数据版本"为键缓存渲染好的HTML，
+ * 页面以 th:utext 原样输出。数据版本取自对应数据的快照（公告列表的 etag、奖学金类型目录的版本），
+ * 数据变更后版本随之改变，旧条目不再命中，由容量上限淘汰，无需另行失效。
+ * 关闭时（开发环境默认，模板修改即时可见）每次都重新渲染，输出相同。
+ * 渲染时链接不经过 response.encodeURL，首个渲染者的 ;jsessionid 不会写入共享的HTML。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class FragmentCache {
+
+    @Autowired
+    private ISpringTemplateEngine templateEngine;
+
+    private final boolean enabled;
+
+    private final Cache<String, String> cache;
+
+    public FragmentCache(@Value("${scholarship.render.fragment-cache.enabled:false}") boolean enabled,
+                         @Value("${scholarship.render.fragment-cache.max-size:256}") long maxSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 渲染模板中的片段，相同片段、相同数据版本时返回缓存的HTML
+     *
+     * @param template  模板名，如 student/dashboard
+     * @param fragment  片段名（th:fragment）
+     * @param version   片段所用数据的版本，数据变化时必须随之变化
+     * @param variables 片段所需的模型变量，仅在需要渲染时才使用
+     */
+    public String render(String template, String fragment, String version, Map<String, Object> variables,
+                         HttpServletRequest request, HttpServletResponse response) {
+        if (!enabled) {
+            return process(template, fragment, variables, request, response);
+        }
+        return cache.get(template + "::" + fragment + "@" + version,
+                key -> process(template, fragment, variables, request, response));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 底层缓存，供指标注册（命中率、驱逐数）使用
+     */
+    public Cache<String, String> getNativeCache() {
+        return cache;
+    }
+
+    private String process(String template, String fragment, Map<String, Object> variables,
+                           HttpServletRequest request, HttpServletResponse response) {
+        // 片段中的 @{...} 链接需要Web上下文补全应用路径
+        WebContext context = new WebContext(
+                JakartaServletWebApplication.buildApplication(request.getServletContext())
+                        .buildExchange(request, new SessionNeutralResponse(response)),
+                LocaleContextHolder.getLocale(), variables);
+        return templateEngine.process(template, Set.of(fragment), context);
+    }
+
+    /**
+     * 不在URL中追加会话ID的响应，片段输出与当前用户的会话无关
+     */
+    private static final class SessionNeutralResponse extends HttpServletResponseWrapper {
+
+        private SessionNeutralResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.scholarship.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存N-gram倒排索引
+ * 对每个字段建立单字和二元组倒排表，查询时求交集后再做子串校验，
+ * 语义与 LIKE %keyword% 一致，但无需扫描全表。适合中文姓名等短文本。
+ *
+ * 写操作加锁串行，读操作无锁。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class NGramIndex {
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    private final Map<Long, String[]> documents = new ConcurrentHashMap<>();
+
+    /**
+     * 添加或替换文档
+     */
+    public synchronized void put(Long id, String... fields) {
+        removeInternal(id);
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+            for (String gram : grams(normalized[i])) {
+                postings.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+        documents.put(id, normalized);
+    }
+
+    /**
+     * 删除文档
+     */
+    public synchronized void remove(Long id) {
+        removeInternal(id);
+    }
+
+    /**
+     * 清空索引
+     */
+    public synchronized void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    /**
+     * 文档数量
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * 查询包含关键词的文档ID，按相关度排序：
+     * 字段完全相等 > 字段前缀匹配 > 子串匹配，同分时匹配字段越短越靠前
+     */
+    public List<Long> search(String keyword) {
+        String query = normalize(keyword);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        // 取出所有查询二元组（单字查询直接用单字倒排表），从最短的倒排表开始求交集
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            Set<Long> list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<ScoredId> hits = new ArrayList<>();
+        Set<Long> smallest = lists.get(0);
+        for (Long id : smallest) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (!inAll) {
+                continue;
+            }
+            String[] fields = documents.get(id);
+            if (fields != null) {
+                ScoredId hit = score(id, fields, query);
+                if (hit != null) {
+                    hits.add(hit);
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingInt((ScoredId h) -> -h.score)
+                .thenComparingInt(h -> h.length)
+                .thenComparing(h -> h.id));
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (ScoredId hit : hits) {
+            ids.add(hit.id);
+        }
+        return ids;
+    }
+
+    private void removeInternal(Long id) {
+        String[] old = documents.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String field : old) {
+            for (String gram : grams(field)) {
+                Set<Long> list = postings.get(gram);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(gram, list);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 二元组交集只保证字符都出现，需要再做一次连续子串校验
+     */
+    private ScoredId score(Long id, String[] fields, String query) {
+        int best = 0;
+        int length = Integer.MAX_VALUE;
+        for (String field : fields) {
+            int score;
+            if (field.equals(query)) {
+                score = 3;
+            } else if (field.startsWith(query)) {
+                score = 2;
+            } else if (field.contains(query)) {
+                score = 1;
+            } else {
+                continue;
+            }
+            if (score > best || (score == best && field.length() < length)) {
+                best = score;
+                length = field.length();
+            }
+        }
+        return best > 0 ? new ScoredId(id, best, length) : null;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> queryGrams(String query) {
+        if (query.length() == 1) {
+            return Set.of(query);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= query.length(); i++) {
+            grams.add(query.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ScoredId {
+        private final Long id;
+        private final int score;
+        private final int length;
+
+        private ScoredId(Long id, int score, int length) {
+            this.id = id;
+            this.score = score;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.service.NotificationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 实时通知服务实现类
+ * 连接建立后不占用请求线程（Servlet异步请求），空闲连接只占一个 SseEmitter 和一个小队列。
+ * 事件先放入每个连接自己的有界队列，由少量推送线程写出；某个连接积压超过队列容量时直接断开，
+ * 浏览器自动重连后按 Last-Event-ID 从最近事件缓冲中补发，慢客户端不会拖慢其他连接，也不会无限占用内存。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
+    private static final String EVENT_REVIEW = "review";
+    private static final String EVENT_ANNOUNCEMENT = "announcement";
+    // 要求的事件已不在补发缓冲中（如服务重启），页面应整页刷新
+    private static final String EVENT_RESYNC = "resync";
+
+    // 浏览器断线后的重连间隔
+    private static final long RETRY_MILLIS = 3000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int replaySize;
+
+    // 事件ID以启动时刻为起点，重启后旧ID一定小于新起点，据此判断需要整页刷新
+    private final long firstEventId = System.currentTimeMillis();
+    private final AtomicLong eventSequence = new AtomicLong(firstEventId);
+
+    // 最近的事件，供断线重连补发，按ID升序
+    private final Deque<Event> recentEvents = new ArrayDeque<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> studentSubscribers = new ConcurrentHashMap<>();
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    private final Executor dispatcher;
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationServiceImpl(@Value("${scholarship.notification.timeout:PT30M}") Duration timeout,
+                                   @Value("${scholarship.notification.heartbeat:PT25S}") Duration heartbeatInterval,
+                                   @Value("${scholarship.notification.queue-capacity:32}") int queueCapacity,
+                                   @Value("${scholarship.notification.replay-size:256}") int replaySize,
+                                   @Value("${scholarship.notification.dispatch-threads:2}") int dispatchThreads,
+                                   Environment environment) {
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = Math.max(4, queueCapacity);
+        this.replaySize = Math.max(0, replaySize);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // 虚拟线程模式下每次推送一个虚拟线程，写给慢客户端时阻塞的只是该虚拟线程
+            this.dispatcher = new VirtualThreadTaskExecutor("sse-dispatch-");
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.dispatcher = Executors.newFixedThreadPool(Math.max(1, dispatchThreads), runnable -> {
+                Thread thread = new Thread(runnable, "sse-dispatch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        long period = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long studentId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(studentId, emitter, queueCapacity);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        subscribers.add(subscriber);
+        if (studentId != null) {
+            studentSubscribers.computeIfAbsent(studentId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        // 先写一条注释使响应头立即发出，同时告知浏览器重连间隔
+        subscriber.queue.offer(Event.CONNECTED);
+        replay(subscriber, lastEventId);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void reviewDecided(Long studentId, Long reviewId, String reviewStatus) {
+        if (studentId == null) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("reviewId", reviewId);
+        data.put("reviewStatus", reviewStatus);
+        data.put("decidedAt", LocalDateTime.now());
+        publishAfterCommit(EVENT_REVIEW, studentId, data);
+    }
+
+    @Override
+    public void announcementPublished(Long announcementId, String title) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", announcementId);
+        data.put("title", title);
+        publishAfterCommit(EVENT_ANNOUNCEMENT, null, data);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connections", subscribers.size());
+        result.put("students", studentSubscribers.size());
+        result.put("lastEventId", eventSequence.get());
+        result.put("deliveredCount", deliveredCount.get());
+        result.put("overflowDisconnects", overflowCount.get());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        if (dispatcher instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * 事务提交后再推送，回滚的审核或公告不会被学生看到；无事务时立即推送
+     */
+    private void publishAfterCommit(String name, Long studentId, Map<String, Object> data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(name, studentId, data);
+                }
+            });
+        } else {
+            publish(name, studentId, data);
+        }
+    }
+
+    private void publish(String name, Long studentId, Map<String, Object> data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.warn("通知事件序列化失败: {}", name, e);
+            return;
+        }
+        Event event;
+        // 分配ID与写入补发缓冲在同一把锁内，保证缓冲按ID有序
+        synchronized (recentEvents) {
+            event = new Event(eventSequence.incrementAndGet(), name, studentId, json);
+            if (replaySize > 0) {
+                recentEvents.addLast(event);
+                while (recentEvents.size() > replaySize) {
+                    recentEvents.removeFirst();
+                }
+            }
+        }
+
+        Iterable<Subscriber> targets;
+        if (studentId == null) {
+            targets = subscribers;
+        } else {
+            Set<Subscriber> channel = studentSubscribers.get(studentId);
+            if (channel == null) {
+                return;
+            }
+            targets = channel;
+        }
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    /**
+     * 按 Last-Event-ID 补发断线期间属于该连接的事件
+     */
+    private void replay(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        List<Event> missed = new ArrayList<>();
+        boolean complete;
+        synchronized (recentEvents) {
+            Event oldest = recentEvents.peekFirst();
+            complete = lastId >= firstEventId && (oldest == null || lastId >= oldest.id - 1);
+            for (Event event : recentEvents) {
+                if (event.id > lastId && subscriber.accepts(event)) {
+                    missed.add(event);
+                }
+            }
+        }
+        if (!complete) {
+            subscriber.queue.offer(new Event(eventSequence.get(), EVENT_RESYNC, null, "{}"));
+            return;
+        }
+        for (Event event : missed) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Event event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            // 客户端读取跟不上，断开让其重连补发，而不是为它无限缓存
+            overflowCount.incrementAndGet();
+            log.debug("通知连接积压超过 {} 条，断开: studentId={}", queueCapacity, subscriber.studentId);
+            close(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            // 有待发事件的连接不需要额外心跳
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, Event.HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * 每个连接同一时刻至多一个推送任务，保证事件按序写出
+     */
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event.toSse());
+                if (event.name != null) {
+                    deliveredCount.incrementAndGet();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开或连接已结束
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        remove(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (RuntimeException e) {
+            log.trace("关闭通知连接失败", e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.queue.clear();
+        subscribers.remove(subscriber);
+        if (subscriber.studentId != null) {
+            studentSubscribers.computeIfPresent(subscriber.studentId, (id, channel) -> {
+                channel.remove(subscriber);
+                return channel.isEmpty() ? null : channel;
+            });
+        }
+    }
+
+    /**
+     * 一个SSE连接
+     */
+    private static class Subscriber {
+
+        private final Long studentId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Long studentId, SseEmitter emitter, int capacity) {
+            this.studentId = studentId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        boolean accepts(Event event) {
+            return event.studentId == null || event.studentId.equals(studentId);
+        }
+    }
+
+    /**
+     * 一条已序列化的事件，广播时所有连接共享同一实例；name 为空表示注释行（连接确认或心跳）
+     */
+    private static class Event {
+
+        static final Event CONNECTED = new Event(0, null, null, "connected");
+        static final Event HEARTBEAT = new Event(0, null, null, "heartbeat");
+
+        private final long id;
+        private final String name;
+        private final Long studentId;
+        private final String data;
+
+        Event(long id, String name, Long studentId, String data) {
+            this.id = id;
+            this.name = name;
+            this.studentId = studentId;
+            this.data = data;
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return this == CONNECTED
+                        ? SseEmitter.event().reconnectTime(RETRY_MILLIS).comment(data)
+                        : SseEmitter.event().comment(data);
+            }
+            return SseEmitter.event().id(Long.toString(id)).name(name).data(data);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.entity.Review;
+import com.example.scholarship.entity.ReviewDocument;
+import com.example.scholarship.entity.User;
+import com.example.scholarship.repository.ReviewDocumentRepository;
+import com.example.scholarship.repository.ReviewRepository;
+import com.example.scholarship.service.ReviewDocumentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 申请证明材料业务服务实现类
+ * 文件保存在 scholarship.documents.dir 下以申请ID命名的子目录中，文件名随机生成，与上传时的文件名无关。
+ * 该目录不得位于公开的 /uploads 映射之下，下载只经过带权限检查的 /documents/{id}
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class ReviewDocumentServiceImpl implements ReviewDocumentService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewDocumentServiceImpl.class);
+
+    /**
+     * 允许上传的扩展名及对应的内容类型
+     */
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "pdf", "application/pdf",
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg",
+            "png", "image/png");
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    @Autowired
+    private ReviewDocumentRepository reviewDocumentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Value("${scholarship.documents.dir:documents}")
+    private Path storageDir;
+
+    @Value("${scholarship.documents.max-per-review:10}")
+    private int maxPerReview;
+
+    @Override
+    @Transactional
+    public ReviewDocument upload(Long reviewId, Long studentId, Long userId, String originalName, InputStream content)
+            throws IOException {
+        String name = displayName(originalName);
+        String contentType = CONTENT_TYPES.get(extension(name));
+        if (contentType == null) {
+            throw new IllegalArgumentException("只能上传 PDF、JPG、PNG 格式的文件");
+        }
+        // 锁定申请行：同一申请的并发上传依次检查材料数，审核完成后不再接受材料
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
+                .orElseThrow(() -> new IllegalArgumentException("未找到申请记录"));
+        if (!review.getStudent().getId().equals(studentId)) {
+            throw new IllegalArgumentException("您无权为此申请上传材料");
+        }
+        if (!"pending".equals(review.getReviewStatus())) {
+            throw new IllegalStateException("只能为待审核的申请上传材料");
+        }
+        if (reviewDocumentRepository.countByReviewId(reviewId) >= maxPerReview) {
+            throw new IllegalStateException("每个申请最多上传 " + maxPerReview + " 份材料");
+        }
+
+        Path directory = reviewDirectory(reviewId);
+        Files.createDirectories(directory);
+        String storedName = UUID.randomUUID().toString().replace("-", "");
+        Path target = directory.resolve(storedName);
+        Path partial = directory.resolve(storedName + ".part");
+        MessageDigest digest = sha256();
+        long size;
+        try (InputStream in = new DigestInputStream(content, digest)) {
+            // 按块从上传流复制到磁盘，写完后再改名，读取方不会看到不完整的文件
+            size = Files.copy(in, partial);
+            if (size == 0) {
+                throw new IllegalArgumentException("不能上传空文件");
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        // 事务回滚时删除已写入的文件
+        afterRollback(() -> deleteQuietly(target));
+
+        ReviewDocument document = new ReviewDocument();
+        document.setReview(review);
+        document.setReviewId(reviewId);
+        document.setOriginalName(name);
+        document.setStoredName(storedName);
+        document.setContentType(contentType);
+        document.setFileSize(size);
+        document.setSha256(HexFormat.of().formatHex(digest.digest()));
+        document.setUploadedBy(userId);
+        ReviewDocument saved = reviewDocumentRepository.save(document);
+        log.info("申请 {} 上传材料 {}（{} 字节）", reviewId, name, size);
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDocument> findByReviewId(Long reviewId) {
+        return reviewDocumentRepository.findByReviewIdOrderByIdAsc(reviewId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<ReviewDocument>> findByReviewIds(Collection<Long> reviewIds) {
+        if (reviewIds.isEmpty()) {
+            return Map.of();
+        }
+        return reviewDocumentRepository.findByReviewIdInOrderByIdAsc(reviewIds).stream()
+                .collect(Collectors.groupingBy(ReviewDocument::getReviewId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ReviewDocument> findForDownload(Long documentId, UserPrincipal user) {
+        Optional<ReviewDocument> document = reviewDocumentRepository.findWithReviewById(documentId);
+        if (document.isPresent()) {
+            Review review = document.get().getReview();
+            // 审核只由管理员进行；reviewerId 在提交时填的是占位值，不代表该用户负责审核此申请
+            boolean allowed = user.getUserType() == User.UserType.ADMIN
+                    || Objects.equals(review.getStudent().getUserId(), user.getId());
+            if (!allowed) {
+                throw new AccessDeniedException("无权查看此材料");
+            }
+        }
+        return document;
+    }
+
+    @Override
+    public Path resolvePath(ReviewDocument document) {
+        return reviewDirectory(document.getReviewId()).resolve(document.getStoredName());
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long documentId, Long studentId) {
+        ReviewDocument document = reviewDocumentRepository.findWithReviewById(documentId)
+                .orElseThrow(() -> new IllegalArgumentException("未找到材料"));
+        Review review = document.getReview();
+        if (!review.getStudent().getId().equals(studentId)) {
+            throw new IllegalArgumentException("您无权删除此材料");
+        }
+        if (!"pending".equals(review.getReviewStatus())) {
+            throw new IllegalStateException("申请已审核，材料不能删除");
+        }
+        reviewDocumentRepository.delete(document);
+        Path file = resolvePath(document);
+        afterCommit(() -> deleteQuietly(file));
+    }
+
+    @Override
+    public void deleteFiles(Long reviewId) {
+        Path directory = reviewDirectory(reviewId);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("删除申请 {} 的材料文件失败: {}", reviewId, e.getMessage());
+        }
+        deleteQuietly(directory);
+    }
+
+    private Path reviewDirectory(Long reviewId) {
+        return storageDir.resolve(String.valueOf(reviewId));
+    }
+
+    /**
+     * 去掉客户端可能带上的路径部分，只保留文件名
+     */
+    private static String displayName(String originalName) {
+        if (originalName == null || originalName.isBlank()) {
+            throw new IllegalArgumentException("请选择要上传的文件");
+        }
+        String name = Paths.get(originalName.replace('\\', '/')).getFileName().toString().strip();
+        return name.length() > MAX_NAME_LENGTH ? name.substring(name.length() - MAX_NAME_LENGTH) : name;
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除材料文件 {} 失败: {}", path, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+}
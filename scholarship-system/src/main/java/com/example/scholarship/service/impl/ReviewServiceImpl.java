@@ -1,16 +1,37 @@
 package com.example.scholarship.service.impl;
 
+import com.example.scholarship.dto.BulkDecisionResult;
+import com.example.scholarship.dto.ReviewDto;
+import com.example.scholarship.dto.ReviewQueuePage;
 import com.example.scholarship.entity.Review;
-import com.example.scholarship.entity.ScholarshipType;
 import com.example.scholarship.entity.Student;
+import com.example.scholarship.exception.ApplicationRefusedException;
 import com.example.scholarship.repository.ReviewRepository;
 import com.example.scholarship.repository.ScholarshipTypeRepository;
 import com.example.scholarship.repository.StudentRepository;
+import com.example.scholarship.service.EligibilityService;
+import com.example.scholarship.service.NotificationService;
 import com.example.scholarship.service.ReviewService;
+import com.example.scholarship.service.SearchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.LocalDateTime;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * 评审业务服务实现类
@@ -21,6 +42,18 @@ import java.time.LocalDateTime;
 @Service
 public class ReviewServiceImpl implements ReviewService {
 
+    /**
+     * 按ID过滤评审记录时IN参数的上限
+     */
+    private static final int MAX_MATCHED_IDS = 1000;
+    
+    private static final List<Long> NO_MATCH = List.of(-1L);
+    
+    /**
+     * 每位学生同时有效（非rejected状态）的申请上限
+     */
+    private static final long MAX_ACTIVE_APPLICATIONS = 2;
+
     @Autowired
     private ReviewRepository reviewRepository;
     
@@ -29,45 +62,124 @@ public class ReviewServiceImpl implements ReviewService {
     
     @Autowired
     private ScholarshipTypeRepository scholarshipTypeRepository;
+
+    @Autowired
+    private ScholarshipTypeService scholarshipTypeService;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private EligibilityService eligibilityService;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    // 申请提交吞吐量：成功提交（事务已提交）、被规则拒绝、其他失败（锁超时、数据库错误等）分别计数
+    private final Counter submittedApplications;
+    
+    private final Counter refusedApplications;
+    
+    private final Counter failedApplications;
+    
+    @Autowired
+    public ReviewServiceImpl(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.submittedApplications = Counter.builder("scholarship.applications.submitted")
+                .description("奖学金申请提交次数")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.refusedApplications = Counter.builder("scholarship.applications.submitted")
+                .description("奖学金申请提交次数")
+                .tag("outcome", "refused")
+                .register(meterRegistry);
+        this.failedApplications = Counter.builder("scholarship.applications.submitted")
+                .description("奖学金申请提交次数")
+                .tag("outcome", "error")
+                .register(meterRegistry);
+    }
     
     /**
      * 提交奖学金申请，实现防重复申请逻辑
-     * 同一学生对同一奖学金类型只能有一个非rejected状态的申请
+     * 同一学生对同一奖学金类型只能有一个非rejected状态的申请，且有效申请最多2个
+     *
+     * 先对学生行加写锁，使同一学生的并发提交（重复点击、脚本提交）串行执行，
+     * 再用一条聚合查询完成全部规则校验，最后插入评审记录。
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public Review submitApplication(Long userId, Long scholarshipTypeId) throws Exception {
-        // 根据用户ID查找学生信息
-        Student student = studentRepository.findByUserId(userId)
+        try {
+            Review review = createApplication(userId, scholarshipTypeId);
+            countOnCompletion();
+            return review;
+        } catch (ApplicationRefusedException e) {
+            refusedApplications.increment();
+            throw e;
+        } catch (Exception e) {
+            failedApplications.increment();
+            throw e;
+        }
+    }
+    
+    /**
+     * 事务提交后才计为成功提交，提交失败计为其他失败
+     */
+    private void countOnCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submittedApplications.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                (status == STATUS_COMMITTED ? submittedApplications : failedApplications).increment();
+            }
+        });
+    }
+    
+    private Review createApplication(Long userId, Long scholarshipTypeId) throws Exception {
+        // 奖学金类型取自内存目录，不存在时在加锁前直接拒绝
+        if (!scholarshipTypeService.exists(scholarshipTypeId)) {
+            throw new ApplicationRefusedException("奖学金类型不存在");
+        }
+        
+        // 根据用户ID查找学生信息并加锁，锁在事务提交时释放
+        Student student = studentRepository.findByUserIdForUpdate(userId)
                 .orElseThrow(() -> new Exception("未找到学生信息，请联系管理员"));
         
-        // 验证奖学金类型是否存在
-        ScholarshipType scholarshipType = scholarshipTypeRepository.findById(scholarshipTypeId)
-                .orElseThrow(() -> new Exception("奖学金类型不存在"));
+        // 检查是否满足该奖学金的申请条件
+        if (!eligibilityService.isEligible(student.getId(), scholarshipTypeId)) {
+            throw new ApplicationRefusedException("您不符合该奖学金的申请条件");
+        }
+        
+        // 一次查询得到：有效申请总数、该类型已通过数、该类型有效申请数
+        Object[] summary = reviewRepository.summarizeActiveApplications(student.getId(), scholarshipTypeId).get(0);
+        long currentApplicationCount = ((Number) summary[0]).longValue();
+        long approvedCount = ((Number) summary[1]).longValue();
+        long activeCount = ((Number) summary[2]).longValue();
         
-        // 检查学生当前有效申请数量是否已经达到2个（非rejected状态）
-        long currentApplicationCount = reviewRepository.countByStudentIdAndReviewStatusNot(
-                student.getId(), "rejected");
-        if (currentApplicationCount >= 2) {
-            throw new Exception("每位学生最多只能申请两种奖学金，请不要超过限制");
+        // 检查学生当前有效申请数量是否已经达到上限（非rejected状态）
+        if (currentApplicationCount >= MAX_ACTIVE_APPLICATIONS) {
+            throw new ApplicationRefusedException("每位学生最多只能申请两种奖学金，请不要超过限制");
         }
         
         // 检查是否已经通过该奖学金的申请
-        if (reviewRepository.existsByStudentIdAndScholarshipTypeIdAndReviewStatus(
-                student.getId(), scholarshipTypeId, "approved")) {
-            throw new Exception("您已经通过该奖学金的申请，无需再次申请");
+        if (approvedCount > 0) {
+            throw new ApplicationRefusedException("您已经通过该奖学金的申请，无需再次申请");
         }
         
         // 检查是否已存在非rejected状态的申请
-        if (reviewRepository.existsByStudentIdAndScholarshipTypeIdAndReviewStatusNot(
-                student.getId(), scholarshipTypeId, "rejected")) {
-            throw new Exception("您已经提交过该奖学金的申请，请不要重复申请");
+        if (activeCount > 0) {
+            throw new ApplicationRefusedException("您已经提交过该奖学金的申请，请不要重复申请");
         }
         
-        // 创建新的评审记录
+        // 创建新的评审记录，奖学金类型使用引用代理，存在性已按目录校验（外键约束兜底）
         Review review = new Review();
         review.setStudent(student);
-        review.setScholarshipType(scholarshipType);
+        review.setScholarshipType(scholarshipTypeRepository.getReferenceById(scholarshipTypeId));
         // 使用实体类默认的reviewStatus值，不手动设置
         review.setCreatedBy(userId);
         review.setUpdatedBy(userId);
@@ -75,7 +187,197 @@ public class ReviewServiceImpl implements ReviewService {
         review.setReviewerId(1L);
         // 时间戳和版本号由AuditingEntityListener自动处理，不需要手动设置
         
-        // 保存评审记录
-        return reviewRepository.save(review);
+        // 保存评审记录；奖学金类型已在加锁前按目录校验，其他约束冲突原样抛出
+        return reviewRepository.saveAndFlush(review);
+    }
+    
+    /**
+     * 键集分页获取评审队列，多取一条用于判断是否还有下一页
+     * 关键词先经搜索索引解析为学生/奖学金类型ID，再按ID过滤评审记录
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewQueuePage<ReviewDto> getReviewQueue(String keyword, Long cursorId, int pageSize) {
+        String trimmed = keyword != null ? keyword.trim() : "";
+        SearchMatches matches = resolveMatches(trimmed);
+        List<ReviewDto> rows = findQueueRows(trimmed, matches, cursorId, pageSize + 1);
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<ReviewDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        ReviewDto last = items.isEmpty() ? null : items.get(items.size() - 1);
+        
+        return new ReviewQueuePage<>(items, hasMore,
+                hasMore ? last.getId() : null,
+                countByStatus(trimmed, matches));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDto> findReviewBatch(String keyword, Long cursorId, int limit) {
+        String trimmed = keyword != null ? keyword.trim() : "";
+        return findQueueRows(trimmed, resolveMatches(trimmed), cursorId, limit);
+    }
+    
+    private List<ReviewDto> findQueueRows(String keyword, SearchMatches matches,
+                                          Long cursorId, int limit) {
+        boolean hasCursor = cursorId != null;
+        Pageable pageable = PageRequest.of(0, limit);
+        if (keyword.isEmpty()) {
+            return hasCursor
+                    ? reviewRepository.findQueuePageBefore(cursorId, pageable)
+                    : reviewRepository.findQueueFirstPage(pageable);
+        } else if (matches == null) {
+            // 命中过多时ID列表不适合作为IN参数，退回LIKE查询
+            return hasCursor
+                    ? reviewRepository.searchQueuePageBefore(keyword, cursorId, pageable)
+                    : reviewRepository.searchQueueFirstPage(keyword, pageable);
+        } else {
+            return hasCursor
+                    ? reviewRepository.findQueuePageBeforeByMatches(matches.studentIds, matches.typeIds, cursorId, pageable)
+                    : reviewRepository.findQueueFirstPageByMatches(matches.studentIds, matches.typeIds, pageable);
+        }
+    }
+    
+    /**
+     * 单条GROUP BY查询统计各状态数量
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countReviewsByStatus(String keyword) {
+        String trimmed = keyword != null ? keyword.trim() : "";
+        return countByStatus(trimmed, resolveMatches(trimmed));
+    }
+    
+    private Map<String, Long> countByStatus(String keyword, SearchMatches matches) {
+        List<Object[]> rows;
+        if (keyword.isEmpty()) {
+            rows = reviewRepository.countReviewsByStatus();
+        } else if (matches == null) {
+            rows = reviewRepository.countReviewsByStatusAndKeyword(keyword);
+        } else {
+            rows = reviewRepository.countReviewsByStatusAndMatches(matches.studentIds, matches.typeIds);
+        }
+        
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+    
+    /**
+     * 通过搜索索引解析关键词命中的学生与奖学金类型ID
+     * @return 命中结果；关键词为空或命中学生数超过上限时返回null
+     */
+    private SearchMatches resolveMatches(String keyword) {
+        if (keyword.isEmpty()) {
+            return null;
+        }
+        List<Long> studentIds = searchService.matchStudentIds(keyword);
+        if (studentIds.size() > MAX_MATCHED_IDS) {
+            return null;
+        }
+        List<Long> typeIds = searchService.matchScholarshipTypeIds(keyword);
+        // 空集合作为IN参数在部分数据库上不合法，用不存在的ID占位
+        return new SearchMatches(
+                studentIds.isEmpty() ? NO_MATCH : studentIds,
+                typeIds.isEmpty() ? NO_MATCH : typeIds);
+    }
+    
+    /**
+     * 搜索索引命中的ID集合
+     */
+    private static class SearchMatches {
+        private final List<Long> studentIds;
+        private final List<Long> typeIds;
+        
+        SearchMatches(List<Long> studentIds, List<Long> typeIds) {
+            this.studentIds = studentIds;
+            this.typeIds = typeIds;
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ReviewDto> findReviewDetail(Long reviewId) {
+        return reviewRepository.findDtoById(reviewId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDto> findStudentApplications(Long studentId) {
+        return reviewRepository.findDtosByStudentId(studentId);
+    }
+    
+    /**
+     * 批量审核
+     * 全部申请以一条IN查询加载，修改后统一flush，由JDBC批量执行带版本号条件的UPDATE。
+     * 若加载之后有其他事务修改了其中的申请，flush会因版本号不符失败；此时以首次加载时的版本号为准重试一次，
+     * 被修改的申请作为冲突返回，其余申请正常提交。
+     */
+    @Override
+    public BulkDecisionResult decideReviews(Collection<Long> reviewIds, Map<Long, Integer> expectedVersions,
+                                            String action, String comments, Long reviewerId) {
+        String status;
+        if ("approve".equals(action)) {
+            status = "approved";
+        } else if ("reject".equals(action)) {
+            status = "rejected";
+        } else {
+            throw new IllegalArgumentException("无效的操作类型");
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(reviewIds));
+        Map<Long, Integer> versions = new HashMap<>(expectedVersions);
+        
+        try {
+            return transactionTemplate.execute(tx -> applyDecisions(ids, versions, status, comments, reviewerId));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return transactionTemplate.execute(tx -> applyDecisions(ids, versions, status, comments, reviewerId));
+        }
+    }
+    
+    /**
+     * 在当前事务中应用批量审核，versions 中没有的申请记入本次加载到的版本号，供重试时比较
+     */
+    private BulkDecisionResult applyDecisions(List<Long> ids, Map<Long, Integer> versions,
+                                              String status, String comments, Long reviewerId) {
+        Map<Long, Review> loaded = new HashMap<>();
+        for (Review review : reviewRepository.findAllById(ids)) {
+            loaded.put(review.getId(), review);
+        }
+        
+        Map<Long, BulkDecisionResult.Outcome> outcomes = new HashMap<>();
+        for (Long id : ids) {
+            Review review = loaded.get(id);
+            if (review == null) {
+                outcomes.put(id, BulkDecisionResult.Outcome.NOT_FOUND);
+                continue;
+            }
+            Integer expected = versions.putIfAbsent(id, review.getVersion());
+            if (expected != null && !expected.equals(review.getVersion())) {
+                outcomes.put(id, BulkDecisionResult.Outcome.VERSION_CONFLICT);
+            } else if (!"pending".equals(review.getReviewStatus())) {
+                outcomes.put(id, BulkDecisionResult.Outcome.NOT_PENDING);
+            } else {
+                review.setReviewStatus(status);
+                review.setReviewerId(reviewerId);
+                review.setUpdatedBy(reviewerId);
+                if (comments != null && !comments.trim().isEmpty()) {
+                    review.setComments(comments);
+                }
+                outcomes.put(id, BulkDecisionResult.Outcome.UPDATED);
+                notificationService.reviewDecided(review.getStudent().getId(), id, status);
+            }
+        }
+        reviewRepository.flush();
+        
+        List<BulkDecisionResult.Item> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Review review = loaded.get(id);
+            items.add(new BulkDecisionResult.Item(id, outcomes.get(id),
+                    review != null ? review.getReviewStatus() : null,
+                    review != null ? review.getVersion() : null));
+        }
+        return new BulkDecisionResult(items);
     }
 }
@@ -2,38 +2,160 @@ package com.example.scholarship.service.impl;
 
 import com.example.scholarship.entity.ScholarshipType;
 import com.example.scholarship.repository.ScholarshipTypeRepository;
+import com.example.scholarship.service.EligibilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 奖学金类型业务服务类
- * 
+ * 奖学金类型只有几十条、每学期才变动，读取全部来自内存中的目录快照（ID索引和按ID排序的列表），
+ * 申请页面等热路径不再查询数据库。快照在启动完成时加载，通过 save 修改后在事务提交时整体重建并替换；
+ * 快照中的实体供只读使用，修改需复制后经 save 写回。目录版本由各类型的ID和版本号计算，供页面片段缓存作键。
+ *
  * @author System
  * @version 1.0.0
  */
 @Service("scholarshipTypeService")
 public class ScholarshipTypeService {
 
+    private static final Logger log = LoggerFactory.getLogger(ScholarshipTypeService.class);
+
     @Autowired
     private ScholarshipTypeRepository scholarshipTypeRepository;
-    
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    // 加载期间要查询数据库，用显式锁而非 synchronized，虚拟线程等待时不会钉住载体线程
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Catalog catalog;
+
     public List<ScholarshipType> findAll() {
-        return scholarshipTypeRepository.findAll();
+        return current().types;
     }
-    
+
     public Optional<ScholarshipType> findById(Long id) {
-        return scholarshipTypeRepository.findById(id);
+        return Optional.ofNullable(id != null ? current().byId.get(id) : null);
+    }
+
+    /**
+     * 奖学金类型是否存在
+     */
+    public boolean exists(Long id) {
+        return id != null && current().byId.containsKey(id);
+    }
+
+    /**
+     * 目录版本，任一类型增删改后变化
+     */
+    public String getCatalogVersion() {
+        return current().version;
     }
-    
-    public List<ScholarshipType> getAvailableScholarships() {
-        // 简单实现，返回所有奖学金类型
-        return scholarshipTypeRepository.findAll();
+
+    /**
+     * 获取学生满足申请条件的奖学金类型
+     */
+    public List<ScholarshipType> getAvailableScholarships(Long studentId) {
+        Set<Long> eligibleTypeIds = eligibilityService.findEligibleTypeIds(studentId);
+        return current().types.stream()
+                .filter(type -> eligibleTypeIds.contains(type.getId()))
+                .collect(java.util.stream.Collectors.toList());
     }
-    
+
     public ScholarshipType save(ScholarshipType scholarshipType) {
-        return scholarshipTypeRepository.save(scholarshipType);
+        ScholarshipType saved = scholarshipTypeRepository.save(scholarshipType);
+        // 外层事务回滚时快照保持不变；申请条件可能变化，提交后重新评定资格（重建须读到已提交的数据）
+        afterCommit(() -> {
+            reload();
+            eligibilityService.markStale();
+        });
+        return saved;
+    }
+
+    /**
+     * 应用启动完成后加载目录
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        reloadLock.lock();
+        try {
+            List<ScholarshipType> types = scholarshipTypeRepository.findAll();
+            types.sort(Comparator.comparing(ScholarshipType::getId));
+            Map<Long, ScholarshipType> byId = new LinkedHashMap<>();
+            for (ScholarshipType type : types) {
+                byId.put(type.getId(), type);
+            }
+            catalog = new Catalog(List.copyOf(types), Map.copyOf(byId));
+            log.info("奖学金类型目录已加载: {} 个类型", types.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 返回当前目录；启动完成前被访问时同步加载
+     */
+    private Catalog current() {
+        Catalog current = catalog;
+        if (current != null) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            if (catalog == null) {
+                reload();
+            }
+            return catalog;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 不可变的目录快照
+     */
+    private static final class Catalog {
+        private final List<ScholarshipType> types;
+        private final Map<Long, ScholarshipType> byId;
+        private final String version;
+
+        private Catalog(List<ScholarshipType> types, Map<Long, ScholarshipType> byId) {
+            this.types = types;
+            this.byId = byId;
+            long hash = 1125899906842597L;
+            for (ScholarshipType type : types) {
+                hash = 31 * hash + type.getId();
+                hash = 31 * hash + (type.getVersion() != null ? type.getVersion() : 0);
+            }
+            this.version = "types-" + types.size() + "-" + Long.toHexString(hash);
+        }
     }
 }
@@ -0,0 +1,176 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.entity.BaseEntity;
+import com.example.scholarship.entity.ScholarshipType;
+import com.example.scholarship.entity.Student;
+import com.example.scholarship.entity.User;
+import com.example.scholarship.repository.ScholarshipTypeRepository;
+import com.example.scholarship.repository.StudentRepository;
+import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 关键词搜索服务实现类
+ * 启动时从数据库全量构建索引，之后由实体监听器在事务提交后增量同步
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    private final NGramIndex studentIndex = new NGramIndex();
+
+    private final NGramIndex userIndex = new NGramIndex();
+
+    private final NGramIndex scholarshipTypeIndex = new NGramIndex();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScholarshipTypeRepository scholarshipTypeRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> searchUsers(String keyword, Pageable pageable) {
+        return loadPage(userIndex.search(keyword), pageable, userRepository);
+    }
+
+    @Override
+    public List<Long> matchStudentIds(String keyword) {
+        return studentIndex.search(keyword);
+    }
+
+    @Override
+    public List<Long> matchScholarshipTypeIds(String keyword) {
+        return scholarshipTypeIndex.search(keyword);
+    }
+
+    @Override
+    public void onEntitySaved(Object entity) {
+        afterCommit(() -> index(entity));
+    }
+
+    @Override
+    public void onEntityRemoved(Object entity) {
+        afterCommit(() -> unindex(entity));
+    }
+
+    /**
+     * 应用启动完成后构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        studentIndex.clear();
+        for (Object[] row : studentRepository.findSearchFields()) {
+            studentIndex.put((Long) row[0], (String) row[1], (String) row[2]);
+        }
+
+        userIndex.clear();
+        for (Object[] row : userRepository.findSearchFields()) {
+            userIndex.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+        }
+
+        scholarshipTypeIndex.clear();
+        for (ScholarshipType type : scholarshipTypeRepository.findAll()) {
+            scholarshipTypeIndex.put(type.getId(), type.getName());
+        }
+
+        log.info("搜索索引构建完成: 学生 {} 条, 用户 {} 条, 奖学金类型 {} 条, 耗时 {} ms",
+                studentIndex.size(), userIndex.size(), scholarshipTypeIndex.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void index(Object entity) {
+        if (entity instanceof Student student) {
+            studentIndex.put(student.getId(), student.getName(), student.getStudentNo());
+        } else if (entity instanceof User user) {
+            if (Boolean.TRUE.equals(user.getIsDeleted())) {
+                userIndex.remove(user.getId());
+            } else {
+                userIndex.put(user.getId(), user.getUsername(), user.getRealName(), user.getEmail());
+            }
+        } else if (entity instanceof ScholarshipType type) {
+            scholarshipTypeIndex.put(type.getId(), type.getName());
+        }
+    }
+
+    private void unindex(Object entity) {
+        if (entity instanceof Student student) {
+            studentIndex.remove(student.getId());
+        } else if (entity instanceof User user) {
+            userIndex.remove(user.getId());
+        } else if (entity instanceof ScholarshipType type) {
+            scholarshipTypeIndex.remove(type.getId());
+        }
+    }
+
+    /**
+     * 在事务提交后执行索引更新，回滚的修改不会进入索引
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 按排序后的ID切出当前页，再一次性按ID加载实体并恢复相关度顺序
+     */
+    private <T extends BaseEntity> Page<T> loadPage(
+            List<Long> rankedIds, Pageable pageable, JpaRepository<T, Long> repository) {
+        List<Long> pageIds = rankedIds;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+            int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+            pageIds = rankedIds.subList(from, to);
+        }
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, rankedIds.size());
+        }
+
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < pageIds.size(); i++) {
+            order.put(pageIds.get(i), i);
+        }
+        List<T> content = new ArrayList<>(repository.findAllById(pageIds));
+        content.sort(Comparator.comparingInt(e -> order.get(e.getId())));
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+}
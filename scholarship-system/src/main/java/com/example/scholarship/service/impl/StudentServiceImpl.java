@@ -31,6 +31,11 @@ public class StudentServiceImpl implements StudentService {
         // 通过自定义查询方法根据userId查找学生
         return studentRepository.findByUserId(userId);
     }
-    
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Student> findById(Long id) {
+        return studentRepository.findById(id);
+    }
 
 }
@@ -0,0 +1,378 @@
+package com.example.scholarship.service.impl;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 表格文件逐行读取器
+ * 支持CSV和XLSX，两者都按行流式解析，内存占用与文件行数无关（XLSX的共享字符串表除外）。
+ * XLSX直接解析OOXML而不依赖POI，只读取第一个工作表的单元格文本值，不计算公式。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+abstract class TabularFileReader implements Closeable {
+
+    private static final Charset GB18030 = Charset.forName("GB18030");
+
+    /**
+     * 是否支持该文件（按扩展名判断）
+     */
+    static boolean isSupported(String fileName) {
+        String lower = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".xlsx") || lower.endsWith(".csv") || lower.endsWith(".txt");
+    }
+
+    /**
+     * 按扩展名打开文件
+     */
+    static TabularFileReader open(Path file, String fileName) throws IOException {
+        if (!isSupported(fileName)) {
+            throw new IllegalArgumentException("不支持的文件格式，请上传CSV或XLSX文件");
+        }
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx") ? new XlsxReader(file) : new CsvReader(file);
+    }
+
+    /**
+     * 读取下一行，文件结束时返回null
+     */
+    abstract String[] readRow() throws IOException;
+
+    /**
+     * 最近读取的行在表格中的行号，从1开始
+     */
+    abstract int getRowNumber();
+
+    /**
+     * CSV读取器，按RFC 4180处理引号、转义引号和引号内换行。
+     * 带BOM或前64KB是合法UTF-8时按UTF-8读取，否则按GB18030读取（Excel中文版另存的CSV）。
+     */
+    private static class CsvReader extends TabularFileReader {
+
+        private static final int DETECT_BYTES = 64 * 1024;
+
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private int rowNumber;
+        private int pushedBack = -1;
+
+        CsvReader(Path file) throws IOException {
+            BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file), DETECT_BYTES);
+            this.reader = new BufferedReader(new InputStreamReader(in, detectCharset(in)));
+        }
+
+        private static Charset detectCharset(BufferedInputStream in) throws IOException {
+            in.mark(DETECT_BYTES);
+            byte[] head = in.readNBytes(DETECT_BYTES);
+            in.reset();
+            if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+                in.skip(3);
+                return StandardCharsets.UTF_8;
+            }
+            // 截断处可能落在多字节字符中间，只检查到最后一个换行符为止
+            int end = head.length;
+            if (head.length == DETECT_BYTES) {
+                while (end > 0 && head[end - 1] != '\n') {
+                    end--;
+                }
+            }
+            try {
+                StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT)
+                        .decode(ByteBuffer.wrap(head, 0, end));
+                return StandardCharsets.UTF_8;
+            } catch (CharacterCodingException e) {
+                return GB18030;
+            }
+        }
+
+        @Override
+        String[] readRow() throws IOException {
+            List<String> values = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = next()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        int peek = next();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            pushedBack = peek;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int peek = next();
+                        if (peek != '\n') {
+                            pushedBack = peek;
+                        }
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            values.add(field.toString());
+            rowNumber++;
+            return values.toArray(new String[0]);
+        }
+
+        private int next() throws IOException {
+            if (pushedBack != -1) {
+                int c = pushedBack;
+                pushedBack = -1;
+                return c;
+            }
+            return reader.read();
+        }
+
+        @Override
+        int getRowNumber() {
+            return rowNumber;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * XLSX读取器，先载入共享字符串表，再用StAX流式读取第一个工作表
+     */
+    private static class XlsxReader extends TabularFileReader {
+
+        private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+        private final ZipFile zip;
+        private final List<String> sharedStrings;
+        private final InputStream sheetStream;
+        private final XMLStreamReader sheet;
+        private int rowNumber;
+
+        XlsxReader(Path file) throws IOException {
+            this.zip = new ZipFile(file.toFile());
+            try {
+                this.sharedStrings = readSharedStrings();
+                ZipEntry sheetEntry = zip.getEntry(firstSheetPath());
+                if (sheetEntry == null) {
+                    throw new IllegalArgumentException("XLSX文件中没有工作表");
+                }
+                this.sheetStream = zip.getInputStream(sheetEntry);
+                this.sheet = newFactory().createXMLStreamReader(sheetStream);
+            } catch (XMLStreamException e) {
+                zip.close();
+                throw new IOException("XLSX文件格式不正确", e);
+            } catch (IOException | RuntimeException e) {
+                zip.close();
+                throw e;
+            }
+        }
+
+        private static XMLInputFactory newFactory() {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
+        }
+
+        /**
+         * 按 workbook.xml 中第一个 sheet 的关系ID找到工作表路径，找不到时退回 sheet1.xml
+         */
+        private String firstSheetPath() throws IOException, XMLStreamException {
+            String relId = null;
+            ZipEntry workbook = zip.getEntry("xl/workbook.xml");
+            if (workbook != null) {
+                try (InputStream in = zip.getInputStream(workbook)) {
+                    XMLStreamReader xml = newFactory().createXMLStreamReader(in);
+                    while (xml.hasNext() && relId == null) {
+                        if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                            relId = xml.getAttributeValue(REL_NS, "id");
+                        }
+                    }
+                    xml.close();
+                }
+            }
+            ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+            if (relId != null && rels != null) {
+                try (InputStream in = zip.getInputStream(rels)) {
+                    XMLStreamReader xml = newFactory().createXMLStreamReader(in);
+                    while (xml.hasNext()) {
+                        if (xml.next() == XMLStreamConstants.START_ELEMENT
+                                && "Relationship".equals(xml.getLocalName())
+                                && relId.equals(xml.getAttributeValue(null, "Id"))) {
+                            String target = xml.getAttributeValue(null, "Target");
+                            xml.close();
+                            return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                        }
+                    }
+                    xml.close();
+                }
+            }
+            return "xl/worksheets/sheet1.xml";
+        }
+
+        private List<String> readSharedStrings() throws IOException, XMLStreamException {
+            List<String> strings = new ArrayList<>();
+            ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+            if (entry == null) {
+                return strings;
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                XMLStreamReader xml = newFactory().createXMLStreamReader(in);
+                StringBuilder text = new StringBuilder();
+                boolean inPhonetic = false;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("si".equals(name)) {
+                            text.setLength(0);
+                        } else if ("rPh".equals(name)) {
+                            inPhonetic = true;
+                        } else if ("t".equals(name) && !inPhonetic) {
+                            text.append(xml.getElementText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("si".equals(name)) {
+                            strings.add(text.toString());
+                        } else if ("rPh".equals(name)) {
+                            inPhonetic = false;
+                        }
+                    }
+                }
+                xml.close();
+            }
+            return strings;
+        }
+
+        @Override
+        String[] readRow() throws IOException {
+            try {
+                while (sheet.hasNext()) {
+                    if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                        String r = sheet.getAttributeValue(null, "r");
+                        rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                        return readCells();
+                    }
+                }
+                return null;
+            } catch (XMLStreamException e) {
+                throw new IOException("XLSX文件第 " + rowNumber + " 行格式不正确", e);
+            }
+        }
+
+        private String[] readCells() throws XMLStreamException {
+            String[] values = new String[0];
+            int nextColumn = 0;
+            while (sheet.hasNext()) {
+                int event = sheet.next();
+                if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    break;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(sheet.getLocalName())) {
+                    continue;
+                }
+                String ref = sheet.getAttributeValue(null, "r");
+                int column = ref != null ? columnIndex(ref) : nextColumn;
+                String type = sheet.getAttributeValue(null, "t");
+                String value = readCellValue(type);
+                if (column >= values.length) {
+                    int oldLength = values.length;
+                    values = Arrays.copyOf(values, column + 1);
+                    Arrays.fill(values, oldLength, values.length, "");
+                }
+                values[column] = value;
+                nextColumn = column + 1;
+            }
+            return values;
+        }
+
+        private String readCellValue(String type) throws XMLStreamException {
+            StringBuilder raw = new StringBuilder();
+            while (sheet.hasNext()) {
+                int event = sheet.next();
+                if (event == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+                    break;
+                }
+                if (event == XMLStreamConstants.START_ELEMENT
+                        && ("v".equals(sheet.getLocalName()) || "t".equals(sheet.getLocalName()))) {
+                    raw.append(sheet.getElementText());
+                }
+            }
+            String value = raw.toString();
+            if ("s".equals(type) && !value.isBlank()) {
+                int index = Integer.parseInt(value.trim());
+                return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+            }
+            if (type == null || "n".equals(type)) {
+                // 整数存成数字的学号、手机号等，去掉小数部分的 .0
+                return value.matches("-?\\d+\\.0+") ? value.substring(0, value.indexOf('.')) : value;
+            }
+            return value;
+        }
+
+        private static int columnIndex(String ref) {
+            int column = 0;
+            for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+                column = column * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+            }
+            return column - 1;
+        }
+
+        @Override
+        int getRowNumber() {
+            return rowNumber;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                sheet.close();
+            } catch (XMLStreamException ignored) {
+                // 关闭底层流即可
+            }
+            sheetStream.close();
+            zip.close();
+        }
+    }
+}
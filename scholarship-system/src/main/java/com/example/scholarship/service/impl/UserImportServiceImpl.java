@@ -0,0 +1,855 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.ImportProgress;
+import com.example.scholarship.entity.Role;
+import com.example.scholarship.entity.Student;
+import com.example.scholarship.entity.User;
+import com.example.scholarship.repository.StudentRepository;
+import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.EligibilityService;
+import com.example.scholarship.service.SearchService;
+import com.example.scholarship.service.UserImportService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 用户/学生批量导入服务实现类
+ * 导入在单独的后台线程中按块进行：读取一块行并校验去重后，把BCrypt加密交给有界的并行线程池，
+ * 同时写入上一块，因此解析、加密和写库互相重叠。每块在一个事务中用JDBC批量插入，提交后才计入进度；
+ * 任务失败或取消后可从最后提交的行之后继续，重新上传同一文件时已存在的用户名会被跳过。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private static final int MAX_RECENT_JOBS = 20;
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private static final String INSERT_USER =
+            "INSERT INTO tbl_user (username, password, real_name, email, phone, status, user_type, login_count, " +
+            "is_deleted, version, created_at, updated_at, created_by, updated_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0, FALSE, 0, ?, ?, ?, ?)";
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO tbl_student (student_no, name, gender, college, major, class, grade, contact, " +
+            "enrollment_date, is_graduated, study_years, id_card, status, user_id, version, created_at, updated_at, " +
+            "created_by, updated_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER_ROLE = "INSERT INTO tbl_user_role (user_id, role_id) VALUES (?, ?)";
+
+    private static final DateTimeFormatter[] DATE_FORMATS = {
+            DateTimeFormatter.ofPattern("yyyy-M-d"),
+            DateTimeFormatter.ofPattern("yyyy/M/d"),
+            DateTimeFormatter.ofPattern("yyyy.M.d"),
+            DateTimeFormatter.ofPattern("yyyyMMdd")
+    };
+
+    // Excel日期序列号的起点（1900日期系统）
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    // BCrypt是导入的CPU瓶颈，用独立的有界线程池并行加密，不占用公共ForkJoinPool
+    private final ForkJoinPool hashPool;
+
+    // 导入任务串行执行，避免多个任务同时抢占加密线程和数据库连接
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public UserImportServiceImpl(PlatformTransactionManager transactionManager,
+                                 @Value("${scholarship.import.chunk-size:500}") int chunkSize,
+                                 @Value("${scholarship.import.hash-threads:0}") int hashThreads) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.hashPool = new ForkJoinPool(hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public ImportProgress startImport(String fileName, InputStream content, Long operatorId) throws IOException {
+        if (!TabularFileReader.isSupported(fileName)) {
+            throw new IllegalArgumentException("不支持的文件格式，请上传CSV或XLSX文件");
+        }
+        Path file = Files.createTempFile("user-import-", fileName.substring(fileName.lastIndexOf('.')));
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        Job job = new Job(UUID.randomUUID().toString(), fileName, file, operatorId);
+        synchronized (jobs) {
+            jobs.put(job.progress.getJobId(), job);
+            evictOldJobs();
+        }
+        jobExecutor.execute(() -> run(job));
+        return job.progress;
+    }
+
+    @Override
+    public ImportProgress resumeImport(String jobId) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new IllegalArgumentException("导入任务不存在或已过期，请重新上传文件");
+        }
+        if (!job.progress.isResumable()) {
+            throw new IllegalStateException("只有失败或已取消的任务可以继续");
+        }
+        job.cancelled = false;
+        job.progress.setStatus(ImportProgress.Status.QUEUED);
+        job.progress.setFinishedAt(null);
+        job.progress.setMessage("从第 " + job.progress.getCommittedRow() + " 行之后继续");
+        jobExecutor.execute(() -> run(job));
+        return job.progress;
+    }
+
+    @Override
+    public void cancelImport(String jobId) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job != null && !job.progress.isFinished()) {
+            job.cancelled = true;
+        }
+    }
+
+    @Override
+    public Optional<ImportProgress> getProgress(String jobId) {
+        synchronized (jobs) {
+            Job job = jobs.get(jobId);
+            return Optional.ofNullable(job != null ? job.progress : null);
+        }
+    }
+
+    @Override
+    public List<ImportProgress> getRecentJobs() {
+        List<ImportProgress> result = new ArrayList<>();
+        synchronized (jobs) {
+            for (Job job : jobs.values()) {
+                result.add(0, job.progress);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> importUsers(List<User> users) {
+        ImportContext context = new ImportContext(null);
+        List<String> created = new ArrayList<>();
+        int failed = 0;
+        for (int from = 0; from < users.size(); from += chunkSize) {
+            Chunk chunk = new Chunk();
+            for (int i = from; i < Math.min(from + chunkSize, users.size()); i++) {
+                User user = users.get(i);
+                int rowNumber = i + 1;
+                chunk.add(rowNumber, user.getUsername(), () -> ImportRow.of(rowNumber, user, user.getStudent()));
+            }
+            prepare(chunk, context);
+            hash(chunk).join();
+            write(chunk, context);
+            chunk.rows.forEach(row -> created.add(row.user.getUsername()));
+            failed += chunk.errors.size();
+            chunk.errors.forEach(error -> log.warn("批量导入用户第 {} 条失败 [{}]: {}",
+                    error.getRowNumber(), error.getKey(), error.getMessage()));
+        }
+        if (!created.isEmpty()) {
+            eligibilityService.markStale();
+        }
+        log.info("批量导入用户完成: 新建 {} 个, 失败 {} 个, 共 {} 个", created.size(), failed, users.size());
+        return created.isEmpty() ? new ArrayList<>() : userRepository.findByUsernameIn(created);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * 超出保留数量时移除最早的已结束任务并删除其暂存文件
+     */
+    private void evictOldJobs() {
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (jobs.size() > MAX_RECENT_JOBS && iterator.hasNext()) {
+            Job oldest = iterator.next();
+            if (oldest.progress.isFinished()) {
+                iterator.remove();
+                deleteQuietly(oldest.file);
+            }
+        }
+    }
+
+    private void run(Job job) {
+        ImportProgress progress = job.progress;
+        progress.setStatus(ImportProgress.Status.RUNNING);
+        int resumeAfter = progress.getCommittedRow();
+        int importedBefore = progress.getImported();
+        long start = System.currentTimeMillis();
+        try (TabularFileReader reader = TabularFileReader.open(job.file, job.fileName)) {
+            String[] header = reader.readRow();
+            if (header == null) {
+                throw new IllegalArgumentException("文件为空");
+            }
+            Columns columns = Columns.of(header);
+            ImportContext context = new ImportContext(job.operatorId);
+
+            Chunk pending = null;
+            Chunk chunk;
+            while (!job.cancelled && (chunk = readChunk(reader, columns, resumeAfter)) != null) {
+                prepare(chunk, context);
+                chunk.hashing = hash(chunk);
+                if (pending != null) {
+                    commit(pending, context, progress);
+                }
+                pending = chunk;
+            }
+            if (pending != null && !job.cancelled) {
+                commit(pending, context, progress);
+            }
+
+            progress.setStatus(job.cancelled ? ImportProgress.Status.CANCELLED : ImportProgress.Status.COMPLETED);
+            progress.setMessage(job.cancelled ? "已取消，已提交到第 " + progress.getCommittedRow() + " 行" : null);
+        } catch (Exception e) {
+            log.error("导入任务 {} 在第 {} 行之后失败", progress.getJobId(), progress.getCommittedRow(), e);
+            progress.setStatus(ImportProgress.Status.FAILED);
+            progress.setMessage("导入失败: " + e.getMessage());
+        } finally {
+            progress.setFinishedAt(LocalDateTime.now());
+            if (progress.getImported() > importedBefore) {
+                eligibilityService.markStale();
+            }
+            if (progress.getStatus() == ImportProgress.Status.COMPLETED) {
+                deleteQuietly(job.file);
+            }
+            log.info("导入任务 {} {}: 新建 {}, 跳过 {}, 失败 {}, 耗时 {} ms", progress.getJobId(),
+                    progress.getStatus().getDescription(), progress.getImported(), progress.getSkipped(),
+                    progress.getFailed(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 读取下一块数据行，跳过空行和续传前已提交的行；文件结束时返回null
+     */
+    private Chunk readChunk(TabularFileReader reader, Columns columns, int resumeAfter) throws IOException {
+        Chunk chunk = new Chunk();
+        String[] values;
+        while (chunk.rowCount < chunkSize && (values = reader.readRow()) != null) {
+            int rowNumber = reader.getRowNumber();
+            if (rowNumber <= resumeAfter || isBlank(values)) {
+                continue;
+            }
+            String[] row = values;
+            chunk.add(rowNumber, columns.key(row), () -> columns.toRow(rowNumber, row));
+        }
+        return chunk.rowCount == 0 ? null : chunk;
+    }
+
+    /**
+     * 校验并去重：文件内重复的键和已被占用的学号、邮箱记为错误，已存在的用户名视为已导入而跳过。
+     * 每块对用户名、邮箱、学号各做一次集合查询。
+     */
+    private void prepare(Chunk chunk, ImportContext context) {
+        List<ImportRow> candidates = new ArrayList<>();
+        for (ImportRow row : chunk.rows) {
+            String duplicate = context.claim(row);
+            if (duplicate != null) {
+                chunk.error(row, duplicate);
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        Set<String> usernames = candidates.stream().map(r -> r.user.getUsername()).collect(Collectors.toSet());
+        Set<String> emails = candidates.stream().map(r -> r.user.getEmail())
+                .filter(e -> e != null).collect(Collectors.toSet());
+        Set<String> studentNos = candidates.stream().filter(r -> r.student != null)
+                .map(r -> r.student.getStudentNo()).collect(Collectors.toSet());
+        Set<String> existingUsernames = usernames.isEmpty() ? Set.of()
+                : new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> existingEmails = emails.isEmpty() ? Set.of()
+                : new HashSet<>(userRepository.findExistingEmails(emails));
+        Set<String> existingStudentNos = studentNos.isEmpty() ? Set.of()
+                : new HashSet<>(studentRepository.findExistingStudentNos(studentNos));
+
+        chunk.rows = new ArrayList<>();
+        for (ImportRow row : candidates) {
+            if (existingUsernames.contains(row.user.getUsername())) {
+                chunk.skipped++;
+            } else if (row.student != null && existingStudentNos.contains(row.student.getStudentNo())) {
+                chunk.error(row, "学号已被其他用户使用: " + row.student.getStudentNo());
+            } else if (row.user.getEmail() != null && existingEmails.contains(row.user.getEmail())) {
+                chunk.error(row, "邮箱已被其他用户使用: " + row.user.getEmail());
+            } else {
+                chunk.rows.add(row);
+            }
+        }
+    }
+
+    /**
+     * 在加密线程池中并行加密本块的密码，已是BCrypt密文的保持不变
+     */
+    private CompletableFuture<Void> hash(Chunk chunk) {
+        List<ImportRow> rows = chunk.rows;
+        return CompletableFuture.runAsync(() -> rows.parallelStream().forEach(row -> {
+            String password = row.user.getPassword();
+            if (!BCRYPT_HASH.matcher(password).matches()) {
+                row.user.setPassword(passwordEncoder.encode(password));
+            }
+        }), hashPool);
+    }
+
+    private void commit(Chunk chunk, ImportContext context, ImportProgress progress) {
+        chunk.hashing.join();
+        write(chunk, context);
+        progress.recordChunk(chunk.lastRow, chunk.rowCount, chunk.rows.size(), chunk.skipped, chunk.errors);
+    }
+
+    /**
+     * 在一个事务中批量写入整块；整块失败（如并发导入造成唯一约束冲突）时逐行重试以定位出错的行
+     */
+    private void write(Chunk chunk, ImportContext context) {
+        if (chunk.rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk.rows, context));
+        } catch (DataAccessException e) {
+            log.warn("导入块批量写入失败，改为逐行写入: {}", e.getMostSpecificCause().getMessage());
+            List<ImportRow> written = new ArrayList<>();
+            for (ImportRow row : chunk.rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row), context));
+                    written.add(row);
+                } catch (DataAccessException rowError) {
+                    chunk.error(row, "写入失败: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+            chunk.rows = written;
+        }
+    }
+
+    private void insert(List<ImportRow> rows, ImportContext context) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_USER, rows, rows.size(), (ps, row) -> {
+            User user = row.user;
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getPassword());
+            ps.setString(3, user.getRealName());
+            ps.setString(4, user.getEmail());
+            ps.setString(5, user.getPhone());
+            ps.setString(6, user.getStatus().name());
+            ps.setString(7, user.getUserType().name());
+            setAudit(ps, 8, now, context.operatorId);
+        });
+
+        // IDENTITY主键无法从批量插入中可靠取回，按用户名一次查回
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] row : userRepository.findIdsByUsernames(
+                rows.stream().map(r -> r.user.getUsername()).collect(Collectors.toList()))) {
+            userIds.put((String) row[1], (Long) row[0]);
+        }
+        rows.forEach(row -> row.user.setId(userIds.get(row.user.getUsername())));
+
+        List<ImportRow> studentRows = rows.stream().filter(r -> r.student != null).collect(Collectors.toList());
+        if (!studentRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STUDENT, studentRows, studentRows.size(), (ps, row) -> {
+                Student student = row.student;
+                ps.setString(1, student.getStudentNo());
+                ps.setString(2, student.getName());
+                ps.setString(3, student.getGender().name());
+                ps.setString(4, student.getCollege());
+                ps.setString(5, student.getMajor());
+                ps.setString(6, student.getClazz());
+                ps.setString(7, student.getGrade());
+                ps.setString(8, student.getContact());
+                ps.setDate(9, Date.valueOf(student.getEnrollmentDate()));
+                ps.setInt(10, student.getStudyYears() != null ? student.getStudyYears() : 4);
+                ps.setString(11, student.getIdCard());
+                ps.setString(12, student.getStatus().name());
+                ps.setLong(13, row.user.getId());
+                setAudit(ps, 14, now, context.operatorId);
+            });
+            Map<String, Long> studentIds = new HashMap<>();
+            for (Object[] row : studentRepository.findIdsByStudentNos(
+                    studentRows.stream().map(r -> r.student.getStudentNo()).collect(Collectors.toList()))) {
+                studentIds.put((String) row[1], (Long) row[0]);
+            }
+            studentRows.forEach(row -> {
+                row.student.setId(studentIds.get(row.student.getStudentNo()));
+                row.student.setUser(row.user);
+            });
+        }
+
+        List<long[]> userRoles = new ArrayList<>();
+        for (ImportRow row : rows) {
+            for (Long roleId : context.roleIds(row.user)) {
+                userRoles.add(new long[]{row.user.getId(), roleId});
+            }
+        }
+        if (!userRoles.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles, userRoles.size(), (ps, pair) -> {
+                ps.setLong(1, pair[0]);
+                ps.setLong(2, pair[1]);
+            });
+        }
+
+        // 绕过了JPA，实体监听器不会触发，这里直接通知搜索索引（事务提交后生效）
+        for (ImportRow row : rows) {
+            searchService.onEntitySaved(row.user);
+            if (row.student != null) {
+                searchService.onEntitySaved(row.student);
+            }
+        }
+    }
+
+    private static void setAudit(PreparedStatement ps, int index, Timestamp now, Long operatorId) throws SQLException {
+        ps.setTimestamp(index, now);
+        ps.setTimestamp(index + 1, now);
+        if (operatorId != null) {
+            ps.setLong(index + 2, operatorId);
+            ps.setLong(index + 3, operatorId);
+        } else {
+            ps.setNull(index + 2, Types.BIGINT);
+            ps.setNull(index + 3, Types.BIGINT);
+        }
+    }
+
+    private static boolean isBlank(String[] values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导入暂存文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 后台导入任务
+     */
+    private static class Job {
+        private final String fileName;
+        private final Path file;
+        private final Long operatorId;
+        private final ImportProgress progress;
+        private volatile boolean cancelled;
+
+        Job(String jobId, String fileName, Path file, Long operatorId) {
+            this.fileName = fileName;
+            this.file = file;
+            this.operatorId = operatorId;
+            this.progress = new ImportProgress(jobId, fileName);
+        }
+    }
+
+    /**
+     * 一块待写入的行：rows 为通过校验的行，errors 为本块的行错误，二者在块提交时一起计入进度
+     */
+    private class Chunk {
+        private List<ImportRow> rows = new ArrayList<>();
+        private final List<ImportProgress.RowError> errors = new ArrayList<>();
+        private int rowCount;
+        private int lastRow;
+        private int skipped;
+        private CompletableFuture<Void> hashing;
+
+        void add(int rowNumber, String key, RowParser parser) {
+            rowCount++;
+            lastRow = rowNumber;
+            try {
+                ImportRow row = parser.parse();
+                String violations = validate(row);
+                if (violations != null) {
+                    errors.add(new ImportProgress.RowError(rowNumber, key, violations));
+                } else {
+                    rows.add(row);
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add(new ImportProgress.RowError(rowNumber, key, e.getMessage()));
+            }
+        }
+
+        void error(ImportRow row, String message) {
+            errors.add(new ImportProgress.RowError(row.rowNumber, row.user.getUsername(), message));
+        }
+    }
+
+    private String validate(ImportRow row) {
+        Set<String> messages = new LinkedHashSet<>();
+        for (ConstraintViolation<User> violation : validator.validate(row.user)) {
+            messages.add(violation.getMessage());
+        }
+        if (row.student != null) {
+            for (ConstraintViolation<Student> violation : validator.validate(row.student)) {
+                messages.add(violation.getMessage());
+            }
+        }
+        return messages.isEmpty() ? null : String.join("；", messages);
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        ImportRow parse();
+    }
+
+    /**
+     * 单个任务内的去重状态和角色映射
+     */
+    private class ImportContext {
+        private final Long operatorId;
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> studentNos = new HashSet<>();
+        private final Map<User.UserType, List<Long>> defaultRoleIds = new HashMap<>();
+
+        ImportContext(Long operatorId) {
+            this.operatorId = operatorId;
+        }
+
+        /**
+         * 登记本行的用户名、邮箱和学号，与本任务之前的行重复时返回错误信息
+         */
+        String claim(ImportRow row) {
+            String username = row.user.getUsername();
+            String email = row.user.getEmail();
+            String studentNo = row.student != null ? row.student.getStudentNo() : null;
+            if (usernames.contains(username)) {
+                return "文件中用户名重复: " + username;
+            }
+            if (studentNo != null && studentNos.contains(studentNo)) {
+                return "文件中学号重复: " + studentNo;
+            }
+            if (email != null && emails.contains(email)) {
+                return "文件中邮箱重复: " + email;
+            }
+            usernames.add(username);
+            if (studentNo != null) {
+                studentNos.add(studentNo);
+            }
+            if (email != null) {
+                emails.add(email);
+            }
+            return null;
+        }
+
+        /**
+         * 用户自带角色时使用其角色，否则使用与用户类型同名的角色（如 STUDENT、ROLE_STUDENT），没有则不关联
+         */
+        Collection<Long> roleIds(User user) {
+            if (user.getRoles() != null && !user.getRoles().isEmpty()) {
+                return user.getRoles().stream().map(Role::getId).filter(id -> id != null)
+                        .collect(Collectors.toList());
+            }
+            return defaultRoleIds.computeIfAbsent(user.getUserType(), type -> jdbcTemplate.queryForList(
+                    "SELECT id FROM tbl_role WHERE name IN (?, ?)", Long.class, type.name(), "ROLE_" + type.name()));
+        }
+    }
+
+    /**
+     * 待导入的一行：用户及可选的学生信息，密码在加密前为明文
+     */
+    private static class ImportRow {
+        private final int rowNumber;
+        private final User user;
+        private final Student student;
+
+        private ImportRow(int rowNumber, User user, Student student) {
+            this.rowNumber = rowNumber;
+            this.user = user;
+            this.student = student;
+        }
+
+        /**
+         * 复制调用方传入的用户，避免加密和回填ID修改调用方的对象
+         */
+        static ImportRow of(int rowNumber, User source, Student sourceStudent) {
+            User user = new User();
+            user.setUsername(source.getUsername());
+            user.setPassword(source.getPassword());
+            user.setRealName(source.getRealName());
+            user.setEmail(blankToNull(source.getEmail()));
+            user.setPhone(source.getPhone());
+            user.setStatus(source.getStatus() != null ? source.getStatus() : User.UserStatus.ACTIVE);
+            user.setUserType(source.getUserType() != null ? source.getUserType() : User.UserType.STUDENT);
+            user.setRoles(source.getRoles() != null ? new HashSet<>(source.getRoles()) : new HashSet<>());
+            Student student = null;
+            if (sourceStudent != null) {
+                student = new Student();
+                student.setStudentNo(sourceStudent.getStudentNo());
+                student.setName(sourceStudent.getName() != null ? sourceStudent.getName() : source.getRealName());
+                student.setGender(sourceStudent.getGender());
+                student.setCollege(sourceStudent.getCollege());
+                student.setMajor(sourceStudent.getMajor());
+                student.setClazz(sourceStudent.getClazz());
+                student.setGrade(sourceStudent.getGrade());
+                student.setContact(sourceStudent.getContact());
+                student.setEnrollmentDate(sourceStudent.getEnrollmentDate());
+                student.setStudyYears(sourceStudent.getStudyYears());
+                student.setIdCard(sourceStudent.getIdCard());
+                student.setIsGraduated(false);
+                student.setStatus(sourceStudent.getStatus() != null
+                        ? sourceStudent.getStatus() : Student.StudentStatus.ACTIVE);
+            }
+            return new ImportRow(rowNumber, user, student);
+        }
+    }
+
+    /**
+     * 表头到字段的映射，表头支持中文或英文名称，列顺序不限
+     */
+    private static class Columns {
+
+        private static final Map<String, String> ALIASES = new HashMap<>();
+
+        static {
+            alias("username", "用户名", "账号", "username");
+            alias("password", "密码", "password");
+            alias("realName", "姓名", "真实姓名", "name", "realname");
+            alias("email", "邮箱", "电子邮箱", "email");
+            alias("phone", "手机", "手机号", "phone");
+            alias("userType", "用户类型", "类型", "usertype");
+            alias("studentNo", "学号", "studentno");
+            alias("gender", "性别", "gender");
+            alias("college", "学院", "college");
+            alias("major", "专业", "major");
+            alias("clazz", "班级", "class", "clazz");
+            alias("grade", "年级", "grade");
+            alias("contact", "联系方式", "contact");
+            alias("enrollmentDate", "入学日期", "enrollmentdate");
+            alias("idCard", "身份证号", "身份证", "idcard");
+            alias("studyYears", "学制", "studyyears");
+        }
+
+        private final Map<String, Integer> index = new HashMap<>();
+
+        private static void alias(String field, String... names) {
+            for (String name : names) {
+                ALIASES.put(name, field);
+            }
+        }
+
+        static Columns of(String[] header) {
+            Columns columns = new Columns();
+            for (int i = 0; i < header.length; i++) {
+                String name = header[i] == null ? "" : header[i].replaceAll("[\\s*＊]", "").toLowerCase(Locale.ROOT);
+                String field = ALIASES.get(name);
+                if (field != null) {
+                    columns.index.putIfAbsent(field, i);
+                }
+            }
+            if (!columns.index.containsKey("realName")
+                    || !(columns.index.containsKey("username") || columns.index.containsKey("studentNo"))) {
+                throw new IllegalArgumentException("表头缺少必需的列：姓名，以及用户名或学号");
+            }
+            return columns;
+        }
+
+        String get(String[] row, String field) {
+            Integer i = index.get(field);
+            if (i == null || i >= row.length || row[i] == null) {
+                return null;
+            }
+            String value = row[i].trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * 错误信息中标识该行的键：优先学号，其次用户名
+         */
+        String key(String[] row) {
+            String studentNo = get(row, "studentNo");
+            return studentNo != null ? studentNo : get(row, "username");
+        }
+
+        /**
+         * 转换为待导入行。学生用户的用户名默认为学号，密码默认为身份证号后6位，入学日期默认为年级当年9月1日
+         */
+        ImportRow toRow(int rowNumber, String[] row) {
+            User user = new User();
+            user.setUserType(parseUserType(get(row, "userType")));
+            String studentNo = get(row, "studentNo");
+            String idCard = get(row, "idCard");
+            String username = get(row, "username");
+            user.setUsername(username != null ? username : studentNo);
+            String password = get(row, "password");
+            if (password == null && idCard != null && idCard.length() >= 6) {
+                password = idCard.substring(idCard.length() - 6);
+            }
+            user.setPassword(password);
+            user.setRealName(get(row, "realName"));
+            user.setEmail(get(row, "email"));
+            user.setPhone(get(row, "phone"));
+            user.setStatus(User.UserStatus.ACTIVE);
+
+            Student student = null;
+            if (user.getUserType() == User.UserType.STUDENT) {
+                if (studentNo == null) {
+                    throw new IllegalArgumentException("学生用户必须填写学号");
+                }
+                student = new Student();
+                student.setStudentNo(studentNo);
+                student.setName(user.getRealName());
+                student.setGender(parseGender(get(row, "gender")));
+                student.setCollege(get(row, "college"));
+                student.setMajor(get(row, "major"));
+                student.setClazz(get(row, "clazz"));
+                student.setGrade(get(row, "grade"));
+                String contact = get(row, "contact");
+                student.setContact(contact != null ? contact : user.getPhone());
+                student.setEnrollmentDate(parseEnrollmentDate(get(row, "enrollmentDate"), student.getGrade()));
+                String studyYears = get(row, "studyYears");
+                try {
+                    student.setStudyYears(studyYears != null ? Integer.valueOf(studyYears) : 4);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("学制格式不正确: " + studyYears);
+                }
+                student.setIdCard(idCard);
+                student.setIsGraduated(false);
+                student.setStatus(Student.StudentStatus.ACTIVE);
+            }
+            return new ImportRow(rowNumber, user, student);
+        }
+
+        private static User.UserType parseUserType(String value) {
+            if (value == null) {
+                return User.UserType.STUDENT;
+            }
+            for (User.UserType type : User.UserType.values()) {
+                if (type.name().equalsIgnoreCase(value) || type.getDescription().equals(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("用户类型不正确: " + value);
+        }
+
+        private static Student.Gender parseGender(String value) {
+            if (value == null) {
+                return null;
+            }
+            switch (value.toUpperCase(Locale.ROOT)) {
+                case "男":
+                case "M":
+                case "MALE":
+                    return Student.Gender.MALE;
+                case "女":
+                case "F":
+                case "FEMALE":
+                    return Student.Gender.FEMALE;
+                default:
+                    throw new IllegalArgumentException("性别不正确: " + value);
+            }
+        }
+
+        private static LocalDate parseEnrollmentDate(String value, String grade) {
+            if (value == null) {
+                return grade != null && grade.matches("^20\\d{2}$") ? LocalDate.of(Integer.parseInt(grade), 9, 1) : null;
+            }
+            // XLSX中按日期格式保存的单元格读出来是序列号
+            if (value.matches("^\\d{5}(\\.\\d+)?$")) {
+                return EXCEL_EPOCH.plusDays((long) Double.parseDouble(value));
+            }
+            String date = value.length() > 10 ? value.substring(0, 10) : value;
+            for (DateTimeFormatter format : DATE_FORMATS) {
+                try {
+                    return LocalDate.parse(date, format);
+                } catch (DateTimeParseException ignored) {
+                    // 尝试下一种格式
+                }
+            }
+            throw new IllegalArgumentException("入学日期格式不正确: " + value);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
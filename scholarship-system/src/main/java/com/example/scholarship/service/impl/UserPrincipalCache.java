@@ -0,0 +1,124 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.entity.User;
+import com.example.scholarship.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 登录用户缓存
+ * 有界、按TTL过期的用户快照缓存，同时以用户名和邮箱为键，
+ * 供认证和各控制器获取当前用户时共用。用户状态、类型或密码变更后须调用 {@link #invalidate(User)}。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class UserPrincipalCache {
+
+    private static final String USERNAME_KEY = "u:";
+    private static final String EMAIL_KEY = "e:";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public UserPrincipalCache(@Value("${scholarship.cache.principal.max-size:10000}") long maxSize,
+                              @Value("${scholarship.cache.principal.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 根据用户名获取用户快照
+     */
+    public Optional<UserPrincipal> findByUsername(String username) {
+        UserPrincipal cached = cache.getIfPresent(USERNAME_KEY + username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findByUsername(username).map(this::put);
+    }
+
+    /**
+     * 根据用户名或邮箱获取用户快照，先按用户名再按邮箱查找
+     */
+    public Optional<UserPrincipal> findByUsernameOrEmail(String usernameOrEmail) {
+        UserPrincipal cached = cache.getIfPresent(USERNAME_KEY + usernameOrEmail);
+        if (cached == null) {
+            // 邮箱键的二次查找不计入命中统计，避免一次登录记两次未命中
+            cached = cache.asMap().get(EMAIL_KEY + usernameOrEmail);
+        }
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<User> user = userRepository.findByUsername(usernameOrEmail);
+        if (user.isEmpty()) {
+            user = userRepository.findByEmail(usernameOrEmail);
+        }
+        return user.map(this::put);
+    }
+
+    /**
+     * 使用户快照失效
+     */
+    public void invalidate(User user) {
+        if (user.getUsername() != null) {
+            cache.invalidate(USERNAME_KEY + user.getUsername());
+        }
+        if (user.getEmail() != null) {
+            cache.invalidate(EMAIL_KEY + user.getEmail());
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 底层缓存，供指标注册（命中率、驱逐数）使用
+     */
+    public Cache<String, UserPrincipal> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * 缓存命中统计
+     */
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private UserPrincipal put(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        cache.put(USERNAME_KEY + principal.getUsername(), principal);
+        if (principal.getEmail() != null) {
+            cache.put(EMAIL_KEY + principal.getEmail(), principal);
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.config.CustomUserDetailsService;
+import com.example.scholarship.dto.UserStats;
+import com.example.scholarship.entity.Role;
+import com.example.scholarship.entity.User;
+import com.example.scholarship.repository.UserRepository;
+import com.example.scholarship.service.UserImportService;
+import com.example.scholarship.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 用户服务实现类
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@Service
+public class UserServiceImpl implements UserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public User save(User user) {
+        User saved = userRepository.save(user);
+        userPrincipalCache.invalidate(saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findById(Long id) {
+        return userRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findAll() {
+        return userRepository.findAllActiveUsers();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> findAll(Pageable pageable) {
+        return userRepository.findByIsDeletedFalse(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> findAll(Pageable pageable, long total) {
+        return new PageImpl<>(userRepository.findActiveUserSlice(pageable).getContent(), pageable, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public User findByUsername(String username) {
+        return userRepository.findByUsername(username).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public User findByEmail(String email) {
+        return userRepository.findByEmail(email).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findByRealName(String realName) {
+        return userRepository.findByRealNameContaining(realName);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findByUserType(User.UserType userType) {
+        return userRepository.findByUserType(userType);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findByStatus(User.UserStatus status) {
+        return userRepository.findByStatus(status);
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        User user = getUser(id);
+        user.setIsDeleted(true);
+        userRepository.save(user);
+        userPrincipalCache.invalidate(user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByUsername(String username) {
+        return userRepository.existsByUsername(username);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        return userRepository.existsByEmail(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean login(String username, String password) {
+        return userRepository.findByUsername(username)
+                .filter(user -> !Boolean.TRUE.equals(user.getIsDeleted()))
+                .map(user -> passwordEncoder.matches(password, user.getPassword()))
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional
+    public void increaseLoginCount(Long userId) {
+        User user = getUser(userId);
+        user.increaseLoginCount();
+        userRepository.save(user);
+    }
+
+    @Override
+    @Transactional
+    public void resetPassword(Long userId, String newPassword) {
+        User user = getUser(userId);
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+        userPrincipalCache.invalidate(user);
+    }
+
+    @Override
+    @Transactional
+    public void changeUserStatus(Long userId, User.UserStatus status) {
+        User user = getUser(userId);
+        user.setStatus(status);
+        userRepository.save(user);
+        userPrincipalCache.invalidate(user);
+    }
+
+    @Override
+    @Transactional
+    public void assignRole(Long userId, Long roleId) {
+        User user = getUser(userId);
+        Role role = entityManager.find(Role.class, roleId);
+        if (role == null) {
+            throw new RuntimeException("角色不存在");
+        }
+        user.getRoles().add(role);
+        userRepository.save(user);
+    }
+
+    @Override
+    @Transactional
+    public void removeRole(Long userId, Long roleId) {
+        User user = getUser(userId);
+        user.getRoles().removeIf(role -> roleId.equals(role.getId()));
+        userRepository.save(user);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsService.loadUserByUsername(username);
+    }
+
+    @Override
+    @Transactional
+    public User register(User user) {
+        if (userRepository.existsByUsername(user.getUsername())) {
+            throw new RuntimeException("用户名已存在");
+        }
+        if (user.getEmail() != null && userRepository.existsByEmail(user.getEmail())) {
+            throw new RuntimeException("邮箱已存在");
+        }
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        if (user.getUserType() == null) {
+            user.setUserType(User.UserType.STUDENT);
+        }
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setIsDeleted(false);
+        return userRepository.save(user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public User loginByUsernameOrEmail(String usernameOrEmail, String password) {
+        return userRepository.findByUsernameOrEmail(usernameOrEmail)
+                .filter(user -> passwordEncoder.matches(password, user.getPassword()))
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object[] getUserStatistics() {
+        long total = 0;
+        long[] byType = new long[User.UserType.values().length];
+        for (Object[] row : userRepository.countUsersByType()) {
+            long count = ((Number) row[1]).longValue();
+            byType[((User.UserType) row[0]).ordinal()] = count;
+            total += count;
+        }
+        // 总数、学生数、教师数、管理员数
+        return new Object[]{total, byType[User.UserType.STUDENT.ordinal()],
+                byType[User.UserType.TEACHER.ordinal()], byType[User.UserType.ADMIN.ordinal()]};
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserStats getUserStats() {
+        return new UserStats(userRepository.countUsersByTypeAndStatus());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findUsersByRole(String roleName) {
+        return userRepository.findUsersByRole(roleName);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findRecentLoginUsers(int days) {
+        return userRepository.findUsersLoggedInSince(LocalDate.now().minusDays(days));
+    }
+
+    /**
+     * 批量导入用户，经导入管道按块去重、并行加密并批量写入，已存在的用户名跳过
+     */
+    @Override
+    public List<User> batchImportUsers(List<User> users) {
+        return userImportService.importUsers(users);
+    }
+
+    private User getUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("用户不存在"));
+    }
+}
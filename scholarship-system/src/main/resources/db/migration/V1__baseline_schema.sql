@@ -0,0 +1,213 @@
+-- 基线表结构，与此前 ddl-auto: update 根据实体生成的结构一致（约束名相同）。
+-- 已由 update 建好表的库首次迁移时记为基线版本 1，不执行本脚本；之后的表结构变更新增 V2__*.sql 等脚本，不再修改本文件
+
+create table announcements (
+    deleted BOOLEAN DEFAULT FALSE not null,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    deleted_at timestamp(6),
+    id bigserial not null,
+    published_at timestamp(6) not null,
+    published_by bigint not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    title varchar(200) not null,
+    content TEXT not null,
+    primary key (id)
+);
+
+create table tbl_academic_record (
+    credit numeric(3,1) not null,
+    gpa numeric(3,2) not null,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    student_id bigint not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    semester varchar(20) not null,
+    course_name varchar(200) not null,
+    primary key (id)
+);
+
+create table tbl_academic_summary (
+    course_count integer not null,
+    credit_sum numeric(10,1) not null,
+    excellent_count integer not null,
+    gpa_sum numeric(10,2) not null,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    student_id bigint not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    semester varchar(20) not null,
+    primary key (id),
+    unique (student_id, semester)
+);
+
+create table tbl_permission (
+    is_enabled boolean not null,
+    is_system boolean,
+    menu_sort integer,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    parent_id bigint,
+    updated_at timestamp(6),
+    updated_by bigint,
+    menu_icon varchar(50),
+    code varchar(100) not null unique,
+    name varchar(100) not null unique,
+    description varchar(200),
+    menu_path varchar(200),
+    menu_type varchar(255) not null,
+    primary key (id)
+);
+
+create table tbl_review (
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    reviewer_id bigint,
+    scholarship_type_id bigint not null,
+    student_id bigint not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    academic_year varchar(20) not null,
+    review_status varchar(20) not null,
+    comments varchar(1000),
+    primary key (id)
+);
+
+create table tbl_role (
+    is_default boolean,
+    is_system boolean,
+    level integer not null,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    name varchar(50) not null unique,
+    description varchar(200),
+    primary key (id)
+);
+
+create table tbl_role_permission (
+    permission_id bigint not null,
+    role_id bigint not null,
+    primary key (permission_id, role_id)
+);
+
+create table tbl_scholarship_type (
+    amount numeric(10,2) not null,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    name varchar(100) not null unique,
+    description varchar(500),
+    eligibility_criteria varchar(1000),
+    primary key (id)
+);
+
+create table tbl_student (
+    enrollment_date date not null,
+    grade varchar(4) not null,
+    is_graduated boolean not null,
+    study_years integer,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    user_id bigint not null unique,
+    id_card varchar(18) not null,
+    contact varchar(20),
+    student_no varchar(20) not null unique,
+    class varchar(50) not null,
+    name varchar(50) not null,
+    college varchar(100) not null,
+    major varchar(100) not null,
+    gender varchar(255) not null check (gender in ('MALE','FEMALE')),
+    status varchar(255) not null check (status in ('ACTIVE','GRADUATED','SUSPENDED','DROPPED_OUT')),
+    primary key (id)
+);
+
+create table tbl_user (
+    is_deleted boolean not null,
+    last_login_time date,
+    login_count integer,
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    id bigserial not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    phone varchar(20),
+    username varchar(50) not null unique,
+    email varchar(100) unique,
+    real_name varchar(100) not null,
+    avatar_url varchar(500),
+    remark varchar(1000),
+    password varchar(255) not null,
+    status varchar(255) not null check (status in ('ACTIVE','INACTIVE','LOCKED','DISABLED')),
+    user_type varchar(255) not null check (user_type in ('STUDENT','TEACHER','ADMIN')),
+    primary key (id)
+);
+
+create table tbl_user_role (
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+);
+
+alter table if exists tbl_academic_record
+   add constraint FKc57q97q9xar6oj30qytaieaa2
+   foreign key (student_id)
+   references tbl_student;
+
+alter table if exists tbl_review
+   add constraint FKrpet3lffxrtyeri4o359r19ej
+   foreign key (scholarship_type_id)
+   references tbl_scholarship_type;
+
+alter table if exists tbl_review
+   add constraint FKo6lvps260bpvacdnibhbd4v7q
+   foreign key (student_id)
+   references tbl_student;
+
+alter table if exists tbl_role_permission
+   add constraint FKederj3igpg2d7b1llsoibhb2x
+   foreign key (permission_id)
+   references tbl_permission;
+
+alter table if exists tbl_role_permission
+   add constraint FKey6ucxnb0cg80jar6tje0k82e
+   foreign key (role_id)
+   references tbl_role;
+
+alter table if exists tbl_student
+   add constraint FK7kod8l539q1mq1uws15wkg50e
+   foreign key (user_id)
+   references tbl_user;
+
+alter table if exists tbl_user_role
+   add constraint FK6phlytlf1w3h9vutsu019xor5
+   foreign key (role_id)
+   references tbl_role;
+
+alter table if exists tbl_user_role
+   add constraint FKggc6wjqokl2vlw89y22a1j2oh
+   foreign key (user_id)
+   references tbl_user;
@@ -0,0 +1,27 @@
+-- 申请证明材料：文件存放在材料目录下，表中只记录元数据；删除申请时级联删除材料记录
+
+create table tbl_review_document (
+    version integer,
+    created_at timestamp(6),
+    created_by bigint,
+    file_size bigint not null,
+    id bigserial not null,
+    review_id bigint not null,
+    updated_at timestamp(6),
+    updated_by bigint,
+    uploaded_by bigint,
+    sha256 varchar(64) not null,
+    stored_name varchar(64) not null,
+    content_type varchar(100) not null,
+    original_name varchar(255) not null,
+    primary key (id)
+);
+
+create index idx_review_document_review
+   on tbl_review_document (review_id);
+
+alter table if exists tbl_review_document
+   add constraint FK_review_document_review
+   foreign key (review_id)
+   references tbl_review
+   on delete cascade;
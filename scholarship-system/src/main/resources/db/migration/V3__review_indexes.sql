@@ -0,0 +1,5 @@
+-- 状态统计按 review_status 分组、分配按待审核状态筛选，需要索引支撑，否则每次都是全表扫描。
+-- 评审队列按主键 id 键集分页，不另建索引
+
+create index idx_review_status
+   on tbl_review (review_status);
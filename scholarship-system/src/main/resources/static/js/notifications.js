@@ -0,0 +1,62 @@
+/**
+ * 学生实时通知
+ * 订阅 /student/events，收到审核结果或新公告时弹出提示；EventSource 断线后自动重连并补发错过的事件。
+ * 脚本标签上设置 data-reload-on-review 时，收到审核结果后刷新当前页面（如"我的申请"列表）。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+(function () {
+    if (!window.EventSource) {
+        return;
+    }
+
+    const script = document.currentScript;
+    const reloadOnReview = script && script.hasAttribute('data-reload-on-review');
+    const statusText = { approved: '已通过', rejected: '已拒绝', pending: '待审核' };
+
+    function notify(html, type) {
+        const alertDiv = document.createElement('div');
+        alertDiv.className = `alert alert-${type} alert-dismissible fade show position-fixed`;
+        alertDiv.style.top = '20px';
+        alertDiv.style.right = '20px';
+        alertDiv.style.zIndex = '9999';
+        alertDiv.innerHTML = `${html}<button type="button" class="btn-close" data-bs-dismiss="alert"></button>`;
+        document.body.appendChild(alertDiv);
+        setTimeout(() => alertDiv.remove(), 10000);
+    }
+
+    function escapeHtml(text) {
+        const div = document.createElement('div');
+        div.textContent = text == null ? '' : String(text);
+        return div.innerHTML;
+    }
+
+    const source = new EventSource('/student/events');
+
+    source.addEventListener('review', function (event) {
+        const data = JSON.parse(event.data);
+        const status = statusText[data.reviewStatus] || data.reviewStatus;
+        if (reloadOnReview) {
+            window.location.reload();
+            return;
+        }
+        notify(`您的申请 #REV${escapeHtml(data.reviewId)} 审核结果：<strong>${escapeHtml(status)}</strong>
+                <a href="/student/my-applications" class="alert-link ms-2">查看</a>`,
+            data.reviewStatus === 'approved' ? 'success' : 'info');
+    });
+
+    source.addEventListener('announcement', function (event) {
+        const data = JSON.parse(event.data);
+        notify(`新公告：<a href="/student/announcement/${encodeURIComponent(data.id)}" class="alert-link">${escapeHtml(data.title)}</a>`,
+            'primary');
+    });
+
+    // 服务端已无法补发断线期间的事件（如重启），整页刷新以取得最新数据
+    source.addEventListener('resync', function () {
+        source.close();
+        window.location.reload();
+    });
+
+    window.addEventListener('beforeunload', () => source.close());
+})();
@@ -0,0 +1,142 @@
+package com.example.scholarship.config;
+
+import com.example.scholarship.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 每请求SQL语句数预算测试
+ * 测试配置开启 fail-on-budget-exceeded，页面在大量数据下超出预算时请求以异常结束，测试随之失败。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementBudgetTest {
+
+    private static final String INSERT_REVIEW =
+            "INSERT INTO tbl_review (student_id, scholarship_type_id, academic_year, review_status, " +
+            "version, created_at, updated_at) VALUES (?, ?, '2023-2024', ?, 0, ?, ?)";
+
+    private static final String INSERT_DOCUMENT =
+            "INSERT INTO tbl_review_document (review_id, original_name, stored_name, content_type, file_size, sha256, " +
+            "version, created_at, updated_at) VALUES (?, '成绩单.pdf', ?, 'application/pdf', 1024, ?, 0, ?, ?)";
+
+    /**
+     * 超过语句数预算的行数，逐行查询的页面必然超出预算
+     */
+    private static final int ROWS = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Value("${scholarship.sql.statement-budget}")
+    private int budget;
+
+    @Value("${scholarship.sql.fail-on-budget-exceeded}")
+    private boolean failOnExceed;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review_document");
+        jdbcTemplate.update("DELETE FROM tbl_review");
+    }
+
+    @Test
+    void testProfileFailsOnExceededBudget() {
+        assertTrue(failOnExceed, "测试配置须开启 scholarship.sql.fail-on-budget-exceeded");
+        assertTrue(budget > 0 && budget < ROWS, "语句数预算须小于测试数据行数");
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void reviewQueueStaysWithinBudget() throws Exception {
+        addReviews("20210001", ROWS);
+        addReviews("20210002", ROWS);
+        mockMvc.perform(get("/admin/reviews"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("applications", hasSize(20)));
+    }
+
+    @Test
+    @WithUserDetails("lixm")
+    void myApplicationsStaysWithinBudget() throws Exception {
+        addReviews("20210001", ROWS);
+        mockMvc.perform(get("/student/my-applications"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("reviewDtos", hasSize(ROWS)));
+    }
+
+    /**
+     * 在过滤器内逐行查询（模拟 N+1）并像页面控制器一样捕获异常，超出预算的请求仍须以异常结束
+     */
+    @Test
+    void exceedingBudgetFailsRequest() {
+        StatementBudgetFilter filter = new StatementBudgetFilter(new SimpleMeterRegistry(), 2, true);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    for (int i = 0; i < 3; i++) {
+                        reviewRepository.count();
+                    }
+                } catch (RuntimeException e) {
+                    response.setStatus(HttpServletResponse.SC_OK);
+                }
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/admin/reviews"), new MockHttpServletResponse(), chain));
+    }
+
+    /**
+     * 为学生追加申请（奖学金类型和状态轮换），每个申请附带一份材料
+     */
+    private void addReviews(String studentNo, int count) {
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = ?", Long.class, studentNo);
+        Long[] typeIds = jdbcTemplate.queryForList("SELECT id FROM tbl_scholarship_type ORDER BY id", Long.class)
+                .toArray(Long[]::new);
+        String[] statuses = {"pending", "approved", "rejected"};
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < count; i++) {
+            Timestamp time = Timestamp.valueOf(createdAt.plusMinutes(i));
+            jdbcTemplate.update(INSERT_REVIEW, studentId, typeIds[i % typeIds.length], statuses[i % statuses.length],
+                    time, time);
+            Long reviewId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tbl_review", Long.class);
+            jdbcTemplate.update(INSERT_DOCUMENT, reviewId, "doc" + reviewId, "0".repeat(64), time, time);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.scholarship.controller;
+
+import com.example.scholarship.config.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 申请列表页面的SQL语句数测试
+ * 评审队列、审核详情和"我的申请"在数据量不同时发出的语句数必须相同，语句数随行数增长即为 N+1 回归。
+ * 语句数取自 SqlStatementCounter 的线程累计计数，MockMvc 在测试线程中同步执行整个请求（含视图渲染）。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReviewListingStatementCountTest {
+
+    private static final String INSERT_REVIEW =
+            "INSERT INTO tbl_review (student_id, scholarship_type_id, academic_year, review_status, comments, " +
+            "version, created_at, updated_at) VALUES (?, ?, '2023-2024', ?, ?, 0, ?, ?)";
+
+    private static final String INSERT_DOCUMENT =
+            "INSERT INTO tbl_review_document (review_id, original_name, stored_name, content_type, file_size, sha256, " +
+            "version, created_at, updated_at) VALUES (?, ?, ?, 'application/pdf', 1024, ?, 0, ?, ?)";
+
+    private static final String[] STATUSES = {"pending", "approved", "rejected"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime nextCreatedAt = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review_document");
+        jdbcTemplate.update("DELETE FROM tbl_review");
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void reviewQueueStatementCountIsConstant() throws Exception {
+        Long lixm = studentId("20210001");
+        Long zhangxm = studentId("20210002");
+
+        addReviews(lixm, 2, 1);
+        addReviews(zhangxm, 1, 1);
+        long few = statements(get("/admin/reviews"), model().attribute("applications", hasSize(3)));
+
+        addReviews(lixm, 40, 1);
+        addReviews(zhangxm, 40, 1);
+        long many = statements(get("/admin/reviews"), model().attribute("applications", hasSize(20)));
+
+        assertEquals(few, many, "评审队列的SQL语句数随申请数增长");
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void reviewDetailStatementCountIsConstant() throws Exception {
+        Long review = addReviews(studentId("20210001"), 1, 1).get(0);
+        long few = statements(get("/admin/review/{id}/detail", review), model().attribute("documents", hasSize(1)));
+
+        addDocuments(review, 9);
+        long many = statements(get("/admin/review/{id}/detail", review), model().attribute("documents", hasSize(10)));
+
+        assertEquals(few, many, "审核详情的SQL语句数随材料数增长");
+    }
+
+    @Test
+    @WithUserDetails("lixm")
+    void myApplicationsStatementCountIsConstant() throws Exception {
+        Long lixm = studentId("20210001");
+        Long zhangxm = studentId("20210002");
+
+        addReviews(lixm, 2, 1);
+        addReviews(zhangxm, 5, 1);
+        long few = statements(get("/student/my-applications"), model().attribute("reviewDtos", hasSize(2)));
+
+        addReviews(lixm, 30, 2);
+        addReviews(zhangxm, 30, 2);
+        long many = statements(get("/student/my-applications"), model().attribute("reviewDtos", hasSize(32)));
+
+        assertEquals(few, many, "我的申请的SQL语句数随申请数增长");
+    }
+
+    /**
+     * 先请求一次填充登录用户、目录等缓存，再统计第二次请求发出的语句数
+     */
+    private long statements(RequestBuilder request, ResultMatcher expectation) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        long before = SqlStatementCounter.total();
+        ResultActions result = mockMvc.perform(request);
+        long count = SqlStatementCounter.total() - before;
+        result.andExpect(status().isOk()).andExpect(expectation);
+        return count;
+    }
+
+    private Long studentId(String studentNo) {
+        return jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = ?", Long.class, studentNo);
+    }
+
+    /**
+     * 为学生追加申请，奖学金类型和状态轮换，每个申请附带指定份数的材料；返回新申请的ID
+     */
+    private List<Long> addReviews(Long studentId, int count, int documentsPerReview) {
+        List<Long> typeIds = jdbcTemplate.queryForList("SELECT id FROM tbl_scholarship_type ORDER BY id", Long.class);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Timestamp createdAt = Timestamp.valueOf(nextCreatedAt);
+            nextCreatedAt = nextCreatedAt.plusMinutes(1);
+            jdbcTemplate.update(INSERT_REVIEW, studentId, typeIds.get(i % typeIds.size()), STATUSES[i % STATUSES.length],
+                    "测试申请 " + i, createdAt, createdAt);
+            Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tbl_review", Long.class);
+            addDocuments(id, documentsPerReview);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void addDocuments(Long reviewId, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < count; i++) {
+            String storedName = UUID.randomUUID().toString().replace("-", "");
+            jdbcTemplate.update(INSERT_DOCUMENT, reviewId, "材料" + i + ".pdf", storedName, "0".repeat(64), now, now);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.scholarship.controller;
+
+import com.example.scholarship.dto.ReviewDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 评审队列键集分页测试
+ * 启用审计之前提交的申请没有创建时间（created_at 为 NULL），逐页翻阅时这些申请同样须出现且只出现一次，翻页必须终止。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReviewQueuePagingTest {
+
+    private static final String INSERT_REVIEW =
+            "INSERT INTO tbl_review (student_id, scholarship_type_id, academic_year, review_status, " +
+            "version, created_at, updated_at) VALUES (?, ?, '2023-2024', 'pending', 0, ?, ?)";
+
+    /**
+     * 评审队列每页条数
+     */
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review");
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void pagesThroughReviewsWithoutCreationTime() throws Exception {
+        List<Long> expected = addReviews(studentId("20210001"), 50);
+        assertEquals(expected, collectPages(null));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void pagesThroughSearchResultsWithoutCreationTime() throws Exception {
+        List<Long> expected = addReviews(studentId("20210001"), 50);
+        addReviews(studentId("20210002"), 10);
+        String name = jdbcTemplate.queryForObject("SELECT name FROM tbl_student WHERE student_no = '20210001'", String.class);
+        assertEquals(expected, collectPages(name));
+    }
+
+    /**
+     * 从首页起沿"下一页"游标翻到最后一页，返回依次看到的申请ID
+     */
+    private List<Long> collectPages(String keyword) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        Long cursorId = null;
+        for (int page = 0; page < 10; page++) {
+            MockHttpServletRequestBuilder request = get("/admin/reviews");
+            if (keyword != null) {
+                request.param("keyword", keyword);
+            }
+            if (cursorId != null) {
+                request.param("cursorId", cursorId.toString());
+            }
+            ModelAndView view = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getModelAndView();
+            @SuppressWarnings("unchecked")
+            List<ReviewDto> applications = (List<ReviewDto>) view.getModel().get("applications");
+            assertTrue(applications.size() <= PAGE_SIZE);
+            applications.forEach(review -> seen.add(review.getId()));
+            if (!(Boolean) view.getModel().get("hasMore")) {
+                return seen;
+            }
+            cursorId = (Long) view.getModel().get("nextCursorId");
+        }
+        throw new AssertionError("评审队列翻页未终止，已看到 " + seen.size() + " 条");
+    }
+
+    private Long studentId(String studentNo) {
+        return jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = ?", Long.class, studentNo);
+    }
+
+    /**
+     * 为学生追加申请，每隔一条模拟一条没有创建时间的旧申请（含每页最后一条）；返回按队列顺序（新到旧）排列的ID
+     */
+    private List<Long> addReviews(Long studentId, int count) {
+        List<Long> typeIds = jdbcTemplate.queryForList("SELECT id FROM tbl_scholarship_type ORDER BY id", Long.class);
+        List<Long> ids = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < count; i++) {
+            Timestamp time = i % 2 == 0 ? null : Timestamp.valueOf(start.plusMinutes(i));
+            jdbcTemplate.update(INSERT_REVIEW, studentId, typeIds.get(i % typeIds.size()), time, time);
+            ids.add(0, jdbcTemplate.queryForObject("SELECT MAX(id) FROM tbl_review", Long.class));
+        }
+        return ids;
+    }
+}
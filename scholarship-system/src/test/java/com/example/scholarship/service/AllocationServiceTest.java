@@ -0,0 +1,157 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.AllocationPlan;
+import com.example.scholarship.dto.AllocationPlan.Decision;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 名额分配提交测试
+ * 分配提交是决策周批量审核的主要途径，实际更新的每份申请都要向学生推送审核结果；
+ * 资格须按提交时的数据评定，资格快照之后新建的奖学金类型和新导入的学生都不能被误判。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AllocationServiceTest {
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review");
+        jdbcTemplate.update("DELETE FROM tbl_academic_summary WHERE semester = '2099-2100-1'");
+        jdbcTemplate.update("DELETE FROM tbl_student WHERE student_no = '20999999'");
+        jdbcTemplate.update("DELETE FROM tbl_user WHERE username = 'alloc_test'");
+        jdbcTemplate.update("DELETE FROM tbl_scholarship_type WHERE name LIKE '测试分配%'");
+    }
+
+    @Test
+    void committedDecisionsArePushedToStudents() {
+        Long typeId = jdbcTemplate.queryForObject(
+                "SELECT id FROM tbl_scholarship_type WHERE name = '校级三等奖学金'", Long.class);
+        addPendingReview("20210001", typeId);
+        addPendingReview("20210002", typeId);
+        eligibilityService.refresh();
+
+        long eventsBefore = lastEventId();
+        AllocationPlan plan = allocationService.commit(Map.of(typeId, new BigDecimal("1000.00")), Map.of(), 1L);
+
+        assertEquals(2, plan.getUpdatedCount());
+        assertEquals(1, plan.getApprovedCount());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tbl_review WHERE review_status = 'pending'", Integer.class));
+        assertEquals(eventsBefore + 2, lastEventId(), "每份实际更新的申请推送一条审核结果");
+
+        // 再次提交时已无待审核申请，不更新也不推送
+        plan = allocationService.commit(Map.of(typeId, new BigDecimal("1000.00")), Map.of(), 1L);
+        assertEquals(0, plan.getUpdatedCount());
+        assertEquals(eventsBefore + 2, lastEventId());
+    }
+
+    @Test
+    void typeCreatedAfterSnapshotIsJudgedByItsCriteria() {
+        eligibilityService.getRankings();
+        // 直接写库，不通知资格评定，快照中没有该类型的排名
+        Long typeId = addType("测试分配新增奖学金", "GPA≥3.8");
+        addPendingReview("20210001", typeId);
+        addPendingReview("20210002", typeId);
+
+        AllocationPlan plan = allocationService.commit(Map.of(typeId, new BigDecimal("10000.00")), Map.of(), 1L);
+
+        // 李小明平均绩点约 3.9，张小明约 3.3
+        assertTrue(decisionOf(plan, "20210001").isApproved());
+        assertFalse(decisionOf(plan, "20210002").isApproved());
+        assertEquals("rejected", statusOf("20210002"));
+    }
+
+    @Test
+    void studentImportedAfterSnapshotIsNotRejectedAsIneligible() {
+        Long typeId = addType("测试分配导入奖学金", "GPA≥3.5");
+        eligibilityService.refresh();
+
+        // 快照之后导入的学生，绩点满足条件
+        addStudent("20999999", new BigDecimal("15.00"), 4);
+        addPendingReview("20999999", typeId);
+
+        AllocationPlan plan = allocationService.commit(Map.of(typeId, new BigDecimal("10000.00")), Map.of(), 1L);
+
+        assertTrue(decisionOf(plan, "20999999").isApproved());
+        assertEquals("approved", statusOf("20999999"));
+    }
+
+    private Decision decisionOf(AllocationPlan plan, String studentNo) {
+        return plan.getAllocations().stream()
+                .flatMap(allocation -> allocation.getDecisions().stream())
+                .filter(decision -> studentNo.equals(decision.getStudentNo()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String statusOf(String studentNo) {
+        return jdbcTemplate.queryForObject("SELECT r.review_status FROM tbl_review r JOIN tbl_student s " +
+                "ON r.student_id = s.id WHERE s.student_no = ?", String.class, studentNo);
+    }
+
+    private Long addType(String name, String criteria) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO tbl_scholarship_type (name, amount, description, eligibility_criteria, " +
+                "version, created_at, updated_at) VALUES (?, 1000.00, '测试', ?, 0, ?, ?)", name, criteria, now, now);
+        return jdbcTemplate.queryForObject("SELECT id FROM tbl_scholarship_type WHERE name = ?", Long.class, name);
+    }
+
+    /**
+     * 直接写库导入一名学生及其一个学期的学业汇总，不通知资格评定
+     */
+    private void addStudent(String studentNo, BigDecimal gpaSum, int courseCount) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO tbl_user (username, password, real_name, status, user_type, is_deleted, " +
+                "version, created_at, updated_at) VALUES ('alloc_test', 'x', '测试学生', 'ACTIVE', 'STUDENT', false, 0, ?, ?)",
+                now, now);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM tbl_user WHERE username = 'alloc_test'", Long.class);
+        jdbcTemplate.update("INSERT INTO tbl_student (user_id, student_no, name, gender, id_card, college, major, class, " +
+                "grade, enrollment_date, is_graduated, status, version, created_at, updated_at) VALUES " +
+                "(?, ?, '测试学生', 'MALE', '110101200301010000', '计算机学院', '软件工程', '软件2101', '2021', " +
+                "DATE '2021-09-01', false, 'ACTIVE', 0, ?, ?)", userId, studentNo, now, now);
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = ?", Long.class, studentNo);
+        jdbcTemplate.update("INSERT INTO tbl_academic_summary (student_id, semester, course_count, gpa_sum, credit_sum, " +
+                "excellent_count, version, created_at, updated_at) VALUES (?, '2099-2100-1', ?, ?, 12.0, 0, 0, ?, ?)",
+                studentId, courseCount, gpaSum, now, now);
+    }
+
+    private long lastEventId() {
+        return ((Number) notificationService.getStatistics().get("lastEventId")).longValue();
+    }
+
+    private void addPendingReview(String studentNo, Long typeId) {
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = ?", Long.class, studentNo);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO tbl_review (student_id, scholarship_type_id, academic_year, review_status, " +
+                "version, created_at, updated_at) VALUES (?, ?, '2023-2024', 'pending', 0, ?, ?)", studentId, typeId, now, now);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.entity.ScholarshipType;
+import com.example.scholarship.repository.ScholarshipTypeRepository;
+import com.example.scholarship.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 奖学金资格评定测试
+ * 快照重建之前新建或修改的奖学金类型，资格判断仍须按其当前条件进行，不能因快照中没有对应规则而放行；
+ * 申请页列出的可申请类型与提交时的判断一致。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EligibilityServiceTest {
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    @Autowired
+    private ScholarshipTypeRepository scholarshipTypeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private ScholarshipType created;
+
+    @AfterEach
+    void cleanUp() {
+        if (created != null) {
+            scholarshipTypeRepository.deleteById(created.getId());
+        }
+    }
+
+    @Test
+    void typeCreatedAfterSnapshotIsCheckedAgainstItsCriteria() {
+        // 张小明平均绩点约 3.3，李小明约 3.9
+        Long zhangxm = studentRepository.findByStudentNo("20210002").orElseThrow().getId();
+        Long lixm = studentRepository.findByStudentNo("20210001").orElseThrow().getId();
+        eligibilityService.getRankings();
+
+        // 直接写库，不通知资格评定，快照中没有该类型的规则
+        created = scholarshipTypeRepository.save(type("测试新增奖学金", "GPA≥3.8"));
+        assertFalse(eligibilityService.isEligible(zhangxm, created.getId()));
+        assertTrue(eligibilityService.isEligible(lixm, created.getId()));
+    }
+
+    @Test
+    void typeEditedAfterSnapshotIsCheckedAgainstItsCurrentCriteria() {
+        Long zhangxm = studentRepository.findByStudentNo("20210002").orElseThrow().getId();
+        created = scholarshipTypeRepository.save(type("测试修改奖学金", "GPA≥3.0"));
+        eligibilityService.refresh();
+        assertTrue(eligibilityService.isEligible(zhangxm, created.getId()));
+
+        created.setEligibilityCriteria("GPA≥3.8");
+        created = scholarshipTypeRepository.save(created);
+        assertFalse(eligibilityService.isEligible(zhangxm, created.getId()));
+    }
+
+    @Test
+    void eligibleTypesIncludeTypeCreatedAfterSnapshot() {
+        Long zhangxm = studentRepository.findByStudentNo("20210002").orElseThrow().getId();
+        Long lixm = studentRepository.findByStudentNo("20210001").orElseThrow().getId();
+        eligibilityService.getRankings();
+
+        created = scholarshipTypeRepository.save(type("测试列表新增奖学金", "GPA≥3.8"));
+        assertTrue(eligibilityService.findEligibleTypeIds(lixm).contains(created.getId()));
+        assertFalse(eligibilityService.findEligibleTypeIds(zhangxm).contains(created.getId()));
+    }
+
+    @Test
+    void eligibleTypesFollowCurrentCriteriaOfEditedType() {
+        Long zhangxm = studentRepository.findByStudentNo("20210002").orElseThrow().getId();
+        created = scholarshipTypeRepository.save(type("测试列表修改奖学金", "GPA≥3.0"));
+        eligibilityService.refresh();
+        assertTrue(eligibilityService.findEligibleTypeIds(zhangxm).contains(created.getId()));
+
+        created.setEligibilityCriteria("GPA≥3.8");
+        created = scholarshipTypeRepository.save(created);
+        assertFalse(eligibilityService.findEligibleTypeIds(zhangxm).contains(created.getId()));
+    }
+
+    @Test
+    void unknownTypeIsNotEligible() {
+        Long lixm = studentRepository.findByStudentNo("20210001").orElseThrow().getId();
+        assertFalse(eligibilityService.isEligible(lixm, Long.MAX_VALUE));
+    }
+
+    private static ScholarshipType type(String name, String criteria) {
+        ScholarshipType type = new ScholarshipType();
+        type.setName(name);
+        type.setAmount(new BigDecimal("1000.00"));
+        type.setDescription("测试");
+        type.setEligibilityCriteria(criteria);
+        return type;
+    }
+}
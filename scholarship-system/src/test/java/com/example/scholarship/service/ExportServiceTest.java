@@ -0,0 +1,84 @@
+package com.example.scholarship.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 数据导出服务测试
+ * 批大小调小，使导出跨越多批，且批边界落在没有创建时间（created_at 为 NULL）的旧申请上。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest(properties = "scholarship.export.batch-size=7")
+@ActiveProfiles("test")
+class ExportServiceTest {
+
+    private static final String INSERT_REVIEW =
+            "INSERT INTO tbl_review (student_id, scholarship_type_id, academic_year, review_status, " +
+            "version, created_at, updated_at) VALUES (?, ?, '2023-2024', 'pending', 0, ?, ?)";
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review");
+    }
+
+    @Test
+    void exportsEveryReviewOnceWhenCreationTimeIsMissing() throws Exception {
+        List<String> expected = addReviews(30);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // 游标不前进时导出永不结束，限时运行
+        CompletableFuture.runAsync(() -> {
+            try {
+                exportService.exportReviews(null, ExportService.Format.CSV, out);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(30, TimeUnit.SECONDS);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r?\n");
+        List<String> exported = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            exported.add(lines[i].substring(0, lines[i].indexOf(',')));
+        }
+        assertEquals(expected, exported);
+    }
+
+    /**
+     * 追加申请，每隔一条模拟一条没有创建时间的旧申请；返回按导出顺序（新到旧）排列的ID
+     */
+    private List<String> addReviews(int count) {
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = '20210001'", Long.class);
+        Long typeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tbl_scholarship_type", Long.class);
+        List<String> ids = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < count; i++) {
+            Timestamp time = i % 2 == 0 ? null : Timestamp.valueOf(start.plusMinutes(i));
+            jdbcTemplate.update(INSERT_REVIEW, studentId, typeId, time, time);
+            ids.add(0, String.valueOf(jdbcTemplate.queryForObject("SELECT MAX(id) FROM tbl_review", Long.class)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.UserPrincipal;
+import com.example.scholarship.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 申请材料下载权限测试
+ * 只有申请人本人和管理员可以下载材料；申请上的 reviewerId 不授予下载权限。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewDocumentServiceTest {
+
+    @Autowired
+    private ReviewDocumentService reviewDocumentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review_document");
+        jdbcTemplate.update("DELETE FROM tbl_review");
+    }
+
+    @Test
+    void onlyApplicantAndAdminMayDownload() {
+        UserPrincipal lixm = principal("lixm");
+        // 张小明的申请，reviewerId 恰好是李小明的用户ID
+        Long documentId = addDocument("20210002", lixm.getId());
+
+        assertThrows(AccessDeniedException.class, () -> reviewDocumentService.findForDownload(documentId, lixm));
+        assertTrue(reviewDocumentService.findForDownload(documentId, principal("zhangxm")).isPresent());
+        assertTrue(reviewDocumentService.findForDownload(documentId, principal("admin")).isPresent());
+    }
+
+    private UserPrincipal principal(String username) {
+        return new UserPrincipal(userRepository.findByUsername(username).orElseThrow());
+    }
+
+    private Long addDocument(String studentNo, Long reviewerId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = ?", Long.class, studentNo);
+        Long typeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tbl_scholarship_type", Long.class);
+        jdbcTemplate.update("INSERT INTO tbl_review (student_id, scholarship_type_id, reviewer_id, academic_year, " +
+                "review_status, version, created_at, updated_at) VALUES (?, ?, ?, '2023-2024', 'pending', 0, ?, ?)",
+                studentId, typeId, reviewerId, now, now);
+        Long reviewId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tbl_review", Long.class);
+        jdbcTemplate.update("INSERT INTO tbl_review_document (review_id, original_name, stored_name, content_type, " +
+                "file_size, sha256, version, created_at, updated_at) VALUES (?, '成绩单.pdf', 'doc1', 'application/pdf', " +
+                "1024, ?, 0, ?, ?)", reviewId, "0".repeat(64), now, now);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM tbl_review_document", Long.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.dto.ReviewDto;
+import com.example.scholarship.dto.ReviewQueuePage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 评审队列关键词搜索测试
+ * 搜索索引命中的学生过多时评审队列退回LIKE查询，退回后仍须按学号匹配，结果与状态统计和索引命中时一致。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewQueueSearchTest {
+
+    private static final String STUDENT_NO_PREFIX = "2098";
+
+    /**
+     * 超过评审队列按ID过滤的上限（1000）
+     */
+    private static final int STUDENTS = 1001;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review");
+        jdbcTemplate.update("DELETE FROM tbl_student WHERE student_no LIKE '" + STUDENT_NO_PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM tbl_user WHERE username LIKE 'search_test_%'");
+        searchService.rebuild();
+    }
+
+    @Test
+    void broadStudentNumberSearchMatchesStudentNumbers() {
+        List<Long> studentIds = addStudents(STUDENTS);
+        searchService.rebuild();
+        assertTrue(searchService.matchStudentIds(STUDENT_NO_PREFIX).size() > 1000, "须走退回LIKE查询的路径");
+
+        Long typeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tbl_scholarship_type", Long.class);
+        List<Long> expected = new ArrayList<>();
+        expected.add(addReview(studentIds.get(0), typeId, "pending"));
+        expected.add(addReview(studentIds.get(500), typeId, "approved"));
+        expected.add(addReview(studentIds.get(1000), typeId, "rejected"));
+        addReview(jdbcTemplate.queryForObject("SELECT id FROM tbl_student WHERE student_no = '20210001'", Long.class),
+                typeId, "pending");
+
+        ReviewQueuePage<ReviewDto> page = reviewService.getReviewQueue(STUDENT_NO_PREFIX, null, 20);
+        Set<Long> found = page.getItems().stream().map(ReviewDto::getId).collect(Collectors.toSet());
+        assertEquals(Set.copyOf(expected), found);
+        assertEquals(1, page.getCount("pending"));
+        assertEquals(1, page.getCount("approved"));
+        assertEquals(1, page.getCount("rejected"));
+
+        // 后续页沿用同一匹配条件
+        Long cursor = page.getItems().get(0).getId();
+        assertEquals(2, reviewService.getReviewQueue(STUDENT_NO_PREFIX, cursor, 20).getItems().size());
+    }
+
+    /**
+     * 直接写库批量导入学生（学号以 2098 开头），返回学生ID
+     */
+    private List<Long> addStudents(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new Object[]{"search_test_" + i, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tbl_user (username, password, real_name, status, user_type, is_deleted, " +
+                "version, created_at, updated_at) VALUES (?, 'x', '测试学生', 'ACTIVE', 'STUDENT', false, 0, ?, ?)", users);
+
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM tbl_user WHERE username LIKE 'search_test_%' ORDER BY id", Long.class);
+        List<Object[]> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(new Object[]{userIds.get(i), String.format("%s%04d", STUDENT_NO_PREFIX, i), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tbl_student (user_id, student_no, name, gender, id_card, college, major, " +
+                "class, grade, enrollment_date, is_graduated, status, version, created_at, updated_at) VALUES " +
+                "(?, ?, '测试学生', 'MALE', '110101200301010000', '计算机学院', '软件工程', '软件2101', '2021', " +
+                "DATE '2021-09-01', false, 'ACTIVE', 0, ?, ?)", students);
+        return jdbcTemplate.queryForList("SELECT id FROM tbl_student WHERE student_no LIKE '" + STUDENT_NO_PREFIX +
+                "%' ORDER BY student_no", Long.class);
+    }
+
+    private Long addReview(Long studentId, Long typeId, String status) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO tbl_review (student_id, scholarship_type_id, academic_year, review_status, " +
+                "version, created_at, updated_at) VALUES (?, ?, '2023-2024', ?, 0, ?, ?)", studentId, typeId, status, now, now);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM tbl_review", Long.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.scholarship.service;
+
+import com.example.scholarship.exception.ApplicationRefusedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 申请提交测试
+ * scholarship.applications.submitted 按结果计数：accepted 只在事务提交后计入，
+ * refused 只计规则拒绝，其他失败计入 error。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewServiceTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_review");
+    }
+
+    @Test
+    void submissionOutcomesAreCountedSeparately() throws Exception {
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM tbl_user WHERE username = 'lixm'", Long.class);
+        Long typeId = jdbcTemplate.queryForObject(
+                "SELECT id FROM tbl_scholarship_type WHERE name = '校级三等奖学金'", Long.class);
+        eligibilityService.refresh();
+        double accepted = count("accepted");
+        double refused = count("refused");
+        double error = count("error");
+
+        reviewService.submitApplication(userId, typeId);
+        assertEquals(accepted + 1, count("accepted"));
+
+        // 重复申请是规则拒绝
+        assertThrows(ApplicationRefusedException.class, () -> reviewService.submitApplication(userId, typeId));
+        assertEquals(refused + 1, count("refused"));
+
+        // 找不到学生不是规则拒绝
+        assertThrows(Exception.class, () -> reviewService.submitApplication(Long.MAX_VALUE, typeId));
+        assertEquals(refused + 1, count("refused"));
+        assertEquals(error + 1, count("error"));
+        assertEquals(accepted + 1, count("accepted"));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("scholarship.applications.submitted").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.scholarship.service.impl;
+
+import com.example.scholarship.entity.Student.StudentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 申请条件解析测试
+ * 解析不出的下限会被当作无限制，等于放宽条件，因此各种常见写法都须解析为对应的条件。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+class EligibilityCriteriaTest {
+
+    private static final double NO_RANK_LIMIT = Double.NEGATIVE_INFINITY;
+
+    @Test
+    void parsesSeededCriteria() {
+        EligibilityCriteria criteria = EligibilityCriteria.parse("GPA≥3.5，家庭经济困难，综合排名前10%");
+        assertEquals(3.5, criteria.getMinGpa());
+        assertTrue(criteria.hasRankLimit());
+        assertEquals(10.0, criteria.getTopPercent());
+        assertEquals(List.of("家庭经济困难"), criteria.getUnverifiedConditions());
+        assertEquals(Set.of(StudentStatus.ACTIVE), criteria.getStatuses());
+    }
+
+    @Test
+    void parsesOperatorsSurroundedBySpaces() {
+        EligibilityCriteria criteria = EligibilityCriteria.parse("GPA ≥ 3.8， 学分 ≥ 20， 综合排名前 5 %");
+        assertEquals(3.8, criteria.getMinGpa());
+        assertEquals(20.0, criteria.getMinCredits());
+        assertEquals(5.0, criteria.getTopPercent());
+        assertTrue(criteria.getUnverifiedConditions().isEmpty());
+
+        criteria = EligibilityCriteria.parse("GPA >= 3.5; credits >= 12");
+        assertEquals(3.5, criteria.getMinGpa());
+        assertEquals(12.0, criteria.getMinCredits());
+        assertTrue(criteria.getUnverifiedConditions().isEmpty());
+    }
+
+    @Test
+    void distinguishesStrictAndInclusiveBounds() {
+        EligibilityCriteria inclusive = EligibilityCriteria.parse("GPA≥3.5，学分不低于20");
+        assertTrue(inclusive.matches(3.5, 20, "2021", "计算机学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+        assertFalse(inclusive.matches(3.49, 20, "2021", "计算机学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+        assertFalse(inclusive.matches(3.5, 19.5, "2021", "计算机学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+
+        EligibilityCriteria strict = EligibilityCriteria.parse("GPA > 3.5，学分＞20");
+        assertFalse(strict.matches(3.5, 21, "2021", "计算机学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+        assertFalse(strict.matches(3.6, 20, "2021", "计算机学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+        assertTrue(strict.matches(3.6, 21, "2021", "计算机学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+    }
+
+    @Test
+    void parsesGradeCollegeAndStatusLists() {
+        EligibilityCriteria criteria = EligibilityCriteria.parse(
+                "年级：2021 / 2022，学院：计算机学院、软件学院，状态：在读/休学");
+        assertEquals(Set.of("2021", "2022"), criteria.getGrades());
+        assertEquals(Set.of("计算机学院", "软件学院"), criteria.getColleges());
+        assertEquals(Set.of(StudentStatus.ACTIVE, StudentStatus.SUSPENDED), criteria.getStatuses());
+        assertTrue(criteria.getUnverifiedConditions().isEmpty());
+
+        assertTrue(criteria.matches(3.0, 10, "2022", "软件学院", StudentStatus.SUSPENDED, NO_RANK_LIMIT));
+        assertFalse(criteria.matches(3.0, 10, "2020", "软件学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+        assertFalse(criteria.matches(3.0, 10, "2021", "数学学院", StudentStatus.ACTIVE, NO_RANK_LIMIT));
+        assertFalse(criteria.matches(3.0, 10, "2021", "软件学院", StudentStatus.DROPPED_OUT, NO_RANK_LIMIT));
+    }
+
+    @Test
+    void parsesShorthandGradeAndCollegeClauses() {
+        EligibilityCriteria criteria = EligibilityCriteria.parse("2021/2022级，限 计算机学院，在读");
+        assertEquals(Set.of("2021", "2022"), criteria.getGrades());
+        assertEquals(Set.of("计算机学院"), criteria.getColleges());
+        assertEquals(Set.of(StudentStatus.ACTIVE), criteria.getStatuses());
+        assertTrue(criteria.getUnverifiedConditions().isEmpty());
+    }
+
+    @Test
+    void rankLimitUsesCutoffGpa() {
+        EligibilityCriteria criteria = EligibilityCriteria.parse("排名前25%");
+        assertEquals(25.0, criteria.getTopPercent());
+        assertTrue(criteria.matches(3.6, 0, "2021", "计算机学院", StudentStatus.ACTIVE, 3.6));
+        assertFalse(criteria.matches(3.5, 0, "2021", "计算机学院", StudentStatus.ACTIVE, 3.6));
+        assertFalse(EligibilityCriteria.parse("").hasRankLimit());
+        assertFalse(EligibilityCriteria.parse(null).hasRankLimit());
+    }
+}
@@ -0,0 +1,284 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 静态资源构建步骤
+ * 压缩 CSS、JS（去掉注释、缩进和空行，保留换行以免改变自动分号插入），写入编译输出目录，
+ * 并为文本资源生成最高压缩级别的 .gz 副本，由 WebMvcConfig 中的资源解析链按 Accept-Encoding 直接返回。
+ * 由 Maven 在 process-classes 阶段调用（-Dassets.skip=true 跳过），也可以 JDK 单文件方式直接运行：
+ *
+ *   java tools/AssetPipeline.java src/main/resources/static target/classes/static
+ *
+ * 无第三方依赖；字符串、模板字符串和正则字面量的内容原样保留。
+ *
+ * @author System
+ * @version 1.0.0
+ */
+public class AssetPipeline {
+
+    private static final Set<String> COMPRESSIBLE = Set.of("css", "js", "svg", "json", "txt", "html");
+
+    /**
+     * 其后出现的 / 是正则字面量而非除号的关键字
+     */
+    private static final Set<String> REGEX_KEYWORDS = Set.of(
+            "return", "typeof", "case", "do", "else", "in", "of", "new", "delete", "void", "throw", "yield", "await");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("用法: java tools/AssetPipeline.java <源目录> <输出目录>");
+            System.exit(2);
+        }
+        Path source = Paths.get(args[0]);
+        Path target = Paths.get(args[1]);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(source)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        long originalTotal = 0;
+        long gzipTotal = 0;
+        for (Path file : files) {
+            Path output = target.resolve(source.relativize(file).toString());
+            Files.createDirectories(output.getParent());
+            String extension = extension(file);
+            byte[] content = Files.readAllBytes(file);
+            if ("css".equals(extension)) {
+                content = minifyCss(new String(content, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            } else if ("js".equals(extension)) {
+                content = minifyJs(new String(content, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            }
+            Files.write(output, content);
+
+            Path gzip = output.resolveSibling(output.getFileName() + ".gz");
+            if (COMPRESSIBLE.contains(extension)) {
+                byte[] compressed = gzip(content);
+                Files.write(gzip, compressed);
+                originalTotal += Files.size(file);
+                gzipTotal += compressed.length;
+                System.out.printf("  %s: %d -> %d 字节，gzip %d 字节%n",
+                        source.relativize(file), Files.size(file), content.length, compressed.length);
+            } else {
+                Files.deleteIfExists(gzip);
+            }
+        }
+        System.out.printf("静态资源处理完成: %d 个文件，文本资源 %d -> %d 字节（gzip）%n", files.size(), originalTotal, gzipTotal);
+    }
+
+    /**
+     * 去掉注释，合并空白，去掉 { } ; , > 两侧和冒号后的空白以及块末尾的分号；
+     * 冒号前的空白不动（".a :hover" 与 ".a:hover" 含义不同），+ ~ 两侧不动（calc() 中必须有空格）
+     */
+    static String minifyCss(String css) {
+        StringBuilder out = new StringBuilder(css.length());
+        int i = 0;
+        while (i < css.length()) {
+            char c = css.charAt(i);
+            if (c == '/' && i + 1 < css.length() && css.charAt(i + 1) == '*') {
+                int end = css.indexOf("*/", i + 2);
+                i = end < 0 ? css.length() : end + 2;
+            } else if (c == '"' || c == '\'') {
+                i = copyString(css, i, out);
+            } else if (Character.isWhitespace(c)) {
+                while (i < css.length() && Character.isWhitespace(css.charAt(i))) {
+                    i++;
+                }
+                char previous = out.length() > 0 ? out.charAt(out.length() - 1) : '{';
+                char next = i < css.length() ? css.charAt(i) : '}';
+                if ("{};,>:".indexOf(previous) < 0 && "{};,>".indexOf(next) < 0) {
+                    out.append(' ');
+                }
+            } else if (c == '}' && out.length() > 0 && out.charAt(out.length() - 1) == ';') {
+                out.setCharAt(out.length() - 1, '}');
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * 去掉注释、行首行尾空白和空行，行内连续空白合并为一个；
+     * 模板字符串（含 ${} 中的嵌套表达式）、字符串和正则字面量原样复制
+     */
+    static String minifyJs(String js) {
+        StringBuilder out = new StringBuilder(js.length());
+        // 每层为进入模板字符串 ${ 表达式时的花括号深度
+        Deque<Integer> templateDepths = new ArrayDeque<>();
+        int braceDepth = 0;
+        int i = 0;
+        while (i < js.length()) {
+            char c = js.charAt(i);
+            char next = i + 1 < js.length() ? js.charAt(i + 1) : 0;
+            if (c == '/' && next == '/') {
+                while (i < js.length() && js.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && next == '*') {
+                int end = js.indexOf("*/", i + 2);
+                i = end < 0 ? js.length() : end + 2;
+                appendSpace(out);
+            } else if (c == '/' && regexAllowed(out)) {
+                i = copyRegex(js, i, out);
+            } else if (c == '"' || c == '\'') {
+                i = copyString(js, i, out);
+            } else if (c == '`' || (c == '}' && !templateDepths.isEmpty() && templateDepths.peek() == braceDepth)) {
+                if (c == '}') {
+                    templateDepths.pop();
+                }
+                i = copyTemplate(js, i, out);
+                if (js.charAt(i - 1) == '{') {
+                    templateDepths.push(braceDepth);
+                }
+            } else if (c == '\n' || c == '\r') {
+                trimTrailing(out);
+                if (out.length() > 0 && out.charAt(out.length() - 1) != '\n') {
+                    out.append('\n');
+                }
+                i++;
+            } else if (c == ' ' || c == '\t') {
+                appendSpace(out);
+                i++;
+            } else {
+                if (c == '{') {
+                    braceDepth++;
+                } else if (c == '}') {
+                    braceDepth--;
+                }
+                out.append(c);
+                i++;
+            }
+        }
+        trimTrailing(out);
+        return out.append('\n').toString();
+    }
+
+    /**
+     * 从模板字符串开头的 ` 或 ${} 结束的 } 复制到结束的 ` 或下一个 ${，返回其后的位置
+     */
+    private static int copyTemplate(String js, int start, StringBuilder out) {
+        out.append(js.charAt(start));
+        int i = start + 1;
+        while (i < js.length()) {
+            char c = js.charAt(i);
+            out.append(c);
+            i++;
+            if (c == '\\' && i < js.length()) {
+                out.append(js.charAt(i));
+                i++;
+            } else if (c == '`') {
+                return i;
+            } else if (c == '$' && i < js.length() && js.charAt(i) == '{') {
+                out.append('{');
+                return i + 1;
+            }
+        }
+        return i;
+    }
+
+    private static int copyString(String text, int start, StringBuilder out) {
+        char quote = text.charAt(start);
+        out.append(quote);
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            out.append(c);
+            i++;
+            if (c == '\\' && i < text.length()) {
+                out.append(text.charAt(i));
+                i++;
+            } else if (c == quote || c == '\n') {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int copyRegex(String js, int start, StringBuilder out) {
+        out.append('/');
+        int i = start + 1;
+        boolean inClass = false;
+        while (i < js.length()) {
+            char c = js.charAt(i);
+            out.append(c);
+            i++;
+            if (c == '\\' && i < js.length()) {
+                out.append(js.charAt(i));
+                i++;
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == ']') {
+                inClass = false;
+            } else if ((c == '/' && !inClass) || c == '\n') {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * 按前一个有效字符或关键字判断 / 开始的是正则字面量还是除号
+     */
+    private static boolean regexAllowed(StringBuilder out) {
+        int end = out.length();
+        while (end > 0 && Character.isWhitespace(out.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0) {
+            return true;
+        }
+        char previous = out.charAt(end - 1);
+        if ("(,=:[!&|?{};+-*%<>~^".indexOf(previous) >= 0) {
+            return true;
+        }
+        int wordStart = end;
+        while (wordStart > 0 && Character.isJavaIdentifierPart(out.charAt(wordStart - 1))) {
+            wordStart--;
+        }
+        return REGEX_KEYWORDS.contains(out.substring(wordStart, end));
+    }
+
+    private static void appendSpace(StringBuilder out) {
+        if (out.length() > 0 && !Character.isWhitespace(out.charAt(out.length() - 1))) {
+            out.append(' ');
+        }
+    }
+
+    private static void trimTrailing(StringBuilder out) {
+        while (out.length() > 0 && (out.charAt(out.length() - 1) == ' ' || out.charAt(out.length() - 1) == '\t')) {
+            out.setLength(out.length() - 1);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3 + 64);
+        try (OutputStream gzip = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase();
+    }
+}